@@ -0,0 +1,102 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import sample.cafekiosk.spring.api.service.stock.ProductQuantities;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * 주문 생성 시 상품 매핑 + 재고 차감 수량 계산 경로 비교.
+ * - legacy : toMap -> groupingBy(HashMap) -> HashSet 로 재고 조회 대상 추출
+ * - current: ProductQuantities.countOf (정렬 + 연속 구간 카운팅), 입력은 OrderService 와 같은 extractStockProductNumbers 로 만든다
+ * 주문 라인은 고정 시드로 만들어서 실행마다 같은 입력을 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderLineCountingBenchmark {
+
+	private static final long SEED = 42L;
+
+	@Param({"1", "10", "100"})
+	private int lineCount;
+
+	private List<String> productNumbers;
+	private List<Product> products;
+
+	@Setup
+	public void setUp() {
+		int distinctCount = Math.max(1, lineCount / 3);
+		List<Product> catalog = new ArrayList<>(distinctCount);
+		for (int i = 1; i <= distinctCount; i++) {
+			ProductType type = i % 2 == 0 ? ProductType.BOTTLE : ProductType.HANDMADE;
+			catalog.add(Product.builder()
+				.productNumber(String.format("%03d", i))
+				.type(type)
+				.sellingStatus(ProductSellingStatus.SELLING)
+				.name("상품" + i)
+				.price(1000 * i)
+				.build());
+		}
+
+		Random random = new Random(SEED);
+		productNumbers = new ArrayList<>(lineCount);
+		for (int i = 0; i < lineCount; i++) {
+			productNumbers.add(catalog.get(random.nextInt(distinctCount)).getProductNumber());
+		}
+		products = catalog;
+	}
+
+	@Benchmark
+	public Object legacy() {
+		Map<String, Product> productMap = products.stream()
+			.collect(Collectors.toMap(Product::getProductNumber, p -> p));
+		List<Product> orderProducts = productNumbers.stream()
+			.map(productMap::get)
+			.collect(Collectors.toList());
+
+		List<String> stockProductNumbers = orderProducts.stream()
+			.filter(product -> ProductType.containsStockType(product.getType()))
+			.map(Product::getProductNumber)
+			.collect(Collectors.toList());
+		Map<String, Long> productCountingMap = stockProductNumbers.stream()
+			.collect(Collectors.groupingBy(p -> p, Collectors.counting()));
+		return new HashSet<>(stockProductNumbers).size() + productCountingMap.size();
+	}
+
+	@Benchmark
+	public Object current() {
+		Map<String, Product> productMap = products.stream()
+			.collect(Collectors.toMap(Product::getProductNumber, Function.identity()));
+		List<Product> orderProducts = new ArrayList<>(productNumbers.size());
+		for (String productNumber : productNumbers) {
+			orderProducts.add(productMap.get(productNumber));
+		}
+
+		return ProductQuantities.countOf(OrderService.extractStockProductNumbers(orderProducts));
+	}
+
+}
@@ -0,0 +1,98 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * Spring 컨텍스트 + H2 위에서 OrderService.createOrder 전체 경로 (조회, 재고 차감, 주문 INSERT, 응답 변환).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderServiceBenchmark {
+
+	private static final LocalDateTime REGISTERED_DATE_TIME = LocalDateTime.of(2023, 7, 18, 10, 0);
+
+	private ConfigurableApplicationContext context;
+	private OrderService orderService;
+	private OrderCreateServiceRequest request;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(CafekioskApplication.class)
+			.web(WebApplicationType.NONE)
+			.profiles("test")
+			.properties(
+				"spring.jpa.show-sql=false",
+				"logging.level.root=WARN",
+				"cafekiosk.mail.dispatcher.enabled=false"
+			)
+			.run();
+
+		context.getBean(ProductRepository.class).saveAll(List.of(
+			createProduct("001", ProductType.BOTTLE, 1000),
+			createProduct("002", ProductType.BAKERY, 3000),
+			createProduct("003", ProductType.HANDMADE, 5000)
+		));
+		context.getBean(StockRepository.class).saveAll(List.of(
+			Stock.create("001", Integer.MAX_VALUE / 2),
+			Stock.create("002", Integer.MAX_VALUE / 2)
+		));
+
+		orderService = context.getBean(OrderService.class);
+		request = OrderCreateServiceRequest.builder()
+			.productNumbers(List.of("001", "001", "002", "003"))
+			.build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public OrderResponse createOrder() {
+		return orderService.createOrder(request, REGISTERED_DATE_TIME);
+	}
+
+	private static Product createProduct(String productNumber, ProductType type, int price) {
+		return Product.builder()
+			.productNumber(productNumber)
+			.type(type)
+			.sellingStatus(ProductSellingStatus.SELLING)
+			.name("상품" + productNumber)
+			.price(price)
+			.build();
+	}
+
+}
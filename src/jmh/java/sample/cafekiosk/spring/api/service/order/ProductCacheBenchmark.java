@@ -0,0 +1,132 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * Product 2차 캐시가 비어 있을 때(COLD)와 채워져 있을 때(WARM)의 OrderService.createOrder 비교.
+ * - COLD 는 호출마다 2차 캐시 / 쿼리 캐시를 전부 비운다 (비우는 시간은 측정에서 빠진다)
+ * - 수제 음료만 담은 주문(handmade)은 캐시가 채워져 있으면 상품 조회 SQL 이 없다
+ * 종료 시 product 영역의 적중 / 실패 수를 출력한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductCacheBenchmark {
+
+	private static final LocalDateTime REGISTERED_DATE_TIME = LocalDateTime.of(2023, 7, 18, 10, 0);
+
+	@Param({"COLD", "WARM"})
+	private String cache;
+
+	private ConfigurableApplicationContext context;
+	private SessionFactory sessionFactory;
+	private OrderService orderService;
+	private OrderCreateServiceRequest mixedRequest;
+	private OrderCreateServiceRequest handmadeRequest;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(CafekioskApplication.class)
+			.web(WebApplicationType.NONE)
+			.profiles("test")
+			.properties(
+				"spring.jpa.show-sql=false",
+				"logging.level.root=WARN",
+				"cafekiosk.mail.dispatcher.enabled=false"
+			)
+			.run();
+
+		context.getBean(ProductRepository.class).saveAll(List.of(
+			createProduct("001", ProductType.BOTTLE, 1000),
+			createProduct("002", ProductType.BAKERY, 3000),
+			createProduct("003", ProductType.HANDMADE, 5000),
+			createProduct("004", ProductType.HANDMADE, 4500)
+		));
+		context.getBean(StockRepository.class).saveAll(List.of(
+			Stock.create("001", Integer.MAX_VALUE / 2),
+			Stock.create("002", Integer.MAX_VALUE / 2)
+		));
+
+		sessionFactory = context.getBean(EntityManagerFactory.class).unwrap(SessionFactory.class);
+		orderService = context.getBean(OrderService.class);
+		mixedRequest = OrderCreateServiceRequest.builder()
+			.productNumbers(List.of("001", "002", "003"))
+			.build();
+		handmadeRequest = OrderCreateServiceRequest.builder()
+			.productNumbers(List.of("003", "004"))
+			.build();
+	}
+
+	@Setup(Level.Invocation)
+	public void evictIfCold() {
+		if ("COLD".equals(cache)) {
+			sessionFactory.getCache().evictAllRegions();
+		}
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		CacheRegionStatistics statistics = sessionFactory.getStatistics()
+			.getDomainDataRegionStatistics(Product.CACHE_REGION);
+		System.out.printf("%n[%s] product region hit=%d, miss=%d, put=%d%n", cache, statistics.getHitCount(),
+			statistics.getMissCount(), statistics.getPutCount());
+		context.close();
+	}
+
+	@Benchmark
+	public OrderResponse mixed() {
+		return orderService.createOrder(mixedRequest, REGISTERED_DATE_TIME);
+	}
+
+	@Benchmark
+	public OrderResponse handmade() {
+		return orderService.createOrder(handmadeRequest, REGISTERED_DATE_TIME);
+	}
+
+	private static Product createProduct(String productNumber, ProductType type, int price) {
+		return Product.builder()
+			.productNumber(productNumber)
+			.type(type)
+			.sellingStatus(ProductSellingStatus.SELLING)
+			.name("상품" + productNumber)
+			.price(price)
+			.build();
+	}
+
+}
@@ -0,0 +1,122 @@
+package sample.cafekiosk.spring.config;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 실제 Tomcat 위에서 플랫폼 스레드 모드와 가상 스레드 모드의 주문 생성 지연 시간 분포(p99 포함)를 비교한다.
+ * - 두 모드 모두 Hikari 풀 크기는 같고, 플랫폼 모드의 요청 스레드 수는 platformThreads 로 제한한다
+ * - VIRTUAL 은 JDK 21 이상에서 실행해야 한다 (./gradlew jmh -PjmhIncludes=ExecutionModeBenchmark)
+ */
+@BenchmarkMode(Mode.SampleTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(128)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ExecutionModeBenchmark {
+
+	private static final String ORDER_BODY = "{\"productNumbers\":[\"001\",\"002\"]}";
+
+	@Param({"PLATFORM", "VIRTUAL"})
+	private String mode;
+
+	@Param({"32"})
+	private int platformThreads;
+
+	@Param({"10"})
+	private int poolSize;
+
+	private ConfigurableApplicationContext context;
+	private HttpClient httpClient;
+	private URI createOrderUri;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		boolean virtual = "VIRTUAL".equals(mode);
+		if (virtual && !VirtualThreads.isSupported()) {
+			throw new IllegalStateException("VIRTUAL 모드는 JDK 21 이상에서 실행해야 합니다. 현재 " + System.getProperty("java.version"));
+		}
+
+		context = new SpringApplicationBuilder(CafekioskApplication.class)
+			.profiles("test")
+			.properties(
+				"server.port=0",
+				"server.tomcat.threads.max=" + platformThreads,
+				"spring.datasource.hikari.maximum-pool-size=" + poolSize,
+				"cafekiosk.execution.virtual-threads.maximum-pool-size=" + poolSize,
+				"spring.jpa.show-sql=false",
+				"logging.level.root=WARN",
+				"cafekiosk.mail.dispatcher.enabled=false",
+				"cafekiosk.execution.virtual-threads.enabled=" + virtual
+			)
+			.run();
+
+		context.getBean(ProductRepository.class).saveAll(List.of(
+			createProduct("001", 1000),
+			createProduct("002", 3000)
+		));
+
+		int port = ((ServletWebServerApplicationContext)context).getWebServer().getPort();
+		createOrderUri = URI.create("http://localhost:" + port + "/api/v1/orders/new");
+		httpClient = HttpClient.newBuilder()
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int createOrder() throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(createOrderUri)
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(ORDER_BODY))
+			.build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	private static Product createProduct(String productNumber, int price) {
+		return Product.builder()
+			.productNumber(productNumber)
+			.type(ProductType.HANDMADE)
+			.sellingStatus(ProductSellingStatus.SELLING)
+			.name("상품" + productNumber)
+			.price(price)
+			.build();
+	}
+
+}
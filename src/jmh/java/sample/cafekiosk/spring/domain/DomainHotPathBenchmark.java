@@ -0,0 +1,88 @@
+package sample.cafekiosk.spring.domain;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * DB 없이 도는 주문 / 상품 도메인 경로.
+ * Order.create(calculateTotalPrice 포함), OrderResponse.of, ProductResponse.of, ProductType.containsStockType
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class DomainHotPathBenchmark {
+
+	private static final LocalDateTime REGISTERED_DATE_TIME = LocalDateTime.of(2023, 7, 18, 10, 0);
+
+	@Param({"1", "10"})
+	private int lineCount;
+
+	private List<Product> products;
+	private Order order;
+
+	@Setup
+	public void setUp() {
+		ProductType[] types = ProductType.values();
+		products = new ArrayList<>(lineCount);
+		for (int i = 1; i <= lineCount; i++) {
+			products.add(Product.builder()
+				.productNumber(String.format("%03d", i))
+				.type(types[i % types.length])
+				.sellingStatus(ProductSellingStatus.SELLING)
+				.name("상품" + i)
+				.price(1000 * i)
+				.build());
+		}
+		order = Order.create(products, REGISTERED_DATE_TIME);
+	}
+
+	@Benchmark
+	public Order createOrder() {
+		return Order.create(products, REGISTERED_DATE_TIME);
+	}
+
+	@Benchmark
+	public OrderResponse orderResponse() {
+		return OrderResponse.of(order);
+	}
+
+	@Benchmark
+	public void productResponse(Blackhole blackhole) {
+		for (Product product : products) {
+			blackhole.consume(ProductResponse.of(product));
+		}
+	}
+
+	@Benchmark
+	public void containsStockType(Blackhole blackhole) {
+		for (Product product : products) {
+			blackhole.consume(ProductType.containsStockType(product.getType()));
+		}
+	}
+
+}
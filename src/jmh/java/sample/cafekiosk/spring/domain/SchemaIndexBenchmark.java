@@ -0,0 +1,227 @@
+package sample.cafekiosk.spring.domain;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.flywaydb.core.Flyway;
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+/**
+ * 조회 경로 인덱스 유무에 따른 쿼리 지연 비교 (H2 in-memory, db/migration 스키마).
+ * - BASELINE: V1 에서 주문 인덱스까지 지운 스키마 (인덱스 없이 ddl-auto: create 로 만들던 상태)
+ * - INDEXED : 마지막 버전까지 적용한 스키마
+ * 데이터는 SYSTEM_RANGE 로 한 번에 만들고, Setup 에서 쿼리별 실행 계획(EXPLAIN)을 출력한다.
+ * ./gradlew jmh -PjmhIncludes=SchemaIndexBenchmark
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+@State(Scope.Benchmark)
+public class SchemaIndexBenchmark {
+
+	private static final LocalDateTime FIRST_ORDER_DATE_TIME = LocalDateTime.of(2023, 7, 1, 0, 0);
+	private static final int ORDER_DAYS = 30;
+	private static final int PAGE_SIZE = 20;
+
+	private static final String PRODUCTS_WITH_STOCK = "SELECT p.id, p.product_number, p.price, s.quantity "
+		+ "FROM product p LEFT JOIN stock s ON s.product_number = p.product_number "
+		+ "WHERE p.product_number IN (?, ?, ?)";
+	private static final String DEDUCT_STOCK = "UPDATE stock SET quantity = quantity - 1, version = version + 1 "
+		+ "WHERE product_number = ? AND quantity >= 1";
+	private static final String SELLING_PRODUCTS = "SELECT id, product_number, name, price FROM product "
+		+ "WHERE selling_status IN ('SELLING', 'HOLD')";
+	private static final String ORDER_PAGE = "SELECT id FROM orders "
+		+ "WHERE order_status = ? AND registered_date_time >= ? AND registered_date_time < ? "
+		+ "ORDER BY registered_date_time, id LIMIT " + (PAGE_SIZE + 1);
+	private static final String ORDER_PRODUCTS = "SELECT op.id, op.product_id FROM order_product op "
+		+ "WHERE op.order_id BETWEEN ? AND ?";
+
+	public enum SchemaState {
+		BASELINE,
+		INDEXED
+	}
+
+	@Param({"BASELINE", "INDEXED"})
+	private SchemaState schema;
+
+	@Param({"1000000"})
+	private int orderCount;
+
+	@Param({"1000"})
+	private int productCount;
+
+	private JdbcDataSource dataSource;
+	private Connection keepAlive;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:schemaIndexBenchmark" + schema + ";DB_CLOSE_DELAY=-1");
+		keepAlive = dataSource.getConnection();
+
+		migrate();
+		generateDataset();
+		printPlans();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		try (Statement statement = keepAlive.createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+		}
+		keepAlive.close();
+	}
+
+	@Benchmark
+	public int productsWithStock() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(PRODUCTS_WITH_STOCK)) {
+			for (int i = 1; i <= 3; i++) {
+				statement.setString(i, randomProductNumber());
+			}
+			return count(statement);
+		}
+	}
+
+	@Benchmark
+	public int deductStock() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(DEDUCT_STOCK)) {
+			statement.setString(1, randomProductNumber());
+			return statement.executeUpdate();
+		}
+	}
+
+	@Benchmark
+	public int sellingProducts() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(SELLING_PRODUCTS)) {
+			return count(statement);
+		}
+	}
+
+	@Benchmark
+	public int orderPage() throws SQLException {
+		LocalDateTime start = FIRST_ORDER_DATE_TIME.plusDays(ThreadLocalRandom.current().nextInt(ORDER_DAYS));
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(ORDER_PAGE)) {
+			statement.setString(1, OrderStatus.PAYMENT_COMPLETED.name());
+			statement.setTimestamp(2, Timestamp.valueOf(start));
+			statement.setTimestamp(3, Timestamp.valueOf(start.plusDays(1)));
+			return count(statement);
+		}
+	}
+
+	@Benchmark
+	public int orderProducts() throws SQLException {
+		long firstOrderId = ThreadLocalRandom.current().nextLong(1, orderCount - PAGE_SIZE);
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = connection.prepareStatement(ORDER_PRODUCTS)) {
+			statement.setLong(1, firstOrderId);
+			statement.setLong(2, firstOrderId + PAGE_SIZE - 1);
+			return count(statement);
+		}
+	}
+
+	private void migrate() throws SQLException {
+		Flyway.configure()
+			.dataSource(dataSource)
+			.locations("classpath:db/migration")
+			.target(schema == SchemaState.BASELINE ? "1" : "latest")
+			.load()
+			.migrate();
+
+		if (schema == SchemaState.BASELINE) {
+			try (Statement statement = keepAlive.createStatement()) {
+				statement.execute("DROP INDEX idx_orders_registered_date_time_id");
+				statement.execute("DROP INDEX idx_orders_order_status_registered_date_time_id");
+			}
+		}
+	}
+
+	/**
+	 * 상품 productCount 개(10개 중 1개는 판매 중지), 재고, 30일에 고르게 퍼진 주문 orderCount 건,
+	 * 주문마다 주문 상품 2건을 만든다.
+	 */
+	private void generateDataset() throws SQLException {
+		try (Statement statement = keepAlive.createStatement()) {
+			statement.execute("INSERT INTO product(product_number, type, selling_status, name, price) "
+				+ "SELECT LPAD(X, 6, '0'), "
+				+ "CASE MOD(X, 3) WHEN 0 THEN 'HANDMADE' WHEN 1 THEN 'BOTTLE' ELSE 'BAKERY' END, "
+				+ "CASE MOD(X, 10) WHEN 0 THEN 'STOP_SELLING' WHEN 1 THEN 'HOLD' ELSE 'SELLING' END, "
+				+ "CONCAT('상품', X), 1000 + MOD(X, 10) * 500 "
+				+ "FROM SYSTEM_RANGE(1, " + productCount + ")");
+			statement.execute("INSERT INTO stock(id, product_number, quantity, version) "
+				+ "SELECT X, LPAD(X, 6, '0'), 1000000000, 0 FROM SYSTEM_RANGE(1, " + productCount + ")");
+			statement.execute("INSERT INTO orders(id, order_status, total_price, registered_date_time) "
+				+ "SELECT X, "
+				+ "CASE MOD(X, 4) WHEN 0 THEN 'INIT' WHEN 1 THEN 'CANCELED' ELSE 'PAYMENT_COMPLETED' END, "
+				+ "4000, DATEADD(SECOND, MOD(X * 7919, " + ORDER_DAYS * 24 * 60 * 60 + "), TIMESTAMP '"
+				+ Timestamp.valueOf(FIRST_ORDER_DATE_TIME) + "') "
+				+ "FROM SYSTEM_RANGE(1, " + orderCount + ")");
+			statement.execute("INSERT INTO order_product(id, order_id, product_id) "
+				+ "SELECT X, (X + 1) / 2, MOD(X * 31, " + productCount + ") + 1 "
+				+ "FROM SYSTEM_RANGE(1, " + orderCount * 2L + ")");
+			statement.execute("ANALYZE");
+		}
+	}
+
+	private void printPlans() throws SQLException {
+		System.out.println("== " + schema + " (orders " + orderCount + ")");
+		printPlan(PRODUCTS_WITH_STOCK.replace("?", "'000001'"));
+		printPlan(DEDUCT_STOCK.replace("?", "'000001'"));
+		printPlan(SELLING_PRODUCTS);
+		printPlan(ORDER_PAGE.replaceFirst("\\?", "'PAYMENT_COMPLETED'")
+			.replaceFirst("\\?", "TIMESTAMP '2023-07-10 00:00:00'")
+			.replaceFirst("\\?", "TIMESTAMP '2023-07-11 00:00:00'"));
+		printPlan(ORDER_PRODUCTS.replaceFirst("\\?", "1").replaceFirst("\\?", "20"));
+	}
+
+	private void printPlan(String sql) throws SQLException {
+		try (Statement statement = keepAlive.createStatement();
+			 ResultSet resultSet = statement.executeQuery("EXPLAIN " + sql)) {
+			while (resultSet.next()) {
+				System.out.println(resultSet.getString(1));
+			}
+		}
+	}
+
+	private String randomProductNumber() {
+		return String.format("%06d", ThreadLocalRandom.current().nextInt(1, productCount + 1));
+	}
+
+	private static int count(PreparedStatement statement) throws SQLException {
+		int count = 0;
+		try (ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+}
@@ -0,0 +1,143 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.h2.jdbcx.JdbcDataSource;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * 하루치 매출 집계 방식 비교 (H2 in-memory).
+ * - loadAll : 기존처럼 주문을 전부 리스트로 올린 뒤 합산
+ * - sumQuery: SUM / COUNT 쿼리
+ * - stream  : OrderSalesStreamRepository (forward-only 커서 + fetch size)
+ * 힙 사용량은 ./gradlew jmh 의 gc 프로파일러 결과(gc.alloc.rate.norm)로 본다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 3, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+@State(Scope.Benchmark)
+public class OrderSalesAggregationBenchmark {
+
+	private static final LocalDate ORDER_DATE = LocalDate.of(2023, 7, 18);
+
+	@Param({"10000", "100000", "1000000"})
+	private int orderCount;
+
+	private JdbcDataSource dataSource;
+	private Connection keepAlive;
+	private OrderSalesStreamRepository streamRepository;
+
+	@Setup(Level.Trial)
+	public void setUp() throws SQLException {
+		dataSource = new JdbcDataSource();
+		dataSource.setURL("jdbc:h2:mem:orderSalesBenchmark" + orderCount + ";DB_CLOSE_DELAY=-1");
+		keepAlive = dataSource.getConnection();
+
+		try (Statement statement = keepAlive.createStatement()) {
+			statement.execute("CREATE TABLE orders (id BIGINT PRIMARY KEY, order_status VARCHAR(255), "
+				+ "total_price INT, registered_date_time TIMESTAMP)");
+			statement.execute("CREATE INDEX idx_orders_registered ON orders (registered_date_time)");
+		}
+
+		keepAlive.setAutoCommit(false);
+		try (PreparedStatement insert = keepAlive.prepareStatement("INSERT INTO orders VALUES (?, ?, ?, ?)")) {
+			long secondsOfDay = 24 * 60 * 60;
+			for (int i = 0; i < orderCount; i++) {
+				insert.setLong(1, i);
+				insert.setString(2, OrderStatus.PAYMENT_COMPLETED.name());
+				insert.setInt(3, 1000 + i % 7 * 500);
+				insert.setTimestamp(4, Timestamp.valueOf(ORDER_DATE.atStartOfDay().plusSeconds(i % secondsOfDay)));
+				insert.addBatch();
+				if (i % 10_000 == 0) {
+					insert.executeBatch();
+				}
+			}
+			insert.executeBatch();
+		}
+		keepAlive.commit();
+		keepAlive.setAutoCommit(true);
+
+		streamRepository = new OrderSalesStreamRepository(dataSource, 1000);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		try (Statement statement = keepAlive.createStatement()) {
+			statement.execute("DROP ALL OBJECTS");
+		}
+		keepAlive.close();
+	}
+
+	@Benchmark
+	public long loadAll() throws SQLException {
+		List<Object[]> orders = new ArrayList<>();
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = prepare(connection,
+				 "SELECT id, order_status, total_price, registered_date_time FROM orders "
+					 + "WHERE registered_date_time >= ? AND registered_date_time < ? AND order_status IN (?, ?, ?)");
+			 ResultSet resultSet = statement.executeQuery()) {
+			while (resultSet.next()) {
+				orders.add(new Object[] {resultSet.getLong(1), resultSet.getString(2), resultSet.getInt(3),
+					resultSet.getTimestamp(4).toLocalDateTime()});
+			}
+		}
+		return orders.stream()
+			.mapToLong(order -> (Integer)order[2])
+			.sum();
+	}
+
+	@Benchmark
+	public long sumQuery() throws SQLException {
+		try (Connection connection = dataSource.getConnection();
+			 PreparedStatement statement = prepare(connection,
+				 "SELECT COUNT(*), SUM(total_price) FROM orders "
+					 + "WHERE registered_date_time >= ? AND registered_date_time < ? AND order_status IN (?, ?, ?)");
+			 ResultSet resultSet = statement.executeQuery()) {
+			resultSet.next();
+			return new OrderSalesSummary(resultSet.getLong(1), resultSet.getLong(2)).getTotalAmount();
+		}
+	}
+
+	@Benchmark
+	public long stream() {
+		return streamRepository.aggregateSalesBy(ORDER_DATE.atStartOfDay(), ORDER_DATE.plusDays(1).atStartOfDay(),
+			OrderStatus.paidStatuses()).getTotalAmount();
+	}
+
+	private static PreparedStatement prepare(Connection connection, String sql) throws SQLException {
+		LocalDateTime start = ORDER_DATE.atStartOfDay();
+		PreparedStatement statement = connection.prepareStatement(sql);
+		statement.setTimestamp(1, Timestamp.valueOf(start));
+		statement.setTimestamp(2, Timestamp.valueOf(start.plusDays(1)));
+		List<OrderStatus> paidStatuses = OrderStatus.paidStatuses();
+		for (int i = 0; i < paidStatuses.size(); i++) {
+			statement.setString(i + 3, paidStatuses.get(i).name());
+		}
+		return statement;
+	}
+
+}
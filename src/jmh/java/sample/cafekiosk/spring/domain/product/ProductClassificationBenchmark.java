@@ -0,0 +1,55 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+/**
+ * 상품 타입 / 판매 상태 분류 비교. ./gradlew jmh -PjmhIncludes=ProductClassificationBenchmark
+ * gc 프로파일러의 gc.alloc.rate.norm 이 current* 에서 0 B/op 인지 확인한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ProductClassificationBenchmark {
+
+	private final ProductType[] types = ProductType.values();
+
+	@Benchmark
+	public void legacyContainsStockType(Blackhole blackhole) {
+		for (ProductType type : types) {
+			blackhole.consume(List.of(ProductType.BOTTLE, ProductType.BAKERY).contains(type));
+		}
+	}
+
+	@Benchmark
+	public void currentContainsStockType(Blackhole blackhole) {
+		for (ProductType type : types) {
+			blackhole.consume(ProductType.containsStockType(type));
+		}
+	}
+
+	@Benchmark
+	public List<ProductSellingStatus> legacyForDisplay() {
+		return List.of(ProductSellingStatus.SELLING, ProductSellingStatus.HOLD);
+	}
+
+	@Benchmark
+	public List<ProductSellingStatus> currentForDisplay() {
+		return ProductSellingStatus.forDisplay();
+	}
+
+}
@@ -0,0 +1,90 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import sample.cafekiosk.spring.api.service.product.ProductMenuCache;
+
+/**
+ * 부하 테스트용 상품 / 재고를 만든다.
+ * - 같은 JVM 의 앱이면 JDBC batch 로 상품과 재고를 한 번에 넣는다 (병 음료 / 베이커리는 재고 차감 대상)
+ * - 외부 앱이면 재고 API 가 없으므로 재고 관리 대상이 아닌 수제 음료만 상품 API 로 등록한다
+ * 반환하는 상품 번호의 순서가 인기 순위(Zipf 순위)가 된다.
+ */
+class DataSeeder {
+
+	private static final String[] STOCK_MANAGED_TYPES = {"BOTTLE", "BAKERY"};
+	private static final int BATCH_SIZE = 1000;
+	private static final int SEED_CONCURRENCY = 16;
+
+	private DataSeeder() {
+	}
+
+	static List<String> seedWithJdbc(ConfigurableApplicationContext context, int productCount, int stockQuantity) {
+		JdbcTemplate jdbcTemplate = context.getBean(JdbcTemplate.class);
+		Long latest = jdbcTemplate.queryForObject(
+			"SELECT COALESCE(MAX(CAST(product_number AS BIGINT)), 0) FROM product", Long.class);
+
+		List<String> productNumbers = new ArrayList<>(productCount);
+		List<Object[]> products = new ArrayList<>(productCount);
+		List<Object[]> stocks = new ArrayList<>(productCount);
+		for (int i = 1; i <= productCount; i++) {
+			String productNumber = String.format("%03d", latest + i);
+			String type = i % 3 == 0 ? "HANDMADE" : STOCK_MANAGED_TYPES[i % 2];
+			productNumbers.add(productNumber);
+			products.add(new Object[] {productNumber, type, "SELLING", "부하테스트 상품 " + i, 1000 + i % 10 * 500});
+			if (!"HANDMADE".equals(type)) {
+				stocks.add(new Object[] {productNumber, stockQuantity});
+			}
+		}
+
+		for (List<Object[]> batch : partition(products)) {
+			jdbcTemplate.batchUpdate("INSERT INTO product(product_number, type, selling_status, name, price, "
+				+ "created_date_time, modified_date_time) VALUES (?, ?, ?, ?, ?, NOW(), NOW())", batch);
+		}
+		for (List<Object[]> batch : partition(stocks)) {
+			jdbcTemplate.batchUpdate("INSERT INTO stock(id, product_number, quantity, version, "
+				+ "created_date_time, modified_date_time) VALUES (NEXT VALUE FOR stock_seq, ?, ?, 0, NOW(), NOW())",
+				batch);
+		}
+		context.getBean(ProductMenuCache.class).invalidate(); // ProductService 를 거치지 않았으므로 직접 무효화한다
+		return productNumbers;
+	}
+
+	static List<String> seedWithApi(KioskClient client, int productCount) throws InterruptedException {
+		ExecutorService executor = Executors.newFixedThreadPool(SEED_CONCURRENCY);
+		try {
+			List<Future<String>> futures = new ArrayList<>(productCount);
+			for (int i = 1; i <= productCount; i++) {
+				int index = i;
+				futures.add(executor.submit(() -> client.createProduct("HANDMADE", "부하테스트 상품 " + index,
+					1000 + index % 10 * 500)));
+			}
+			List<String> productNumbers = new ArrayList<>(productCount);
+			for (Future<String> future : futures) {
+				productNumbers.add(future.get());
+			}
+			return productNumbers;
+		} catch (ExecutionException e) {
+			throw new IllegalStateException("상품을 등록하지 못했습니다.", e.getCause());
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+
+	private static List<List<Object[]>> partition(List<Object[]> rows) {
+		List<List<Object[]>> batches = new ArrayList<>();
+		for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+			batches.add(rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+		}
+		return batches;
+	}
+
+}
@@ -0,0 +1,114 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * 키오스크 API 호출. 응답은 상태 코드만 보고, 상품 등록 응답에서만 상품 번호를 읽는다.
+ */
+class KioskClient {
+
+	private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+
+	private final HttpClient httpClient;
+	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final URI createOrderUri;
+	private final URI sellingProductsUri;
+	private final URI createProductUri;
+
+	KioskClient(String baseUrl) {
+		this.httpClient = HttpClient.newBuilder()
+			.version(HttpClient.Version.HTTP_1_1)
+			.connectTimeout(Duration.ofSeconds(5))
+			.build();
+		this.createOrderUri = URI.create(baseUrl + "/api/v1/orders/new");
+		this.sellingProductsUri = URI.create(baseUrl + "/api/v1/products/selling");
+		this.createProductUri = URI.create(baseUrl + "/api/v1/products/new");
+	}
+
+	int createOrder(List<String> productNumbers) throws IOException, InterruptedException {
+		String body = objectMapper.writeValueAsString(new OrderBody(productNumbers));
+		return httpClient.send(post(createOrderUri, body), HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	int getSellingProducts() throws IOException, InterruptedException {
+		HttpRequest request = HttpRequest.newBuilder(sellingProductsUri)
+			.timeout(REQUEST_TIMEOUT)
+			.header("Accept-Encoding", "gzip")
+			.GET()
+			.build();
+		return httpClient.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+	}
+
+	/**
+	 * @return 등록한 상품 번호. 실패하면 예외 대신 UnexpectedStatusException 을 던진다.
+	 */
+	String createProduct(String type, String name, int price) throws IOException, InterruptedException {
+		String body = objectMapper.writeValueAsString(new ProductBody(type, "SELLING", name, price));
+		HttpResponse<String> response = httpClient.send(post(createProductUri, body),
+			HttpResponse.BodyHandlers.ofString());
+		if (response.statusCode() != 200) {
+			throw new UnexpectedStatusException(response.statusCode());
+		}
+		JsonNode productNumber = objectMapper.readTree(response.body()).path("data").path("productNumber");
+		return productNumber.asText();
+	}
+
+	private static HttpRequest post(URI uri, String body) {
+		return HttpRequest.newBuilder(uri)
+			.timeout(REQUEST_TIMEOUT)
+			.header("Content-Type", "application/json")
+			.POST(HttpRequest.BodyPublishers.ofString(body))
+			.build();
+	}
+
+	static class UnexpectedStatusException extends RuntimeException {
+
+		private final int statusCode;
+
+		UnexpectedStatusException(int statusCode) {
+			super("HTTP " + statusCode);
+			this.statusCode = statusCode;
+		}
+
+		int getStatusCode() {
+			return statusCode;
+		}
+
+	}
+
+	private static class OrderBody {
+
+		public final List<String> productNumbers;
+
+		private OrderBody(List<String> productNumbers) {
+			this.productNumbers = productNumbers;
+		}
+
+	}
+
+	private static class ProductBody {
+
+		public final String type;
+		public final String sellingStatus;
+		public final String name;
+		public final int price;
+
+		private ProductBody(String type, String sellingStatus, String name, int price) {
+			this.type = type;
+			this.sellingStatus = sellingStatus;
+			this.name = name;
+			this.price = price;
+		}
+
+	}
+
+}
@@ -0,0 +1,263 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.net.http.HttpTimeoutException;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sample.cafekiosk.spring.CafekioskApplication;
+
+/**
+ * 키오스크 API 부하 / 소크 테스트.
+ * - concurrency 개의 워커가 쉬지 않고(closed loop) mix 비율대로 주문 생성 / 메뉴 조회 / 상품 등록을 호출한다
+ * - 주문에 담는 상품은 Zipf 분포로 골라 인기 상품에 재고 차감이 몰리게 한다
+ * - warmup 이후의 처리량, p50 / p99 / p999 지연 시간, 오류율을 워크로드별로 출력한다
+ * target 을 주지 않으면 같은 JVM 에서 local 프로파일(H2, Flyway)로 앱을 띄우므로 네트워크 없이 실행된다.
+ *
+ * ./gradlew loadTest -PloadTestArgs="--concurrency=64 --duration-seconds=60"
+ * ./gradlew loadTest -PloadTestArgs="--target=http://localhost:8080 --duration-seconds=3600"
+ */
+public class KioskLoadTest {
+
+	private final LoadTestOptions options;
+	private final AtomicReference<Map<Workload, OperationStats>> stats = new AtomicReference<>(newStats());
+	private final AtomicLong productNameSequence = new AtomicLong();
+	private volatile boolean running = true;
+
+	private KioskClient client;
+	private List<String> productNumbers;
+	private ZipfDistribution productPopularity;
+	private Workload[] workloadTable;
+
+	private KioskLoadTest(LoadTestOptions options) {
+		this.options = options;
+	}
+
+	public static void main(String[] args) throws InterruptedException {
+		new KioskLoadTest(LoadTestOptions.parse(args)).run();
+	}
+
+	private void run() throws InterruptedException {
+		ConfigurableApplicationContext context = null;
+		String baseUrl = options.target();
+		if (baseUrl.isEmpty()) {
+			context = startEmbeddedApplication();
+			baseUrl = "http://localhost:" + ((ServletWebServerApplicationContext)context).getWebServer().getPort();
+		}
+
+		try {
+			client = new KioskClient(baseUrl);
+			productNumbers = context != null
+				? DataSeeder.seedWithJdbc(context, options.productCount(), options.stockQuantity())
+				: DataSeeder.seedWithApi(client, options.productCount());
+			productPopularity = new ZipfDistribution(productNumbers.size(), options.zipfExponent());
+			workloadTable = createWorkloadTable(options.mix());
+
+			System.out.printf("target=%s, products=%d (상위 10개 상품이 선택될 확률 %.1f%%), concurrency=%d, mix=%s%n",
+				baseUrl, productNumbers.size(), productPopularity.headProbability(10) * 100, options.concurrency(),
+				options.mix());
+			runWorkers();
+		} finally {
+			if (context != null) {
+				context.close();
+			}
+		}
+	}
+
+	private ConfigurableApplicationContext startEmbeddedApplication() {
+		return new SpringApplicationBuilder(CafekioskApplication.class)
+			.profiles("local")
+			.properties(
+				"server.port=0",
+				"spring.jpa.show-sql=false",
+				"logging.level.root=WARN",
+				"spring.h2.console.enabled=false"
+			)
+			.run();
+	}
+
+	private void runWorkers() throws InterruptedException {
+		CountDownLatch finished = new CountDownLatch(options.concurrency());
+		List<Thread> workers = new ArrayList<>(options.concurrency());
+		for (int i = 0; i < options.concurrency(); i++) {
+			Thread worker = new Thread(() -> {
+				try {
+					work();
+				} finally {
+					finished.countDown();
+				}
+			}, "load-worker-" + i);
+			worker.setDaemon(true);
+			workers.add(worker);
+			worker.start();
+		}
+
+		TimeUnit.SECONDS.sleep(options.warmupSeconds());
+		Map<Workload, OperationStats> measured = newStats();
+		stats.set(measured);
+		long startNanos = System.nanoTime();
+		long endNanos = startNanos + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+		long intervalNanos = TimeUnit.SECONDS.toNanos(options.reportIntervalSeconds());
+
+		Map<Workload, Long> previousCounts = counts(measured);
+		long previousNanos = startNanos;
+		while (System.nanoTime() < endNanos) {
+			long sleepNanos = Math.min(intervalNanos, endNanos - System.nanoTime());
+			TimeUnit.NANOSECONDS.sleep(Math.max(sleepNanos, 0));
+			long now = System.nanoTime();
+			printInterval(measured, previousCounts, now - previousNanos, now - startNanos);
+			previousCounts = counts(measured);
+			previousNanos = now;
+		}
+
+		running = false;
+		long elapsedNanos = System.nanoTime() - startNanos;
+		finished.await(30, TimeUnit.SECONDS);
+		printSummary(measured, elapsedNanos);
+	}
+
+	private void work() {
+		while (running) {
+			Workload workload = workloadTable[ThreadLocalRandom.current().nextInt(workloadTable.length)];
+			OperationStats operationStats = stats.get().get(workload);
+			long start = System.nanoTime();
+			try {
+				int statusCode = call(workload);
+				long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+				if (statusCode >= 200 && statusCode < 400) {
+					operationStats.recordSuccess(micros);
+				} else {
+					operationStats.recordFailure(micros, "HTTP " + statusCode);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			} catch (Exception e) {
+				long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start);
+				operationStats.recordFailure(micros, e instanceof HttpTimeoutException ? "timeout" : e.getClass().getSimpleName());
+			}
+			thinkTime();
+		}
+	}
+
+	private int call(Workload workload) throws Exception {
+		switch (workload) {
+			case CREATE_ORDER:
+				return client.createOrder(pickProductNumbers());
+			case GET_SELLING_PRODUCTS:
+				return client.getSellingProducts();
+			case CREATE_PRODUCT:
+				try {
+					client.createProduct("HANDMADE", "부하테스트 신상품 " + productNameSequence.incrementAndGet(), 5000);
+					return 200;
+				} catch (KioskClient.UnexpectedStatusException e) {
+					return e.getStatusCode();
+				}
+			default:
+				throw new IllegalStateException("알 수 없는 워크로드입니다: " + workload);
+		}
+	}
+
+	/**
+	 * 한 주문에 같은 상품을 두 번 담지 않는다 (인기 상품이 겹치면 개수가 줄어든다).
+	 */
+	private List<String> pickProductNumbers() {
+		int itemCount = ThreadLocalRandom.current().nextInt(1, options.maxItemsPerOrder() + 1);
+		Set<String> picked = new LinkedHashSet<>();
+		for (int i = 0; i < itemCount; i++) {
+			picked.add(productNumbers.get(productPopularity.sample()));
+		}
+		return new ArrayList<>(picked);
+	}
+
+	private void thinkTime() {
+		if (options.thinkTimeMillis() <= 0) {
+			return;
+		}
+		try {
+			TimeUnit.MILLISECONDS.sleep(options.thinkTimeMillis());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void printInterval(Map<Workload, OperationStats> measured, Map<Workload, Long> previousCounts,
+		long intervalNanos, long elapsedNanos) {
+		StringBuilder line = new StringBuilder(String.format("[%4ds]", TimeUnit.NANOSECONDS.toSeconds(elapsedNanos)));
+		for (Map.Entry<Workload, OperationStats> entry : measured.entrySet()) {
+			long delta = entry.getValue().getCount() - previousCounts.get(entry.getKey());
+			line.append(String.format(" %s %.1f req/s", entry.getKey().name(), perSecond(delta, intervalNanos)));
+		}
+		System.out.println(line);
+	}
+
+	private void printSummary(Map<Workload, OperationStats> measured, long elapsedNanos) {
+		System.out.println();
+		System.out.printf("%-32s %10s %10s %8s %9s %9s %9s %9s%n",
+			"workload", "count", "req/s", "error%", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+		for (Map.Entry<Workload, OperationStats> entry : measured.entrySet()) {
+			OperationStats operationStats = entry.getValue();
+			LatencyHistogram histogram = operationStats.getHistogram();
+			long count = operationStats.getCount();
+			System.out.printf("%-32s %10d %10.1f %8.2f %9.2f %9.2f %9.2f %9.2f%n",
+				entry.getKey().getDescription(), count, perSecond(count, elapsedNanos),
+				count == 0 ? 0 : operationStats.getErrorCount() * 100.0 / count,
+				millis(histogram.percentileMicros(0.50)), millis(histogram.percentileMicros(0.99)),
+				millis(histogram.percentileMicros(0.999)), millis(histogram.getMaxMicros()));
+		}
+		for (Map.Entry<Workload, OperationStats> entry : measured.entrySet()) {
+			Map<String, Long> errors = entry.getValue().getErrorsByCause();
+			if (!errors.isEmpty()) {
+				System.out.printf("errors %s %s%n", entry.getKey().name(), errors);
+			}
+		}
+	}
+
+	private static Workload[] createWorkloadTable(Map<Workload, Integer> mix) {
+		List<Workload> table = new ArrayList<>();
+		mix.forEach((workload, weight) -> {
+			for (int i = 0; i < weight; i++) {
+				table.add(workload);
+			}
+		});
+		if (table.isEmpty()) {
+			throw new IllegalArgumentException("mix 의 비율 합은 0 보다 커야 합니다.");
+		}
+		return table.toArray(new Workload[0]);
+	}
+
+	private static Map<Workload, OperationStats> newStats() {
+		Map<Workload, OperationStats> stats = new EnumMap<>(Workload.class);
+		for (Workload workload : Workload.values()) {
+			stats.put(workload, new OperationStats());
+		}
+		return stats;
+	}
+
+	private static Map<Workload, Long> counts(Map<Workload, OperationStats> stats) {
+		Map<Workload, Long> counts = new EnumMap<>(Workload.class);
+		stats.forEach((workload, operationStats) -> counts.put(workload, operationStats.getCount()));
+		return counts;
+	}
+
+	private static double perSecond(long count, long nanos) {
+		return nanos == 0 ? 0 : count * 1_000_000_000.0 / nanos;
+	}
+
+	private static double millis(long micros) {
+		return micros / 1000.0;
+	}
+
+}
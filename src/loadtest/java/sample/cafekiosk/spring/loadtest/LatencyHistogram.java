@@ -0,0 +1,76 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 마이크로초 단위 지연 시간 히스토그램.
+ * 64us 미만은 1us 단위, 그 이상은 2 의 거듭제곱 구간마다 32 개 버킷(오차 약 3%)으로 세므로,
+ * 소크 테스트처럼 오래 돌려도 메모리가 늘지 않는다.
+ */
+class LatencyHistogram {
+
+	private static final int LINEAR_BUCKETS = 64;
+	private static final int SUB_BUCKET_BITS = 5;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int MIN_EXPONENT = 6;
+
+	private final AtomicLongArray counts = new AtomicLongArray(LINEAR_BUCKETS + (63 - MIN_EXPONENT) * SUB_BUCKETS);
+	private final LongAdder totalCount = new LongAdder();
+	private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+	void record(long micros) {
+		long value = Math.max(micros, 0);
+		counts.incrementAndGet(indexOf(value));
+		totalCount.increment();
+		maxMicros.accumulate(value);
+	}
+
+	long getCount() {
+		return totalCount.sum();
+	}
+
+	long getMaxMicros() {
+		return maxMicros.get();
+	}
+
+	long percentileMicros(double quantile) {
+		long total = getCount();
+		if (total == 0) {
+			return 0;
+		}
+		long target = Math.max(1, (long)Math.ceil(quantile * total));
+		long cumulative = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			cumulative += counts.get(i);
+			if (cumulative >= target) {
+				return Math.min(valueOf(i), getMaxMicros());
+			}
+		}
+		return getMaxMicros();
+	}
+
+	private static int indexOf(long value) {
+		if (value < LINEAR_BUCKETS) {
+			return (int)value;
+		}
+		int exponent = 63 - Long.numberOfLeadingZeros(value);
+		int subBucket = (int)(value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+		return LINEAR_BUCKETS + (exponent - MIN_EXPONENT) * SUB_BUCKETS + subBucket;
+	}
+
+	/**
+	 * 버킷의 상한값.
+	 */
+	private static long valueOf(int index) {
+		if (index < LINEAR_BUCKETS) {
+			return index;
+		}
+		int exponent = (index - LINEAR_BUCKETS) / SUB_BUCKETS + MIN_EXPONENT;
+		int subBucket = (index - LINEAR_BUCKETS) % SUB_BUCKETS;
+		int shift = exponent - SUB_BUCKET_BITS;
+		return ((long)(SUB_BUCKETS + subBucket + 1) << shift) - 1;
+	}
+
+}
@@ -0,0 +1,91 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * --key=value 형식의 실행 옵션.
+ * ./gradlew loadTest -PloadTestArgs="--concurrency=128 --duration-seconds=600 --zipf-exponent=1.2"
+ */
+class LoadTestOptions {
+
+	private final Map<String, String> values = new HashMap<>();
+
+	private LoadTestOptions(String[] args) {
+		for (String arg : args) {
+			if (!arg.startsWith("--") || !arg.contains("=")) {
+				throw new IllegalArgumentException("옵션은 --key=value 형식이어야 합니다: " + arg);
+			}
+			int separator = arg.indexOf('=');
+			values.put(arg.substring(2, separator), arg.substring(separator + 1));
+		}
+	}
+
+	static LoadTestOptions parse(String[] args) {
+		return new LoadTestOptions(args);
+	}
+
+	/**
+	 * 비어 있으면 같은 JVM 에서 앱(local 프로파일, H2)을 띄운다. 예) http://localhost:8080
+	 */
+	String target() {
+		return values.getOrDefault("target", "");
+	}
+
+	int concurrency() {
+		return intValue("concurrency", 64);
+	}
+
+	int warmupSeconds() {
+		return intValue("warmup-seconds", 10);
+	}
+
+	int durationSeconds() {
+		return intValue("duration-seconds", 60);
+	}
+
+	int reportIntervalSeconds() {
+		return intValue("report-interval-seconds", 10);
+	}
+
+	int productCount() {
+		return intValue("products", 1000);
+	}
+
+	int stockQuantity() {
+		return intValue("stock-quantity", 1_000_000);
+	}
+
+	int maxItemsPerOrder() {
+		return intValue("max-items-per-order", 3);
+	}
+
+	/**
+	 * 상품 선택의 Zipf 지수. 0 이면 고르게, 클수록 소수의 인기 상품에 주문이 몰린다.
+	 */
+	double zipfExponent() {
+		return Double.parseDouble(values.getOrDefault("zipf-exponent", "1.1"));
+	}
+
+	long thinkTimeMillis() {
+		return intValue("think-time-millis", 0);
+	}
+
+	/**
+	 * 요청 비율. 예) --mix=order:80,menu:18,product:2
+	 */
+	Map<Workload, Integer> mix() {
+		Map<Workload, Integer> mix = new EnumMap<>(Workload.class);
+		for (String entry : values.getOrDefault("mix", "order:80,menu:18,product:2").split(",")) {
+			String[] parts = entry.trim().split(":");
+			mix.put(Workload.of(parts[0]), Integer.parseInt(parts[1]));
+		}
+		return mix;
+	}
+
+	private int intValue(String key, int defaultValue) {
+		return Integer.parseInt(values.getOrDefault(key, String.valueOf(defaultValue)));
+	}
+
+}
@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 워크로드 하나의 지연 시간과 오류. 지연 시간은 실패한 요청까지 포함한다.
+ */
+class OperationStats {
+
+	private final LatencyHistogram histogram = new LatencyHistogram();
+	private final LongAdder errorCount = new LongAdder();
+	private final Map<String, LongAdder> errorsByCause = new ConcurrentHashMap<>();
+
+	void recordSuccess(long micros) {
+		histogram.record(micros);
+	}
+
+	void recordFailure(long micros, String cause) {
+		histogram.record(micros);
+		errorCount.increment();
+		errorsByCause.computeIfAbsent(cause, key -> new LongAdder()).increment();
+	}
+
+	LatencyHistogram getHistogram() {
+		return histogram;
+	}
+
+	long getCount() {
+		return histogram.getCount();
+	}
+
+	long getErrorCount() {
+		return errorCount.sum();
+	}
+
+	Map<String, Long> getErrorsByCause() {
+		Map<String, Long> errors = new TreeMap<>();
+		errorsByCause.forEach((cause, count) -> errors.put(cause, count.sum()));
+		return errors;
+	}
+
+}
@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.util.Arrays;
+
+enum Workload {
+
+	CREATE_ORDER("order", "POST /api/v1/orders/new"),
+	GET_SELLING_PRODUCTS("menu", "GET /api/v1/products/selling"),
+	CREATE_PRODUCT("product", "POST /api/v1/products/new");
+
+	private final String key;
+	private final String description;
+
+	Workload(String key, String description) {
+		this.key = key;
+		this.description = description;
+	}
+
+	static Workload of(String key) {
+		return Arrays.stream(values())
+			.filter(workload -> workload.key.equals(key))
+			.findFirst()
+			.orElseThrow(() -> new IllegalArgumentException("알 수 없는 워크로드입니다: " + key));
+	}
+
+	String getDescription() {
+		return description;
+	}
+
+}
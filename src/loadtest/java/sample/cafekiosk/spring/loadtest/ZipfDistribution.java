@@ -0,0 +1,40 @@
+package sample.cafekiosk.spring.loadtest;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * 1..n 순위에서 순위 k 를 1 / k^exponent 에 비례하는 확률로 뽑는다 (누적 분포 + 이진 탐색).
+ */
+class ZipfDistribution {
+
+	private final double[] cumulative;
+
+	ZipfDistribution(int n, double exponent) {
+		cumulative = new double[n];
+		double sum = 0;
+		for (int k = 1; k <= n; k++) {
+			sum += 1 / Math.pow(k, exponent);
+			cumulative[k - 1] = sum;
+		}
+		for (int i = 0; i < n; i++) {
+			cumulative[i] /= sum;
+		}
+	}
+
+	/**
+	 * 0 부터 시작하는 순위를 돌려준다.
+	 */
+	int sample() {
+		int index = Arrays.binarySearch(cumulative, ThreadLocalRandom.current().nextDouble());
+		return Math.min(index >= 0 ? index : -index - 1, cumulative.length - 1);
+	}
+
+	/**
+	 * 상위 rankCount 개 순위가 뽑힐 확률.
+	 */
+	double headProbability(int rankCount) {
+		return cumulative[Math.min(rankCount, cumulative.length) - 1];
+	}
+
+}
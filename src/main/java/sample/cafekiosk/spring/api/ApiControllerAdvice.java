@@ -19,4 +19,14 @@ public class ApiControllerAdvice {
 		);
 	}
 
+	@ResponseStatus(HttpStatus.BAD_REQUEST)
+	@ExceptionHandler(IllegalArgumentException.class)
+	public ApiResponse<Object> illegalArgumentException(IllegalArgumentException e) {
+		return ApiResponse.of(
+			HttpStatus.BAD_REQUEST,
+			e.getMessage(),
+			null
+		);
+	}
+
 }
@@ -1,16 +1,36 @@
 package sample.cafekiosk.spring.api.controller.order;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
 import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBulkCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.OrderGroupCommitter;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.OrderQueryService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.event.OrderEventBus;
+import sample.cafekiosk.spring.api.service.order.request.OrderCursor;
+import sample.cafekiosk.spring.api.service.order.request.OrderSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderCreateResult;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 import java.time.LocalDateTime;
+import java.util.List;
 
 import javax.validation.Valid;
 
@@ -18,7 +38,13 @@ import javax.validation.Valid;
 @RestController
 public class OrderController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+
     private final OrderService orderService;
+    private final OrderGroupCommitter orderGroupCommitter;
+    private final OrderQueryService orderQueryService;
+    private final OrderIdempotencyService orderIdempotencyService;
+    private final OrderEventBus orderEventBus;
 
     /**
      * Presentation Layer
@@ -29,10 +55,68 @@ public class OrderController {
      * - 하위 레이어들을 모두 moking 처리를 하고 단위 테스트 느낌으로 진행
      */
 
+    /**
+     * Idempotency-Key 헤더가 있으면 같은 키의 재시도에 처음 만든 주문을 그대로 돌려준다.
+     * 키와 주문을 한 트랜잭션에 저장해야 하므로 이 경우에는 group commit 을 거치지 않는다.
+     */
     @PostMapping("/api/v1/orders/new")
-    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request) {
+    public ApiResponse<OrderResponse> createOrder(@Valid @RequestBody OrderCreateRequest request,
+        @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
         LocalDateTime registeredDateTime = LocalDateTime.now();
+        if (idempotencyKey != null) {
+            return ApiResponse.ok(orderIdempotencyService.createOrder(idempotencyKey, request.toServiceRequest(), registeredDateTime));
+        }
+        if (orderGroupCommitter.isEnabled()) {
+            return ApiResponse.ok(orderGroupCommitter.createOrder(request.toServiceRequest(), registeredDateTime));
+        }
         return ApiResponse.ok(orderService.createOrder(request.toServiceRequest(), registeredDateTime));
     }
 
+    @PostMapping("/api/v1/orders/bulk")
+    public ApiResponse<List<OrderCreateResult>> createOrders(@Valid @RequestBody OrderBulkCreateRequest request) {
+        LocalDateTime registeredDateTime = LocalDateTime.now();
+        return ApiResponse.ok(orderService.createOrders(request.toServiceRequests(), registeredDateTime));
+    }
+
+    @PostMapping("/api/v1/orders/status")
+    public ApiResponse<OrderStatusChangeResponse> changeOrderStatus(@Valid @RequestBody OrderStatusChangeRequest request) {
+        return ApiResponse.ok(orderService.changeOrderStatus(request.toServiceRequest()));
+    }
+
+    /**
+     * 새 주문과 주문 상태 변경을 SSE 로 받는다. (바리스타 디스플레이용)
+     * 연결이 끊기면 클라이언트(EventSource)가 다시 연결하고, DROPPED 이벤트를 받으면 목록 API 로 다시 읽어야 한다.
+     */
+    @GetMapping(value = "/api/v1/orders/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter subscribeOrderEvents() {
+        return orderEventBus.subscribe();
+    }
+
+    @GetMapping("/api/v1/orders/{orderId}")
+    public ApiResponse<OrderResponse> getOrder(@PathVariable Long orderId) {
+        return ApiResponse.ok(orderQueryService.getOrder(orderId));
+    }
+
+    /**
+     * 기간 (+ 주문 상태) 으로 주문 목록을 조회한다.
+     * 다음 페이지는 응답의 nextCursor 를 cursor 로 넘겨서 이어 읽는다. (OFFSET 미사용)
+     */
+    @GetMapping("/api/v1/orders")
+    public ApiResponse<OrderPageResponse> getOrders(
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime startDateTime,
+        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime endDateTime,
+        @RequestParam(required = false) OrderStatus orderStatus,
+        @RequestParam(required = false) String cursor,
+        @RequestParam(defaultValue = "20") int size
+    ) {
+        OrderSearchServiceRequest request = OrderSearchServiceRequest.builder()
+            .startDateTime(startDateTime)
+            .endDateTime(endDateTime)
+            .orderStatus(orderStatus)
+            .cursor(cursor == null ? null : OrderCursor.decode(cursor))
+            .size(size)
+            .build();
+        return ApiResponse.ok(orderQueryService.getOrderPage(request));
+    }
+
 }
@@ -0,0 +1,41 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatisticsReportRequest;
+import sample.cafekiosk.spring.api.service.order.report.OrderStatisticsReportService;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatisticsReportResponse;
+
+import javax.validation.Valid;
+
+@RequiredArgsConstructor
+@RestController
+public class OrderStatisticsReportController {
+
+    private final OrderStatisticsReportService orderStatisticsReportService;
+
+    /**
+     * 리포트는 비동기로 만들어지므로 바로 reportId 와 진행 상황을 돌려준다.
+     */
+    @PostMapping("/api/v1/orders/statistics/reports")
+    public ApiResponse<OrderStatisticsReportResponse> startReport(@Valid @RequestBody OrderStatisticsReportRequest request) {
+        return ApiResponse.ok(orderStatisticsReportService.startReport(request.toServiceRequest()));
+    }
+
+    @GetMapping("/api/v1/orders/statistics/reports/{reportId}")
+    public ApiResponse<OrderStatisticsReportResponse> getReport(@PathVariable String reportId) {
+        return ApiResponse.ok(orderStatisticsReportService.getReport(reportId));
+    }
+
+    @PostMapping("/api/v1/orders/statistics/reports/{reportId}/cancel")
+    public ApiResponse<OrderStatisticsReportResponse> cancelReport(@PathVariable String reportId) {
+        return ApiResponse.ok(orderStatisticsReportService.cancelReport(reportId));
+    }
+
+}
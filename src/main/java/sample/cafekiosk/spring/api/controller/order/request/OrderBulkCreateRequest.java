@@ -0,0 +1,35 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Size;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+
+@Getter
+@NoArgsConstructor
+public class OrderBulkCreateRequest {
+
+	@Valid
+	@NotEmpty(message = "주문 리스트는 필수입니다.")
+	@Size(max = 500, message = "한 번에 등록할 수 있는 주문은 500개 이하입니다.")
+	private List<OrderCreateRequest> orders;
+
+	@Builder
+	private OrderBulkCreateRequest(final List<OrderCreateRequest> orders) {
+		this.orders = orders;
+	}
+
+	public List<OrderCreateServiceRequest> toServiceRequests() {
+		return orders.stream()
+			.map(OrderCreateRequest::toServiceRequest)
+			.collect(Collectors.toList());
+	}
+
+}
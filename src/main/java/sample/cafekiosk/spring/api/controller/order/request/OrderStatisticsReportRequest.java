@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatisticsReportServiceRequest;
+
+@Getter
+@NoArgsConstructor
+public class OrderStatisticsReportRequest {
+
+	@NotNull(message = "리포트 시작일은 필수입니다.")
+	private LocalDate startDate;
+
+	@NotNull(message = "리포트 종료일은 필수입니다.")
+	private LocalDate endDate;
+
+	@NotEmpty(message = "수신자 이메일 리스트는 필수입니다.")
+	private List<String> emails;
+
+	@Builder
+	private OrderStatisticsReportRequest(final LocalDate startDate, final LocalDate endDate,
+		final List<String> emails) {
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.emails = emails;
+	}
+
+	public OrderStatisticsReportServiceRequest toServiceRequest() {
+		return OrderStatisticsReportServiceRequest.builder()
+			.startDate(startDate)
+			.endDate(endDate)
+			.emails(emails)
+			.build();
+	}
+
+}
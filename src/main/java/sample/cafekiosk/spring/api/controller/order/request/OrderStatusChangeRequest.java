@@ -0,0 +1,45 @@
+package sample.cafekiosk.spring.api.controller.order.request;
+
+import java.util.List;
+
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.NotNull;
+import javax.validation.constraints.Size;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+@Getter
+@NoArgsConstructor
+public class OrderStatusChangeRequest {
+
+	@NotEmpty(message = "주문 id 리스트는 필수입니다.")
+	@Size(max = 1000, message = "한 번에 변경할 수 있는 주문은 1000개 이하입니다.")
+	private List<Long> orderIds;
+
+	@NotNull(message = "현재 주문 상태는 필수입니다.")
+	private OrderStatus currentStatus;
+
+	@NotNull(message = "변경할 주문 상태는 필수입니다.")
+	private OrderStatus targetStatus;
+
+	@Builder
+	private OrderStatusChangeRequest(final List<Long> orderIds, final OrderStatus currentStatus,
+		final OrderStatus targetStatus) {
+		this.orderIds = orderIds;
+		this.currentStatus = currentStatus;
+		this.targetStatus = targetStatus;
+	}
+
+	public OrderStatusChangeServiceRequest toServiceRequest() {
+		return OrderStatusChangeServiceRequest.builder()
+			.orderIds(orderIds)
+			.currentStatus(currentStatus)
+			.targetStatus(targetStatus)
+			.build();
+	}
+
+}
@@ -1,18 +1,23 @@
 package sample.cafekiosk.spring.api.controller.product;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.WebRequest;
 
 import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.request.ProductCreateRequest;
 import sample.cafekiosk.spring.api.service.product.ProductService;
+import sample.cafekiosk.spring.api.service.product.response.MenuSnapshot;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 
-import java.util.List;
-
+import javax.servlet.http.HttpServletResponse;
 import javax.validation.Valid;
 
 @RequiredArgsConstructor
@@ -26,9 +31,46 @@ public class ProductController {
         return ApiResponse.ok(productService.createProduct(request.toServiceRequest()));
     }
 
+    /**
+     * 미리 직렬화해 둔 메뉴를 그대로 내려준다.
+     * gzip 을 받을 수 있으면 압축해 둔 본문을 쓰고, 인코딩마다 ETag 가 다르다.
+     * If-None-Match 가 그 인코딩의 ETag 와 같으면 본문 없이 304, 200 과 304 모두 Vary: Accept-Encoding 을 보낸다.
+     */
     @GetMapping("/api/v1/products/selling")
-    public ApiResponse<List<ProductResponse>> getSellingProducts() {
-        return ApiResponse.ok(productService.getSellingProducts());
+    public ResponseEntity<byte[]> getSellingProducts(
+        WebRequest webRequest,
+        HttpServletResponse servletResponse,
+        @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding
+    ) {
+        MenuSnapshot snapshot = productService.getSellingProductsSnapshot();
+        boolean gzip = acceptsGzip(acceptEncoding);
+        String eTag = gzip ? snapshot.getGzipETag() : snapshot.getETag();
+
+        servletResponse.setHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (webRequest.checkNotModified(eTag)) {
+            return null;
+        }
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .eTag(eTag)
+            .contentType(MediaType.APPLICATION_JSON);
+        if (gzip) {
+            return response.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(snapshot.getGzipBody());
+        }
+        return response.body(snapshot.getBody());
+    }
+
+    private static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        for (String coding : acceptEncoding.split(",")) {
+            String[] parts = coding.trim().split(";");
+            if (parts[0].trim().equalsIgnoreCase("gzip")) {
+                return parts.length == 1 || !parts[1].replace(" ", "").matches("q=0(\\.0*)?");
+            }
+        }
+        return false;
     }
 
 }
@@ -0,0 +1,302 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+import com.google.common.util.concurrent.RateLimiter;
+
+import lombok.extern.slf4j.Slf4j;
+import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.config.KioskMetrics;
+import sample.cafekiosk.spring.config.KioskMetrics.MailOutcome;
+import sample.cafekiosk.spring.config.VirtualThreads;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
+
+/**
+ * outbox 에 쌓인 메일을 전송한다.
+ * - 전송할 메일을 claimToken 으로 선점하고, 제한된 크기의 워커 풀에서 보낸다
+ * - 실패하면 지수 백오프(base * 2^(시도 횟수 - 1), 최대 max)로 다시 시도하고, 최대 시도 횟수를 넘으면 FAILED 로 남긴다
+ * - 수신자별 전송 한도를 넘는 메일은 throttleWait 만큼 기다려 보고, 그래도 안 되면 시도 횟수를 늘리지 않고 미룬다
+ * - 전송 결과와 MailSendHistory 는 배치마다 한 트랜잭션으로 모아서 쓴다
+ */
+@Slf4j
+@Component
+public class MailDispatcher {
+
+	private static final Duration THROTTLE_DELAY = Duration.ofSeconds(1);
+
+	private final MailOutboxRepository mailOutboxRepository;
+	private final MailSendHistoryRepository mailSendHistoryRepository;
+	private final MailSendClient mailSendClient;
+	private final KioskMetrics kioskMetrics;
+	private final TransactionTemplate transactionTemplate;
+	private final boolean enabled;
+	private final long pollIntervalMillis;
+	private final int batchSize;
+	private final int maxAttempts;
+	private final Duration baseBackoff;
+	private final Duration maxBackoff;
+	private final Duration claimTimeout;
+	private final Duration throttleWait;
+	private final ExecutorService workers;
+	private final LoadingCache<String, RateLimiter> rateLimiters;
+
+	private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "mail-dispatcher-poller");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public MailDispatcher(
+		MailOutboxRepository mailOutboxRepository,
+		MailSendHistoryRepository mailSendHistoryRepository,
+		MailSendClient mailSendClient,
+		KioskMetrics kioskMetrics,
+		PlatformTransactionManager transactionManager,
+		@Value("${cafekiosk.mail.dispatcher.enabled:true}") boolean enabled,
+		@Value("${cafekiosk.mail.dispatcher.poll-interval-millis:500}") long pollIntervalMillis,
+		@Value("${cafekiosk.mail.dispatcher.batch-size:100}") int batchSize,
+		@Value("${cafekiosk.mail.dispatcher.worker-count:8}") int workerCount,
+		@Value("${cafekiosk.mail.dispatcher.max-attempts:5}") int maxAttempts,
+		@Value("${cafekiosk.mail.dispatcher.base-backoff-millis:1000}") long baseBackoffMillis,
+		@Value("${cafekiosk.mail.dispatcher.max-backoff-millis:300000}") long maxBackoffMillis,
+		@Value("${cafekiosk.mail.dispatcher.claim-timeout-millis:60000}") long claimTimeoutMillis,
+		@Value("${cafekiosk.mail.dispatcher.permits-per-second-per-recipient:5}") double permitsPerSecondPerRecipient,
+		@Value("${cafekiosk.mail.dispatcher.throttle-wait-millis:200}") long throttleWaitMillis,
+		@Value("${cafekiosk.execution.virtual-threads.enabled:false}") boolean virtualThreads
+	) {
+		this.mailOutboxRepository = mailOutboxRepository;
+		this.mailSendHistoryRepository = mailSendHistoryRepository;
+		this.mailSendClient = mailSendClient;
+		this.kioskMetrics = kioskMetrics;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.enabled = enabled;
+		this.pollIntervalMillis = pollIntervalMillis;
+		this.batchSize = batchSize;
+		this.maxAttempts = maxAttempts;
+		this.baseBackoff = Duration.ofMillis(baseBackoffMillis);
+		this.maxBackoff = Duration.ofMillis(maxBackoffMillis);
+		this.claimTimeout = Duration.ofMillis(claimTimeoutMillis);
+		this.throttleWait = Duration.ofMillis(throttleWaitMillis);
+		this.workers = createWorkers(workerCount, batchSize, virtualThreads);
+		this.rateLimiters = CacheBuilder.newBuilder()
+			.expireAfterAccess(10, TimeUnit.MINUTES)
+			.build(CacheLoader.from(recipient -> RateLimiter.create(permitsPerSecondPerRecipient)));
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		poller.scheduleWithFixedDelay(this::dispatchQuietly, pollIntervalMillis, pollIntervalMillis,
+			TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		poller.shutdown();
+		poller.awaitTermination(5, TimeUnit.SECONDS);
+		workers.shutdown();
+		workers.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	public int dispatchPending() {
+		return dispatchPending(LocalDateTime.now());
+	}
+
+	/**
+	 * now 기준으로 보낼 차례가 된 메일을 한 배치만큼 보내고, 전송에 성공한 건수를 돌려준다.
+	 */
+	public int dispatchPending(LocalDateTime now) {
+		List<MailOutbox> claimed = claim(now);
+		if (claimed.isEmpty()) {
+			return 0;
+		}
+
+		List<Future<DispatchResult>> futures = new ArrayList<>(claimed.size());
+		for (MailOutbox mail : claimed) {
+			futures.add(workers.submit(() -> send(mail)));
+		}
+
+		List<DispatchResult> results = new ArrayList<>(futures.size());
+		for (int i = 0; i < futures.size(); i++) {
+			results.add(await(futures.get(i), claimed.get(i)));
+		}
+
+		return record(results, now);
+	}
+
+	private List<MailOutbox> claim(LocalDateTime now) {
+		String claimToken = UUID.randomUUID().toString();
+		LocalDateTime staleBefore = now.minus(claimTimeout);
+
+		return transactionTemplate.execute(status -> {
+			List<Long> ids = mailOutboxRepository.findDispatchableIds(MailOutboxStatus.PENDING, MailOutboxStatus.SENDING,
+				now, staleBefore, PageRequest.of(0, batchSize));
+			if (ids.isEmpty()) {
+				return List.of();
+			}
+			mailOutboxRepository.claim(ids, claimToken, MailOutboxStatus.PENDING, MailOutboxStatus.SENDING, now,
+				staleBefore);
+			return mailOutboxRepository.findAllByClaimToken(claimToken);
+		});
+	}
+
+	private DispatchResult send(MailOutbox mail) {
+		if (!rateLimiters.getUnchecked(mail.getToEmail()).tryAcquire(throttleWait)) {
+			return DispatchResult.throttled(mail);
+		}
+
+		try {
+			if (mailSendClient.sendEmail(mail.getFromEmail(), mail.getToEmail(), mail.getSubject(), mail.getContent())) {
+				return DispatchResult.sent(mail);
+			}
+			return DispatchResult.failed(mail, "메일 서버가 전송을 거절했습니다.");
+		} catch (RuntimeException e) {
+			return DispatchResult.failed(mail, e.getClass().getSimpleName() + ": " + e.getMessage());
+		}
+	}
+
+	private DispatchResult await(Future<DispatchResult> future, MailOutbox mail) {
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			return DispatchResult.failed(mail, String.valueOf(e.getCause()));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return DispatchResult.throttled(mail);
+		}
+	}
+
+	private int record(List<DispatchResult> results, LocalDateTime now) {
+		Map<Long, DispatchResult> resultMap = results.stream()
+			.collect(Collectors.toMap(result -> result.mail.getId(), Function.identity()));
+
+		return transactionTemplate.execute(status -> {
+			List<MailSendHistory> histories = new ArrayList<>();
+			for (MailOutbox mail : mailOutboxRepository.findAllById(resultMap.keySet())) {
+				DispatchResult result = resultMap.get(mail.getId());
+				if (result.sent) {
+					kioskMetrics.incrementMailDispatch(MailOutcome.SENT);
+					mail.markSent();
+					histories.add(MailSendHistory.builder()
+						.fromEmail(mail.getFromEmail())
+						.toEmail(mail.getToEmail())
+						.subject(mail.getSubject())
+						.content(mail.getContent())
+						.build());
+				} else if (result.error == null) {
+					kioskMetrics.incrementMailDispatch(MailOutcome.THROTTLED);
+					mail.defer(now.plus(THROTTLE_DELAY));
+				} else {
+					mail.markFailed(result.error, now.plus(backoff(mail.getAttemptCount() + 1)), maxAttempts);
+					kioskMetrics.incrementMailDispatch(mail.getStatus() == MailOutboxStatus.FAILED
+						? MailOutcome.GAVE_UP : MailOutcome.REJECTED);
+					log.warn("메일 전송 실패 id={}, attempt={}, error={}", mail.getId(), mail.getAttemptCount(),
+						result.error);
+				}
+			}
+			mailSendHistoryRepository.saveAll(histories);
+			return histories.size();
+		});
+	}
+
+	private Duration backoff(int attempt) {
+		long multiplier = 1L << Math.min(attempt - 1, 30);
+		Duration backoff = baseBackoff.multipliedBy(multiplier);
+		return backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff;
+	}
+
+	private void dispatchQuietly() {
+		try {
+			while (dispatchPending() > 0 && !poller.isShutdown()) {
+				// 밀린 메일이 있으면 다음 주기를 기다리지 않고 이어서 보낸다
+			}
+		} catch (RuntimeException e) {
+			log.error("메일 전송 중 오류가 발생했습니다.", e);
+		}
+	}
+
+	/**
+	 * 가상 스레드 모드에서는 메일마다 가상 스레드를 쓴다. 한 번에 보내는 메일 수는 batchSize 로 이미 제한된다.
+	 */
+	private static ExecutorService createWorkers(int workerCount, int queueCapacity, boolean virtualThreads) {
+		if (virtualThreads) {
+			Optional<ExecutorService> executor = VirtualThreads.newThreadPerTaskExecutor("mail-dispatcher-virtual-");
+			if (executor.isPresent()) {
+				return executor.get();
+			}
+			log.warn("가상 스레드를 지원하지 않는 JDK 입니다. 메일 전송은 플랫폼 스레드 풀에서 처리합니다.");
+		}
+
+		AtomicInteger sequence = new AtomicInteger();
+		return new ThreadPoolExecutor(workerCount, workerCount, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(queueCapacity),
+			runnable -> {
+				Thread thread = new Thread(runnable, "mail-dispatcher-" + sequence.incrementAndGet());
+				thread.setDaemon(true);
+				return thread;
+			},
+			new ThreadPoolExecutor.CallerRunsPolicy());
+	}
+
+	private static class DispatchResult {
+
+		private final MailOutbox mail;
+		private final boolean sent;
+		private final String error;
+
+		private DispatchResult(final MailOutbox mail, final boolean sent, final String error) {
+			this.mail = mail;
+			this.sent = sent;
+			this.error = error;
+		}
+
+		private static DispatchResult sent(MailOutbox mail) {
+			return new DispatchResult(mail, true, null);
+		}
+
+		private static DispatchResult failed(MailOutbox mail, String error) {
+			return new DispatchResult(mail, false, error);
+		}
+
+		private static DispatchResult throttled(MailOutbox mail) {
+			return new DispatchResult(mail, false, null);
+		}
+
+	}
+
+}
@@ -0,0 +1,43 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+
+/**
+ * 메일을 바로 보내지 않고 outbox 에 저장한다. 실제 전송은 MailDispatcher 가 비동기로 한다.
+ */
+@RequiredArgsConstructor
+@Service
+public class MailOutboxService {
+
+	private final MailOutboxRepository mailOutboxRepository;
+
+	@Transactional
+	public Long enqueue(String fromEmail, String toEmail, String subject, String content) {
+		MailOutbox mailOutbox = MailOutbox.create(fromEmail, toEmail, subject, content, LocalDateTime.now());
+
+		return mailOutboxRepository.save(mailOutbox).getId();
+	}
+
+	/**
+	 * 같은 메일을 여러 수신자에게 보낸다. 수신자별 outbox 행을 한 트랜잭션으로 넣는다.
+	 */
+	@Transactional
+	public int enqueueAll(String fromEmail, List<String> toEmails, String subject, String content) {
+		LocalDateTime now = LocalDateTime.now();
+		List<MailOutbox> mailOutboxes = toEmails.stream()
+			.map(toEmail -> MailOutbox.create(fromEmail, toEmail, subject, content, now))
+			.collect(Collectors.toList());
+
+		return mailOutboxRepository.saveAll(mailOutboxes).size();
+	}
+
+}
@@ -4,6 +4,7 @@ import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
 import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.config.KioskMetrics;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
 
@@ -13,8 +14,20 @@ public class MailService {
 
 	private final MailSendClient mailSendClient;
 	private final MailSendHistoryRepository mailSendHistoryRepository;
+	private final KioskMetrics kioskMetrics;
 
 	public boolean sendMail(String fromEmail, String toEmail, String subject, String content) {
+		long start = System.nanoTime();
+		boolean result = false;
+		try {
+			result = send(fromEmail, toEmail, subject, content);
+			return result;
+		} finally {
+			kioskMetrics.recordMailSend(System.nanoTime() - start, result);
+		}
+	}
+
+	private boolean send(String fromEmail, String toEmail, String subject, String content) {
 		boolean result = mailSendClient.sendEmail(fromEmail, toEmail, subject, content);
 		if (result) {
 			mailSendHistoryRepository.save(MailSendHistory.builder()
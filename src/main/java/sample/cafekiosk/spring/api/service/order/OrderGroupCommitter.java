@@ -0,0 +1,232 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import lombok.extern.slf4j.Slf4j;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderCreateResult;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+
+/**
+ * 동시에 들어온 주문 생성 요청을 짧은 시간(window) 동안 모아서 하나의 트랜잭션으로 커밋한다. (group commit)
+ * 각 호출자는 자기 주문의 OrderResponse 또는 자기 주문의 실패를 돌려받는다.
+ * 묶은 트랜잭션이 통째로 실패하면 한 주문 때문에 나머지가 함께 실패하지 않도록 주문별 트랜잭션으로 다시 처리한다.
+ * 커밋하기 전에 주문을 하나씩 가져가며(claim), 호출자가 먼저 포기한 주문은 커밋하지 않는다.
+ */
+@Slf4j
+@Component
+public class OrderGroupCommitter {
+
+	private final OrderService orderService;
+	private final boolean enabled;
+	private final long windowNanos;
+	private final int maxBatchSize;
+	private final long timeoutMillis;
+	private final BlockingQueue<PendingOrder> queue;
+
+	private volatile boolean running;
+	private Thread worker;
+
+	public OrderGroupCommitter(OrderService orderService,
+		@Value("${cafekiosk.order.group-commit.enabled:false}") boolean enabled,
+		@Value("${cafekiosk.order.group-commit.window-millis:5}") long windowMillis,
+		@Value("${cafekiosk.order.group-commit.max-batch-size:100}") int maxBatchSize,
+		@Value("${cafekiosk.order.group-commit.queue-capacity:10000}") int queueCapacity,
+		@Value("${cafekiosk.order.group-commit.timeout-millis:3000}") long timeoutMillis) {
+		this.orderService = orderService;
+		this.enabled = enabled;
+		this.windowNanos = TimeUnit.MILLISECONDS.toNanos(windowMillis);
+		this.maxBatchSize = maxBatchSize;
+		this.timeoutMillis = timeoutMillis;
+		this.queue = new LinkedBlockingQueue<>(queueCapacity);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		running = true;
+		worker = new Thread(this::run, "order-group-committer");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		running = false;
+		if (worker != null) {
+			worker.join(TimeUnit.SECONDS.toMillis(5));
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * 돌려받은 future 를 커밋하러 가져가기 전에 취소하면 그 주문은 생성되지 않는다.
+	 */
+	public CompletableFuture<OrderResponse> submit(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+		return enqueue(request, registeredDateTime).future;
+	}
+
+	/**
+	 * 시간 안에 결과를 받지 못하면, 아직 커밋하러 가져가지 않은 주문은 취소하고 예외를 던진다.
+	 * 이미 커밋 중인 주문은 그 결과를 끝까지 기다려서 돌려주므로, 예외를 받은 호출자가 다시 시도해도 주문이 두 번 생기지 않는다.
+	 */
+	public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+		PendingOrder pendingOrder = enqueue(request, registeredDateTime);
+		try {
+			try {
+				return pendingOrder.future.get(timeoutMillis, TimeUnit.MILLISECONDS);
+			} catch (TimeoutException e) {
+				if (pendingOrder.abandon()) {
+					throw new IllegalStateException("주문 처리 시간이 초과되었습니다. 다시 시도해주세요.", e);
+				}
+				return pendingOrder.future.get();
+			}
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			pendingOrder.abandon();
+			throw new IllegalStateException("주문 처리 중 인터럽트가 발생했습니다.", e);
+		}
+	}
+
+	private PendingOrder enqueue(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+		PendingOrder pendingOrder = new PendingOrder(request, registeredDateTime);
+		if (!running) {
+			pendingOrder.future.completeExceptionally(new IllegalStateException("주문 그룹 커밋이 동작하고 있지 않습니다."));
+		} else if (!queue.offer(pendingOrder)) {
+			pendingOrder.future.completeExceptionally(new IllegalStateException("주문 대기열이 가득 찼습니다. 잠시 후 다시 시도해주세요."));
+		}
+		return pendingOrder;
+	}
+
+	private void run() {
+		List<PendingOrder> batch = new ArrayList<>(maxBatchSize);
+		while (running || !queue.isEmpty()) {
+			try {
+				PendingOrder first = queue.poll(100, TimeUnit.MILLISECONDS);
+				if (first == null) {
+					continue;
+				}
+				batch.add(first);
+				collectUntilWindowCloses(batch);
+				commit(batch);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				running = false;
+				break;
+			} finally {
+				batch.clear();
+			}
+		}
+		failRemaining();
+	}
+
+	private void collectUntilWindowCloses(List<PendingOrder> batch) throws InterruptedException {
+		long deadline = System.nanoTime() + windowNanos;
+		while (batch.size() < maxBatchSize) {
+			long remainingNanos = deadline - System.nanoTime();
+			if (remainingNanos <= 0) {
+				queue.drainTo(batch, maxBatchSize - batch.size());
+				return;
+			}
+			PendingOrder next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+			if (next == null) {
+				return;
+			}
+			batch.add(next);
+		}
+	}
+
+	private void commit(List<PendingOrder> batch) {
+		batch.removeIf(pendingOrder -> !pendingOrder.claim());
+		if (batch.isEmpty()) {
+			return;
+		}
+		try {
+			List<OrderCreateResult> results = orderService.createOrders(
+				batch.stream().map(pendingOrder -> pendingOrder.request).collect(Collectors.toList()),
+				batch.stream().map(pendingOrder -> pendingOrder.registeredDateTime).collect(Collectors.toList())
+			);
+			for (int i = 0; i < batch.size(); i++) {
+				OrderCreateResult result = results.get(i);
+				if (result.isSuccess()) {
+					batch.get(i).future.complete(result.getOrder());
+				} else {
+					batch.get(i).future.completeExceptionally(new IllegalArgumentException(result.getFailureMessage()));
+				}
+			}
+		} catch (RuntimeException e) {
+			log.warn("주문 {}건을 묶은 트랜잭션이 실패해서 주문별로 다시 처리합니다.", batch.size(), e);
+			batch.forEach(this::commitEach);
+		}
+	}
+
+	private void commitEach(PendingOrder pendingOrder) {
+		try {
+			pendingOrder.future.complete(orderService.createOrder(pendingOrder.request, pendingOrder.registeredDateTime));
+		} catch (RuntimeException e) {
+			pendingOrder.future.completeExceptionally(e);
+		}
+	}
+
+	private void failRemaining() {
+		List<PendingOrder> remaining = new ArrayList<>();
+		queue.drainTo(remaining);
+		remaining.forEach(pendingOrder -> pendingOrder.future.completeExceptionally(
+			new IllegalStateException("주문 그룹 커밋이 종료되었습니다.")));
+	}
+
+	private static class PendingOrder {
+
+		private final OrderCreateServiceRequest request;
+		private final LocalDateTime registeredDateTime;
+		private final CompletableFuture<OrderResponse> future = new CompletableFuture<>();
+		private final AtomicBoolean taken = new AtomicBoolean();
+
+		private PendingOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
+			this.request = request;
+			this.registeredDateTime = registeredDateTime;
+		}
+
+		/**
+		 * 커밋할 주문으로 가져간다. 호출자가 이미 포기했거나 취소한 주문이면 false
+		 */
+		private boolean claim() {
+			return !future.isDone() && taken.compareAndSet(false, true);
+		}
+
+		/**
+		 * 아직 커밋하러 가져가지 않은 주문이면 취소한다. 이미 가져갔으면 false
+		 */
+		private boolean abandon() {
+			return taken.compareAndSet(false, true) && future.cancel(false);
+		}
+
+	}
+
+}
@@ -0,0 +1,171 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.hash.Hashing;
+
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKey;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKeyRepository;
+
+/**
+ * Idempotency-Key 가 붙은 주문 생성 요청을 한 번만 실행한다.
+ * - 처음 들어온 요청만 주문을 만들고, 같은 키로 동시에 들어온 요청은 그 결과를 기다렸다가 같은 OrderResponse 를 받는다
+ * - 진행 중이거나 끝난 요청은 TTL 과 최대 개수가 있는 메모리 캐시에 두고, 캐시에 없으면 주문과 같은 트랜잭션에 저장한 키 테이블을 본다
+ * - 실패한 요청은 기억하지 않으므로 같은 키로 다시 시도할 수 있다
+ */
+@Service
+public class OrderIdempotencyService {
+
+	private final OrderService orderService;
+	private final OrderQueryService orderQueryService;
+	private final OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final Cache<String, InFlightOrder> inFlightOrders;
+	private final long waitTimeoutMillis;
+
+	public OrderIdempotencyService(
+		OrderService orderService,
+		OrderQueryService orderQueryService,
+		OrderIdempotencyKeyRepository orderIdempotencyKeyRepository,
+		PlatformTransactionManager transactionManager,
+		@Value("${cafekiosk.order.idempotency.maximum-size:10000}") long maximumSize,
+		@Value("${cafekiosk.order.idempotency.ttl-seconds:86400}") long ttlSeconds,
+		@Value("${cafekiosk.order.idempotency.wait-timeout-millis:10000}") long waitTimeoutMillis
+	) {
+		this.orderService = orderService;
+		this.orderQueryService = orderQueryService;
+		this.orderIdempotencyKeyRepository = orderIdempotencyKeyRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.inFlightOrders = CacheBuilder.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+			.build();
+		this.waitTimeoutMillis = waitTimeoutMillis;
+	}
+
+	public OrderResponse createOrder(String idempotencyKey, OrderCreateServiceRequest request,
+		LocalDateTime registeredDateTime) {
+		validate(idempotencyKey);
+
+		String requestHash = hashOf(request);
+		InFlightOrder inFlightOrder = new InFlightOrder(requestHash);
+		InFlightOrder existing = inFlightOrders.asMap().putIfAbsent(idempotencyKey, inFlightOrder);
+		if (existing != null) {
+			existing.verify(requestHash);
+			return await(existing.future);
+		}
+
+		try {
+			OrderResponse orderResponse = findOrCreate(idempotencyKey, requestHash, request, registeredDateTime);
+			inFlightOrder.future.complete(orderResponse);
+			return orderResponse;
+		} catch (RuntimeException e) {
+			inFlightOrders.asMap().remove(idempotencyKey, inFlightOrder);
+			inFlightOrder.future.completeExceptionally(e);
+			throw e;
+		}
+	}
+
+	/**
+	 * 메모리에 남아 있는 키를 모두 버린다. 이후 요청은 키 테이블에서 결과를 찾는다.
+	 */
+	public void invalidateAll() {
+		inFlightOrders.invalidateAll();
+	}
+
+	private OrderResponse findOrCreate(String idempotencyKey, String requestHash, OrderCreateServiceRequest request,
+		LocalDateTime registeredDateTime) {
+		Optional<OrderResponse> savedOrder = findSavedOrder(idempotencyKey, requestHash);
+		if (savedOrder.isPresent()) {
+			return savedOrder.get();
+		}
+
+		try {
+			return transactionTemplate.execute(status -> {
+				OrderResponse orderResponse = orderService.createOrder(request, registeredDateTime);
+				orderIdempotencyKeyRepository.saveAndFlush(
+					OrderIdempotencyKey.create(idempotencyKey, requestHash, orderResponse.getId()));
+				return orderResponse;
+			});
+		} catch (DataIntegrityViolationException e) {
+			// 다른 노드가 같은 키로 먼저 커밋했다. 이 트랜잭션의 주문과 재고 차감은 함께 롤백되었다
+			return findSavedOrder(idempotencyKey, requestHash).orElseThrow(() -> e);
+		}
+	}
+
+	private Optional<OrderResponse> findSavedOrder(String idempotencyKey, String requestHash) {
+		return orderIdempotencyKeyRepository.findByIdempotencyKey(idempotencyKey)
+			.map(savedKey -> {
+				verify(savedKey.isSameRequest(requestHash));
+				return orderQueryService.getOrder(savedKey.getOrderId());
+			});
+	}
+
+	private OrderResponse await(CompletableFuture<OrderResponse> future) {
+		try {
+			return future.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		} catch (TimeoutException e) {
+			throw new IllegalStateException("같은 Idempotency-Key 의 주문을 처리하고 있습니다. 잠시 후 다시 시도해주세요.");
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static void validate(String idempotencyKey) {
+		if (idempotencyKey.isBlank() || idempotencyKey.length() > OrderIdempotencyKey.KEY_MAX_LENGTH) {
+			throw new IllegalArgumentException(
+				"Idempotency-Key 는 1자 이상 " + OrderIdempotencyKey.KEY_MAX_LENGTH + "자 이하여야 합니다.");
+		}
+	}
+
+	private static void verify(boolean sameRequest) {
+		if (!sameRequest) {
+			throw new IllegalArgumentException("같은 Idempotency-Key 로 다른 주문을 요청할 수 없습니다.");
+		}
+	}
+
+	private static String hashOf(OrderCreateServiceRequest request) {
+		return Hashing.sha256()
+			.hashString(String.join(",", request.getProductNumbers()), StandardCharsets.UTF_8)
+			.toString();
+	}
+
+	private static class InFlightOrder {
+
+		private final String requestHash;
+		private final CompletableFuture<OrderResponse> future = new CompletableFuture<>();
+
+		private InFlightOrder(String requestHash) {
+			this.requestHash = requestHash;
+		}
+
+		private void verify(String requestHash) {
+			OrderIdempotencyService.verify(this.requestHash.equals(requestHash));
+		}
+
+	}
+
+}
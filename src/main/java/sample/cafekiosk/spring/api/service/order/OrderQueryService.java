@@ -0,0 +1,128 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import lombok.RequiredArgsConstructor;
+import sample.cafekiosk.spring.api.service.order.request.OrderCursor;
+import sample.cafekiosk.spring.api.service.order.request.OrderSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 주문 조회 전용 서비스.
+ * 주문 상품과 상품을 fetch join 으로 함께 읽어서 OrderResponse 로 바꿀 때 추가 쿼리가 나가지 않는다.
+ */
+@Transactional(readOnly = true)
+@RequiredArgsConstructor
+@Service
+public class OrderQueryService {
+
+	private final OrderRepository orderRepository;
+
+	public OrderResponse getOrder(Long orderId) {
+		return orderRepository.findWithProductsById(orderId)
+			.map(OrderResponse::of)
+			.orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+	}
+
+	public List<OrderResponse> getOrders(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+		return orderRepository.findAllWithProductsBy(startDateTime, endDateTime).stream()
+			.map(OrderResponse::of)
+			.collect(Collectors.toList());
+	}
+
+	public List<OrderResponse> getOrders(OrderStatus orderStatus) {
+		return orderRepository.findAllWithProductsBy(orderStatus).stream()
+			.map(OrderResponse::of)
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * 엔티티를 영속성 컨텍스트에 올리지 않고 평평한 조회 결과에서 바로 OrderResponse 를 만든다.
+	 */
+	public List<OrderResponse> getOrdersWithProjection(LocalDateTime startDateTime, LocalDateTime endDateTime) {
+		Map<Long, OrderResponse.OrderResponseBuilder> builders = new LinkedHashMap<>();
+		Map<Long, List<ProductResponse>> products = new LinkedHashMap<>();
+
+		for (Object[] row : orderRepository.findOrderRowsBy(startDateTime, endDateTime)) {
+			Long orderId = (Long)row[0];
+			List<ProductResponse> orderProducts = products.computeIfAbsent(orderId, id -> {
+				builders.put(id, OrderResponse.builder()
+					.id(id)
+					.totalPrice((Integer)row[1])
+					.registeredDateTime((LocalDateTime)row[2]));
+				return new ArrayList<>();
+			});
+
+			if (row[3] != null) {
+				orderProducts.add(ProductResponse.builder()
+					.id((Long)row[3])
+					.productNumber((String)row[4])
+					.type((ProductType)row[5])
+					.sellingStatus((ProductSellingStatus)row[6])
+					.name((String)row[7])
+					.price((Integer)row[8])
+					.build());
+			}
+		}
+
+		return builders.entrySet().stream()
+			.map(entry -> entry.getValue().products(products.get(entry.getKey())).build())
+			.collect(Collectors.toList());
+	}
+
+	/**
+	 * keyset 페이지네이션. 커서 뒤의 주문 id 를 size + 1 개 읽어서 다음 페이지가 있는지 보고,
+	 * size 개의 id 만 주문 상품과 함께 fetch join 으로 읽는다. (페이지마다 쿼리 두 번)
+	 */
+	public OrderPageResponse getOrderPage(OrderSearchServiceRequest request) {
+		List<Long> orderIds = findOrderIdsAfter(request, PageRequest.of(0, request.getSize() + 1));
+		boolean hasNext = orderIds.size() > request.getSize();
+		if (hasNext) {
+			orderIds = orderIds.subList(0, request.getSize());
+		}
+		if (orderIds.isEmpty()) {
+			return OrderPageResponse.builder()
+				.orders(List.of())
+				.hasNext(false)
+				.build();
+		}
+
+		List<Order> orders = orderRepository.findAllWithProductsByIdIn(orderIds);
+		Order last = orders.get(orders.size() - 1);
+		return OrderPageResponse.builder()
+			.orders(orders.stream()
+				.map(OrderResponse::of)
+				.collect(Collectors.toList()))
+			.hasNext(hasNext)
+			.nextCursor(hasNext ? OrderCursor.of(last.getRegisteredDateTime(), last.getId()).encode() : null)
+			.build();
+	}
+
+	private List<Long> findOrderIdsAfter(OrderSearchServiceRequest request, Pageable pageable) {
+		OrderCursor cursor = request.getCursor();
+		if (request.getOrderStatus() == null) {
+			return orderRepository.findIdsAfter(request.getStartDateTime(), request.getEndDateTime(),
+				cursor.getRegisteredDateTime(), cursor.getId(), pageable);
+		}
+		return orderRepository.findIdsAfter(request.getOrderStatus(), request.getStartDateTime(),
+			request.getEndDateTime(), cursor.getRegisteredDateTime(), cursor.getId(), pageable);
+	}
+
+}
@@ -1,96 +1,324 @@
 package sample.cafekiosk.spring.api.service.order;
 
-import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import sample.cafekiosk.spring.api.service.order.event.OrderEvent;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderCreateResult;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.api.service.order.rollup.SalesRollupService;
+import sample.cafekiosk.spring.api.service.stock.ProductQuantities;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionEngine;
+import sample.cafekiosk.spring.api.service.stock.StockShortageException;
+import sample.cafekiosk.spring.config.KioskMetrics;
+import sample.cafekiosk.spring.config.KioskMetrics.OrderStage;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductStock;
 import sample.cafekiosk.spring.domain.product.ProductType;
-import sample.cafekiosk.spring.domain.stock.Stock;
 import sample.cafekiosk.spring.domain.stock.StockRepository;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Transactional(readOnly = true)
-@RequiredArgsConstructor
 @Service
 public class OrderService {
 
+    private static final String PRODUCT_NOT_FOUND_MESSAGE = "존재하지 않는 상품이 포함되어 있습니다.";
+
     private final ProductRepository productRepository;
     private final OrderRepository orderRepository;
+    private final OrderProductRepository orderProductRepository;
     private final StockRepository stockRepository;
+    private final StockDeductionEngine stockDeductionEngine;
+    private final SalesRollupService salesRollupService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final KioskMetrics kioskMetrics;
+    private final TransactionTemplate transactionTemplate;
+
+    public OrderService(
+            ProductRepository productRepository,
+            OrderRepository orderRepository,
+            OrderProductRepository orderProductRepository,
+            StockRepository stockRepository,
+            StockDeductionEngine stockDeductionEngine,
+            SalesRollupService salesRollupService,
+            ApplicationEventPublisher eventPublisher,
+            KioskMetrics kioskMetrics,
+            PlatformTransactionManager transactionManager
+    ) {
+        this.productRepository = productRepository;
+        this.orderRepository = orderRepository;
+        this.orderProductRepository = orderProductRepository;
+        this.stockRepository = stockRepository;
+        this.stockDeductionEngine = stockDeductionEngine;
+        this.salesRollupService = salesRollupService;
+        this.eventPublisher = eventPublisher;
+        this.kioskMetrics = kioskMetrics;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     /**
      * 재고 감소 -> 동시성에 대한 고민이 필수
-     * optimistic lock / pessimistic lock / ...
+     * optimistic lock / pessimistic lock / 조건부 UPDATE 중 StockDeductionEngine 에 설정된 전략으로 차감한다
      */
 
     @Transactional
     public OrderResponse createOrder(OrderCreateServiceRequest request, LocalDateTime registeredDateTime) {
         List<String> productNumbers = request.getProductNumbers();
-        List<Product> products = findProductBy(productNumbers);
+        Map<String, ProductStock> productStockMap = kioskMetrics.recordOrderStage(OrderStage.PRODUCT_LOOKUP,
+                () -> createProductStockMapBy(productNumbers));
+        List<Product> products = findProductWithStockBy(productNumbers, productStockMap);
 
-        deductStockQuantity(products);
+        kioskMetrics.recordOrderStage(OrderStage.STOCK_DEDUCTION, () -> deductStockQuantity(products, productStockMap));
 
-        Order order = Order.create(products, registeredDateTime);
-        Order savedOrder = orderRepository.save(order);
+        Order savedOrder = kioskMetrics.recordOrderStage(OrderStage.ORDER_SAVE,
+                () -> orderRepository.save(Order.create(products, registeredDateTime)));
 
-        return OrderResponse.of(savedOrder);
+        OrderResponse orderResponse = kioskMetrics.recordOrderStage(OrderStage.RESPONSE_MAPPING,
+                () -> OrderResponse.of(savedOrder));
+        eventPublisher.publishEvent(OrderEvent.created(orderResponse, savedOrder.getOrderStatus()));
+        return orderResponse;
     }
 
-    private void deductStockQuantity(final List<Product> products) {
-        List<String> stockProductNumbers = extractStockProductNumbers(products);
+    /**
+     * 여러 주문을 하나의 트랜잭션으로 생성한다.
+     * - 상품은 한 번에 조회하고, 주문 INSERT 는 JDBC batch 로 묶인다
+     * - 재고 부족이나 재고 차감 경합 등으로 실패한 주문은 건너뛰고, 나머지 주문은 그대로 생성한다
+     * - DB 예외는 트랜잭션 전체를 롤백시키므로 그대로 던진다. OrderGroupCommitter 는 이때 주문별 트랜잭션으로 다시 처리한다
+     */
+    @Transactional
+    public List<OrderCreateResult> createOrders(List<OrderCreateServiceRequest> requests, LocalDateTime registeredDateTime) {
+        return createOrders(requests, Collections.nCopies(requests.size(), registeredDateTime));
+    }
 
-        Map<String, Stock> stockMap = createStockMapBy(stockProductNumbers);
-        Map<String, Long> productCountingMap = createCountingMapBy(stockProductNumbers);
+    @Transactional
+    public List<OrderCreateResult> createOrders(List<OrderCreateServiceRequest> requests, List<LocalDateTime> registeredDateTimes) {
+        Map<String, Product> productMap = createProductMapBy(requests.stream()
+                .flatMap(request -> request.getProductNumbers().stream())
+                .distinct()
+                .collect(Collectors.toList()));
 
-        // 재고 차감 시도
-        for (String stockProductNumber : new HashSet<>(stockProductNumbers)) {
-            Stock stock = stockMap.get(stockProductNumber);
-            int quantity = productCountingMap.get(stockProductNumber).intValue();
+        List<Order> orders = new ArrayList<>(requests.size());
+        List<String> failureMessages = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            try {
+                List<Product> products = findProductBy(requests.get(i).getProductNumbers(), productMap);
+                deductStockQuantity(products);
+                orders.add(Order.create(products, registeredDateTimes.get(i)));
+                failureMessages.add(null);
+            } catch (IllegalArgumentException | IllegalStateException e) {
+                orders.add(null);
+                failureMessages.add(e.getMessage());
+            }
+        }
+
+        orderRepository.saveAll(orders.stream()
+                .filter(order -> order != null)
+                .collect(Collectors.toList()));
 
-            if (stock.isQuantityLessThan(quantity)) {
-                throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+        List<OrderCreateResult> results = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            Order order = orders.get(i);
+            if (order == null) {
+                results.add(OrderCreateResult.failure(failureMessages.get(i)));
+                continue;
             }
-            stock.deductQuantity(quantity);
+            OrderResponse orderResponse = OrderResponse.of(order);
+            eventPublisher.publishEvent(OrderEvent.created(orderResponse, order.getOrderStatus()));
+            results.add(OrderCreateResult.success(orderResponse));
         }
+        return results;
     }
 
-    private List<Product> findProductBy(final List<String> productNumbers) {
-        List<Product> products = productRepository.findAllByProductNumberIn(productNumbers);
-        Map<String, Product> productMap = products.stream()
-                .collect(Collectors.toMap(Product::getProductNumber, p -> p));
+    /**
+     * 결제를 완료하고, 같은 트랜잭션에서 매출 집계에 더한다.
+     * 집계 행은 결제 트랜잭션을 열기 전에 만들어 두므로, 집계 행을 만드는 경합 때문에 결제가 롤백되지 않는다.
+     */
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    public OrderResponse completePayment(Long orderId) {
+        Order order = findOrderWithProducts(orderId);
+        if (order.getOrderStatus().canTransitionTo(OrderStatus.PAYMENT_COMPLETED)) {
+            salesRollupService.prepare(order);
+        }
+
+        return transactionTemplate.execute(status -> {
+            Order payingOrder = orderRepository.findById(orderId)
+                    .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
 
-        return productNumbers.stream()
-                .map(productMap::get)
+            payingOrder.completePayment();
+            salesRollupService.record(payingOrder);
+            eventPublisher.publishEvent(OrderEvent.statusChanged(payingOrder.getId(), payingOrder.getOrderStatus()));
+
+            return OrderResponse.of(payingOrder);
+        });
+    }
+
+    private Order findOrderWithProducts(Long orderId) {
+        return orderRepository.findAllWithProductsByIdIn(List.of(orderId)).stream()
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException("존재하지 않는 주문입니다."));
+    }
+
+    /**
+     * 여러 주문의 상태를 한 번에 바꾼다.
+     * - 현재 상태인 주문만 잠근 뒤 UPDATE ... WHERE id IN (...) AND order_status = ? 한 번으로 바꾼다
+     * - 취소하면 같은 트랜잭션에서 재고 상품(병 음료, 베이커리) 수량을 상품별로 모아 한 번에 되돌린다
+     * - 결제 완료는 매출 집계와 함께 처리해야 하므로 completePayment 로 주문별로 처리한다
+     */
+    @Transactional
+    public OrderStatusChangeResponse changeOrderStatus(OrderStatusChangeServiceRequest request) {
+        OrderStatus currentStatus = request.getCurrentStatus();
+        OrderStatus targetStatus = request.getTargetStatus();
+        if (targetStatus == OrderStatus.PAYMENT_COMPLETED) {
+            throw new IllegalArgumentException("결제 완료는 주문별로 처리해야 합니다.");
+        }
+        if (!currentStatus.canTransitionTo(targetStatus)) {
+            throw new IllegalArgumentException("변경할 수 없는 주문 상태입니다.");
+        }
+
+        List<Long> orderIds = request.getOrderIds().stream()
+                .distinct()
+                .sorted()
                 .collect(Collectors.toList());
+        List<Long> changedOrderIds = orderRepository.findIdsForUpdateBy(orderIds, currentStatus);
+
+        if (!changedOrderIds.isEmpty()) {
+            orderRepository.updateOrderStatus(changedOrderIds, currentStatus, targetStatus);
+            if (targetStatus == OrderStatus.CANCELED) {
+                restoreStockQuantity(changedOrderIds);
+            }
+            changedOrderIds.forEach(orderId -> eventPublisher.publishEvent(OrderEvent.statusChanged(orderId, targetStatus)));
+        }
+
+        Set<Long> changed = new HashSet<>(changedOrderIds);
+        return OrderStatusChangeResponse.builder()
+                .orderStatus(targetStatus)
+                .changedOrderIds(changedOrderIds)
+                .skippedOrderIds(orderIds.stream()
+                        .filter(orderId -> !changed.contains(orderId))
+                        .collect(Collectors.toList()))
+                .build();
+    }
+
+    private void restoreStockQuantity(final List<Long> orderIds) {
+        Map<String, Integer> quantities = new TreeMap<>();
+        for (Object[] row : orderProductRepository.countProductQuantitiesByOrderIdIn(orderIds, ProductType.stockManagedTypes())) {
+            quantities.put((String) row[0], Math.toIntExact((Long) row[1]));
+        }
+        stockDeductionEngine.restore(ProductQuantities.of(quantities));
     }
 
-    private static List<String> extractStockProductNumbers(final List<Product> products) {
+    private void deductStockQuantity(final List<Product> products) {
+        try {
+            stockDeductionEngine.deduct(ProductQuantities.countOf(extractStockProductNumbers(products)));
+        } catch (StockShortageException e) {
+            kioskMetrics.incrementStockShortage();
+            throw e;
+        }
+    }
+
+    private void deductStockQuantity(final List<Product> products, final Map<String, ProductStock> productStockMap) {
+        ProductQuantities quantities = ProductQuantities.countOf(extractStockProductNumbers(products));
+
+        try {
+            // 함께 읽어온 재고 수량으로 부족한 주문은 쓰기 없이 바로 거절한다
+            if (stockDeductionEngine.isStockTableAuthoritative()) {
+                for (int i = 0; i < quantities.size(); i++) {
+                    if (productStockMap.get(quantities.productNumberAt(i)).isStockQuantityLessThan(quantities.quantityAt(i))) {
+                        throw new StockShortageException();
+                    }
+                }
+            }
+
+            stockDeductionEngine.deduct(quantities);
+        } catch (StockShortageException e) {
+            kioskMetrics.incrementStockShortage();
+            throw e;
+        }
+    }
+
+    /**
+     * 상품은 2차 캐시(쿼리 캐시)에서 꺼내고, 자주 바뀌는 재고 수량만 재고 상품에 한해 DB 에서 읽는다.
+     */
+    private Map<String, ProductStock> createProductStockMapBy(final List<String> productNumbers) {
+        List<Product> products = productRepository.findAllByProductNumberIn(productNumbers);
+        Map<String, Integer> stockQuantities = findStockQuantitiesBy(products);
         return products.stream()
-                .filter(product -> ProductType.containsStockType(product.getType()))
-                .map(Product::getProductNumber)
-                .collect(Collectors.toList());
+                .collect(Collectors.toMap(Product::getProductNumber,
+                        product -> new ProductStock(product, stockQuantities.get(product.getProductNumber())),
+                        (ps1, ps2) -> ps1));
     }
 
-    private Map<String, Stock> createStockMapBy(final List<String> stockProductNumbers) {
-        List<Stock> stocks = stockRepository.findAllByProductNumberIn(stockProductNumbers);
-        Map<String, Stock> stockMap = stocks.stream()
-                .collect(Collectors.toMap(Stock::getProductNumber, s -> s));
-        return stockMap;
+    private Map<String, Integer> findStockQuantitiesBy(final List<Product> products) {
+        List<String> stockProductNumbers = extractStockProductNumbers(products);
+        if (stockProductNumbers.isEmpty() || !stockDeductionEngine.isStockTableAuthoritative()) {
+            return Collections.emptyMap();
+        }
+
+        Map<String, Integer> stockQuantities = new HashMap<>();
+        for (Object[] row : stockRepository.findQuantitiesByProductNumberIn(stockProductNumbers)) {
+            stockQuantities.put((String) row[0], (Integer) row[1]);
+        }
+        return stockQuantities;
+    }
+
+    private static List<Product> findProductWithStockBy(final List<String> productNumbers, final Map<String, ProductStock> productStockMap) {
+        List<Product> products = new ArrayList<>(productNumbers.size());
+        for (String productNumber : productNumbers) {
+            ProductStock productStock = productStockMap.get(productNumber);
+            if (productStock == null) {
+                throw new IllegalArgumentException(PRODUCT_NOT_FOUND_MESSAGE);
+            }
+            products.add(productStock.getProduct());
+        }
+        return products;
+    }
+
+    private Map<String, Product> createProductMapBy(final List<String> productNumbers) {
+        return productRepository.findAllByProductNumberIn(productNumbers).stream()
+                .collect(Collectors.toMap(Product::getProductNumber, p -> p));
+    }
+
+    private static List<Product> findProductBy(final List<String> productNumbers, final Map<String, Product> productMap) {
+        List<Product> products = new ArrayList<>(productNumbers.size());
+        for (String productNumber : productNumbers) {
+            Product product = productMap.get(productNumber);
+            if (product == null) {
+                throw new IllegalArgumentException(PRODUCT_NOT_FOUND_MESSAGE);
+            }
+            products.add(product);
+        }
+        return products;
     }
 
-    private static Map<String, Long> createCountingMapBy(final List<String> stockProductNumbers) {
-        return stockProductNumbers.stream()
-                .collect(Collectors.groupingBy(p -> p, Collectors.counting()));
+    /**
+     * 재고 차감 수량 계산(ProductQuantities.countOf)에 넘기는 입력. OrderLineCountingBenchmark 도 같은 입력을 쓴다.
+     */
+    static List<String> extractStockProductNumbers(final List<Product> products) {
+        return products.stream()
+                .filter(product -> ProductType.containsStockType(product.getType()))
+                .map(Product::getProductNumber)
+                .collect(Collectors.toList());
     }
 
 }
@@ -1,45 +1,65 @@
 package sample.cafekiosk.spring.api.service.order;
 
 import java.time.LocalDate;
-import java.util.List;
 
 import org.springframework.stereotype.Service;
 
 import lombok.RequiredArgsConstructor;
-import sample.cafekiosk.spring.api.service.mail.MailService;
-import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxService;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSalesStatistics;
+import sample.cafekiosk.spring.domain.order.OrderSalesStreamRepository;
+import sample.cafekiosk.spring.domain.order.OrderSalesSummary;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.rollup.DailySalesRepository;
 
 @RequiredArgsConstructor
 @Service
 public class OrderStatisticsService {
 
 	private final OrderRepository orderRepository;
-	private final MailService mailService;
+	private final OrderSalesStreamRepository orderSalesStreamRepository;
+	private final DailySalesRepository dailySalesRepository;
+	private final MailOutboxService mailOutboxService;
 
+	/**
+	 * 매출 통계 메일을 outbox 에 넣는다. 전송과 재시도는 MailDispatcher 가 맡는다.
+	 */
 	public boolean sendOrderStatisticsMail(LocalDate orderDate, String email) {
-		List<Order> orders = orderRepository.findOrderBy(
-			orderDate.atStartOfDay(),
-			orderDate.plusDays(1).atStartOfDay(),
-			OrderStatus.PAYMENT_COMPLETED
-		);
+		final long totalAmount = getDailySalesSummary(orderDate).getTotalAmount();
 
-		final int totalAmount = orders.stream()
-			.mapToInt(Order::getTotalPrice)
-			.sum();
-
-		boolean result = mailService.sendMail("no-reply@cafekiosk.com",
+		mailOutboxService.enqueue("no-reply@cafekiosk.com",
 			email,
 			String.format("[매출 통계] %s", orderDate),
 			String.format("총 매출 합계는 %s원입니다.", totalAmount)
 		);
 
-		if (!result) {
-			throw new IllegalArgumentException("매출 통계 메일 전송에 실패했습니다.");
-		}
-
 		return true;
 	}
 
+	/**
+	 * 일별 매출 집계가 있으면 그 값을, 없으면(집계 이전 날짜) 주문 테이블에서 SUM / COUNT 로 구한다.
+	 * 결제 후 접수, 처리 완료된 주문도 매출에 포함한다.
+	 */
+	public OrderSalesSummary getDailySalesSummary(LocalDate orderDate) {
+		return dailySalesRepository.findById(orderDate)
+			.map(dailySales -> new OrderSalesSummary(dailySales.getOrderCount(), dailySales.getTotalAmount()))
+			.orElseGet(() -> orderRepository.findSalesSummaryBy(
+				orderDate.atStartOfDay(),
+				orderDate.plusDays(1).atStartOfDay(),
+				OrderStatus.paidStatuses()
+			));
+	}
+
+	/**
+	 * 하루치 결제된 주문을 스트리밍으로 읽어 시간대별 매출 등 상세 통계를 만든다.
+	 */
+	public OrderSalesStatistics getDailySalesStatistics(LocalDate orderDate) {
+		return orderSalesStreamRepository.aggregateSalesBy(
+			orderDate.atStartOfDay(),
+			orderDate.plusDays(1).atStartOfDay(),
+			OrderStatus.paidStatuses()
+		);
+	}
+
 }
@@ -0,0 +1,34 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+/**
+ * 커밋된 주문의 생성 / 상태 변경. 주문 화면(바리스타 디스플레이)으로 그대로 내려간다.
+ */
+@Getter
+public class OrderEvent {
+
+	private final OrderEventType type;
+	private final Long orderId;
+	private final OrderStatus orderStatus;
+	private final OrderResponse order; // CREATED 일 때만 담는다
+
+	private OrderEvent(final OrderEventType type, final Long orderId, final OrderStatus orderStatus,
+		final OrderResponse order) {
+		this.type = type;
+		this.orderId = orderId;
+		this.orderStatus = orderStatus;
+		this.order = order;
+	}
+
+	public static OrderEvent created(OrderResponse order, OrderStatus orderStatus) {
+		return new OrderEvent(OrderEventType.CREATED, order.getId(), orderStatus, order);
+	}
+
+	public static OrderEvent statusChanged(Long orderId, OrderStatus orderStatus) {
+		return new OrderEvent(OrderEventType.STATUS_CHANGED, orderId, orderStatus, null);
+	}
+
+}
@@ -0,0 +1,152 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 커밋된 주문 이벤트를 SSE 구독자들에게 나눠 보낸다.
+ * - 연결은 서블릿 비동기 요청으로 유지되므로 대기 중인 구독자는 스레드를 점유하지 않는다
+ * - 구독자마다 크기가 정해진 큐를 두고, 느린 구독자의 큐가 가득 차면 오래된 이벤트부터 버린 뒤 dropped 이벤트로 알린다
+ * - 실제 전송은 고정 크기의 sender 풀이 맡고, 구독자마다 전송 작업은 최대 하나만 예약된다
+ * - 주기적으로 heartbeat 를 보내 끊어진 연결을 정리한다
+ */
+@Slf4j
+@Component
+public class OrderEventBus {
+
+	private final Map<SseEmitter, OrderEventQueue> subscribers = new ConcurrentHashMap<>();
+	private final int queueCapacity;
+	private final int maxSubscribers;
+	private final long emitterTimeoutMillis;
+	private final long heartbeatIntervalMillis;
+	private final ExecutorService senders;
+
+	private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "order-event-heartbeat");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public OrderEventBus(
+		@Value("${cafekiosk.order.events.queue-capacity:100}") int queueCapacity,
+		@Value("${cafekiosk.order.events.max-subscribers:5000}") int maxSubscribers,
+		@Value("${cafekiosk.order.events.emitter-timeout-millis:1800000}") long emitterTimeoutMillis,
+		@Value("${cafekiosk.order.events.heartbeat-interval-millis:15000}") long heartbeatIntervalMillis,
+		@Value("${cafekiosk.order.events.sender-count:4}") int senderCount
+	) {
+		this.queueCapacity = queueCapacity;
+		this.maxSubscribers = maxSubscribers;
+		this.emitterTimeoutMillis = emitterTimeoutMillis;
+		this.heartbeatIntervalMillis = heartbeatIntervalMillis;
+		this.senders = createSenders(senderCount);
+	}
+
+	@PostConstruct
+	public void start() {
+		heartbeat.scheduleWithFixedDelay(this::sendHeartbeat, heartbeatIntervalMillis, heartbeatIntervalMillis,
+			TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		heartbeat.shutdown();
+		subscribers.keySet().forEach(SseEmitter::complete);
+		subscribers.clear();
+		senders.shutdown();
+		senders.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	public SseEmitter subscribe() {
+		if (subscribers.size() >= maxSubscribers) {
+			throw new IllegalStateException("주문 이벤트 구독자가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+		}
+
+		SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+		subscribers.put(emitter, new OrderEventQueue(queueCapacity));
+		emitter.onCompletion(() -> subscribers.remove(emitter));
+		emitter.onTimeout(emitter::complete);
+		emitter.onError(e -> subscribers.remove(emitter));
+		return emitter;
+	}
+
+	public int getSubscriberCount() {
+		return subscribers.size();
+	}
+
+	/**
+	 * 주문 트랜잭션이 커밋된 뒤에만 내보낸다. 롤백된 주문은 화면에 나타나지 않는다.
+	 */
+	@TransactionalEventListener(fallbackExecution = true)
+	public void publish(OrderEvent event) {
+		subscribers.forEach((emitter, queue) -> {
+			if (queue.offer(event)) {
+				schedule(emitter, queue);
+			}
+		});
+	}
+
+	private void sendHeartbeat() {
+		subscribers.forEach((emitter, queue) -> {
+			if (queue.offerHeartbeat()) {
+				schedule(emitter, queue);
+			}
+		});
+	}
+
+	private void schedule(SseEmitter emitter, OrderEventQueue queue) {
+		senders.execute(() -> send(emitter, queue));
+	}
+
+	private void send(SseEmitter emitter, OrderEventQueue queue) {
+		OrderEventQueue.Batch batch;
+		while ((batch = queue.drain()) != null) {
+			try {
+				if (batch.droppedCount > 0) {
+					emitter.send(SseEmitter.event().name("DROPPED").data(batch.droppedCount));
+				}
+				for (OrderEvent event : batch.events) {
+					emitter.send(SseEmitter.event().name(event.getType().name()).data(event, MediaType.APPLICATION_JSON));
+				}
+				if (batch.heartbeat) {
+					emitter.send(SseEmitter.event().comment("heartbeat"));
+				}
+			} catch (IOException | IllegalStateException e) {
+				// 연결이 끊긴 구독자. 큐는 예약된 상태로 버려지므로 다시 전송 작업이 잡히지 않는다
+				log.debug("주문 이벤트 구독자 연결 종료", e);
+				subscribers.remove(emitter);
+				emitter.completeWithError(e);
+				return;
+			}
+		}
+	}
+
+	/**
+	 * 구독자마다 예약되는 전송 작업은 하나뿐이므로 작업 큐는 구독자 수 이상으로 늘어나지 않는다.
+	 */
+	private static ExecutorService createSenders(int senderCount) {
+		AtomicInteger sequence = new AtomicInteger();
+		return Executors.newFixedThreadPool(senderCount, runnable -> {
+			Thread thread = new Thread(runnable, "order-event-sender-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+}
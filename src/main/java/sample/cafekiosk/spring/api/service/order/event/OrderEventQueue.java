@@ -0,0 +1,88 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * 구독자 한 명에게 보낼 이벤트 큐.
+ * - 크기가 정해져 있고, 가득 차면 가장 오래된 이벤트를 버리고 버린 개수를 센다
+ * - 전송 작업은 구독자마다 최대 하나만 예약되도록 offer 가 예약 여부를 알려준다
+ */
+class OrderEventQueue {
+
+	private final int capacity;
+	private final Deque<OrderEvent> events;
+
+	private long droppedCount;
+	private boolean heartbeatPending;
+	private boolean scheduled;
+
+	OrderEventQueue(int capacity) {
+		this.capacity = capacity;
+		this.events = new ArrayDeque<>(capacity);
+	}
+
+	/**
+	 * @return 전송 작업을 새로 예약해야 하면 true
+	 */
+	synchronized boolean offer(OrderEvent event) {
+		if (events.size() >= capacity) {
+			events.pollFirst();
+			droppedCount++;
+		}
+		events.addLast(event);
+		return schedule();
+	}
+
+	/**
+	 * 보낼 이벤트가 없을 때만 heartbeat 를 보낸다. (연결이 살아 있는지 확인하는 용도)
+	 */
+	synchronized boolean offerHeartbeat() {
+		if (!events.isEmpty()) {
+			return false;
+		}
+		heartbeatPending = true;
+		return schedule();
+	}
+
+	/**
+	 * 지금까지 쌓인 이벤트를 모두 꺼낸다. 꺼낼 것이 없으면 예약을 해제하고 null 을 돌려준다.
+	 */
+	synchronized Batch drain() {
+		if (events.isEmpty() && droppedCount == 0 && !heartbeatPending) {
+			scheduled = false;
+			return null;
+		}
+
+		Batch batch = new Batch(new ArrayList<>(events), droppedCount, heartbeatPending);
+		events.clear();
+		droppedCount = 0;
+		heartbeatPending = false;
+		return batch;
+	}
+
+	private boolean schedule() {
+		if (scheduled) {
+			return false;
+		}
+		scheduled = true;
+		return true;
+	}
+
+	static class Batch {
+
+		final List<OrderEvent> events;
+		final long droppedCount;
+		final boolean heartbeat;
+
+		Batch(List<OrderEvent> events, long droppedCount, boolean heartbeat) {
+			this.events = events;
+			this.droppedCount = droppedCount;
+			this.heartbeat = heartbeat;
+		}
+
+	}
+
+}
@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderEventType {
+
+	CREATED("주문생성"),
+	STATUS_CHANGED("주문상태변경");
+
+	private final String text;
+
+}
@@ -0,0 +1,134 @@
+package sample.cafekiosk.spring.api.service.order.report;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import sample.cafekiosk.spring.api.service.order.response.OrderStatisticsReportResponse;
+import sample.cafekiosk.spring.domain.order.OrderSalesSummary;
+
+/**
+ * 실행 중인 매출 통계 리포트 하나의 상태.
+ * 날짜별 집계 결과를 모아 두었다가 모두 끝나면 합쳐서 메일 본문을 만든다.
+ * 상태는 RUNNING 에서 한 번만 CANCELED / SENDING / FAILED 로 바뀌므로, 취소된 리포트는 메일을 보내지 않는다.
+ */
+class OrderStatisticsReport {
+
+	private final String id;
+	private final LocalDate startDate;
+	private final LocalDate endDate;
+	private final List<String> recipients;
+	private final AtomicReference<OrderStatisticsReportStatus> status =
+		new AtomicReference<>(OrderStatisticsReportStatus.RUNNING);
+	private final ConcurrentNavigableMap<LocalDate, OrderSalesSummary> dailySummaries = new ConcurrentSkipListMap<>();
+	private final List<CompletableFuture<Void>> chunks = new CopyOnWriteArrayList<>();
+
+	private volatile String failureMessage;
+
+	OrderStatisticsReport(final String id, final LocalDate startDate, final LocalDate endDate,
+		final List<String> recipients) {
+		this.id = id;
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.recipients = recipients;
+	}
+
+	String getId() {
+		return id;
+	}
+
+	List<String> getRecipients() {
+		return recipients;
+	}
+
+	List<LocalDate> getDates() {
+		return startDate.datesUntil(endDate.plusDays(1)).collect(Collectors.toList());
+	}
+
+	void addChunk(CompletableFuture<Void> chunk) {
+		chunks.add(chunk);
+	}
+
+	List<CompletableFuture<Void>> getChunks() {
+		return chunks;
+	}
+
+	void completeDay(LocalDate orderDate, OrderSalesSummary summary) {
+		dailySummaries.put(orderDate, summary);
+	}
+
+	boolean isCanceled() {
+		return status.get() == OrderStatisticsReportStatus.CANCELED;
+	}
+
+	/**
+	 * 아직 시작하지 않은 날짜는 건너뛰고, 집계 중인 날짜는 끝나도 결과를 쓰지 않는다.
+	 */
+	boolean cancel() {
+		if (!status.compareAndSet(OrderStatisticsReportStatus.RUNNING, OrderStatisticsReportStatus.CANCELED)) {
+			return false;
+		}
+		chunks.forEach(chunk -> chunk.cancel(false));
+		return true;
+	}
+
+	boolean startSending() {
+		return status.compareAndSet(OrderStatisticsReportStatus.RUNNING, OrderStatisticsReportStatus.SENDING);
+	}
+
+	void complete() {
+		status.set(OrderStatisticsReportStatus.COMPLETED);
+	}
+
+	void fail(Throwable cause) {
+		if (status.get().isFinished()) {
+			return;
+		}
+		this.failureMessage = cause.getMessage();
+		status.set(OrderStatisticsReportStatus.FAILED);
+	}
+
+	String renderSubject() {
+		return String.format("[매출 통계] %s ~ %s", startDate, endDate);
+	}
+
+	String renderContent() {
+		StringBuilder content = new StringBuilder(String.format("총 매출 합계는 %s원입니다. (주문 %d건)",
+			getTotalAmount(), getOrderCount()));
+		for (Map.Entry<LocalDate, OrderSalesSummary> entry : dailySummaries.entrySet()) {
+			content.append(String.format("%n%s: %s원 (%d건)", entry.getKey(), entry.getValue().getTotalAmount(),
+				entry.getValue().getOrderCount()));
+		}
+		return content.toString();
+	}
+
+	OrderStatisticsReportResponse toResponse() {
+		return OrderStatisticsReportResponse.builder()
+			.reportId(id)
+			.status(status.get())
+			.startDate(startDate)
+			.endDate(endDate)
+			.totalDays(getDates().size())
+			.completedDays(dailySummaries.size())
+			.recipientCount(recipients.size())
+			.orderCount(getOrderCount())
+			.totalAmount(getTotalAmount())
+			.failureMessage(failureMessage)
+			.build();
+	}
+
+	private long getOrderCount() {
+		return dailySummaries.values().stream().mapToLong(OrderSalesSummary::getOrderCount).sum();
+	}
+
+	private long getTotalAmount() {
+		return dailySummaries.values().stream().mapToLong(OrderSalesSummary::getTotalAmount).sum();
+	}
+
+}
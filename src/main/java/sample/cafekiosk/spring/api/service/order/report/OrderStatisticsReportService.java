@@ -0,0 +1,202 @@
+package sample.cafekiosk.spring.api.service.order.report;
+
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+
+import lombok.extern.slf4j.Slf4j;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxService;
+import sample.cafekiosk.spring.api.service.order.OrderStatisticsService;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatisticsReportServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatisticsReportResponse;
+import sample.cafekiosk.spring.domain.order.OrderSalesSummary;
+
+/**
+ * 기간과 수신자 목록을 받아 매출 통계 리포트를 만들고 메일로 보낸다.
+ * - 기간을 하루 단위로 나눠 크기가 정해진 스레드 풀에서 병렬로 집계한다 (하루치는 일별 집계 또는 주문 테이블 SUM / COUNT)
+ * - 모든 날짜가 끝나면 결과를 합쳐 수신자별 메일을 한 트랜잭션으로 outbox 에 넣고, 전송은 MailDispatcher 의 워커들이 동시에 한다
+ * - 리포트는 비동기로 실행되며 id 로 진행 상황을 조회하거나 취소할 수 있다. 진행 상황은 이 노드의 메모리에만 retention 동안 남는다
+ * - 동시에 진행하는 리포트는 max-running 개까지만 받고 나머지는 거절하므로, 집계 대기열은 max-running * max-days 를 넘지 않는다.
+ *   메모리에 남기는 리포트도 max-retained 개까지이며, 넘치면 오래된 것부터 지운다
+ */
+@Slf4j
+@Service
+public class OrderStatisticsReportService {
+
+	private static final String FROM_EMAIL = "no-reply@cafekiosk.com";
+
+	private final OrderStatisticsService orderStatisticsService;
+	private final MailOutboxService mailOutboxService;
+	private final ExecutorService executorService;
+	private final int maxDays;
+	private final int maxRecipients;
+	private final Semaphore runningReports;
+	private final Cache<String, OrderStatisticsReport> reports;
+
+	@Autowired
+	public OrderStatisticsReportService(
+		OrderStatisticsService orderStatisticsService,
+		MailOutboxService mailOutboxService,
+		@Value("${cafekiosk.order.statistics.report.parallelism:4}") int parallelism,
+		@Value("${cafekiosk.order.statistics.report.max-days:31}") int maxDays,
+		@Value("${cafekiosk.order.statistics.report.max-recipients:1000}") int maxRecipients,
+		@Value("${cafekiosk.order.statistics.report.max-running:4}") int maxRunning,
+		@Value("${cafekiosk.order.statistics.report.max-retained:100}") int maxRetained,
+		@Value("${cafekiosk.order.statistics.report.retention-minutes:60}") long retentionMinutes
+	) {
+		this(orderStatisticsService, mailOutboxService, createExecutor(parallelism, maxRunning * maxDays), maxDays,
+			maxRecipients, maxRunning, maxRetained, retentionMinutes);
+	}
+
+	OrderStatisticsReportService(OrderStatisticsService orderStatisticsService, MailOutboxService mailOutboxService,
+		ExecutorService executorService, int maxDays, int maxRecipients, int maxRunning, int maxRetained,
+		long retentionMinutes) {
+		this.orderStatisticsService = orderStatisticsService;
+		this.mailOutboxService = mailOutboxService;
+		this.executorService = executorService;
+		this.maxDays = maxDays;
+		this.maxRecipients = maxRecipients;
+		this.runningReports = new Semaphore(maxRunning);
+		this.reports = CacheBuilder.newBuilder()
+			.maximumSize(Math.max(maxRetained, maxRunning))
+			.expireAfterWrite(retentionMinutes, TimeUnit.MINUTES)
+			.build();
+	}
+
+	public OrderStatisticsReportResponse startReport(OrderStatisticsReportServiceRequest request) {
+		List<String> recipients = request.getEmails().stream()
+			.distinct()
+			.collect(Collectors.toList());
+		validate(request.getStartDate(), request.getEndDate(), recipients);
+		if (!runningReports.tryAcquire()) {
+			throw new IllegalArgumentException("진행 중인 리포트가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+		}
+
+		OrderStatisticsReport report = new OrderStatisticsReport(UUID.randomUUID().toString(),
+			request.getStartDate(), request.getEndDate(), recipients);
+		try {
+			for (LocalDate orderDate : report.getDates()) {
+				report.addChunk(CompletableFuture.runAsync(() -> aggregate(report, orderDate), executorService));
+			}
+		} catch (RuntimeException e) {
+			report.cancel();
+			runningReports.release();
+			throw e;
+		}
+		reports.put(report.getId(), report);
+		CompletableFuture.allOf(report.getChunks().toArray(CompletableFuture[]::new))
+			.whenComplete((ignored, failure) -> {
+				try {
+					finish(report, failure);
+				} finally {
+					runningReports.release();
+				}
+			});
+
+		return report.toResponse();
+	}
+
+	public OrderStatisticsReportResponse getReport(String reportId) {
+		return findReport(reportId).toResponse();
+	}
+
+	public OrderStatisticsReportResponse cancelReport(String reportId) {
+		OrderStatisticsReport report = findReport(reportId);
+		if (!report.cancel()) {
+			throw new IllegalArgumentException("집계가 끝난 리포트는 취소할 수 없습니다.");
+		}
+		return report.toResponse();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	private void validate(LocalDate startDate, LocalDate endDate, List<String> recipients) {
+		if (endDate.isBefore(startDate)) {
+			throw new IllegalArgumentException("리포트 종료일은 시작일보다 앞설 수 없습니다.");
+		}
+		if (ChronoUnit.DAYS.between(startDate, endDate) + 1 > maxDays) {
+			throw new IllegalArgumentException(String.format("리포트 기간은 %d일 이하여야 합니다.", maxDays));
+		}
+		if (recipients.isEmpty()) {
+			throw new IllegalArgumentException("수신자는 1명 이상이어야 합니다.");
+		}
+		if (recipients.size() > maxRecipients) {
+			throw new IllegalArgumentException(String.format("수신자는 %d명 이하여야 합니다.", maxRecipients));
+		}
+	}
+
+	private OrderStatisticsReport findReport(String reportId) {
+		OrderStatisticsReport report = reports.getIfPresent(reportId);
+		if (report == null) {
+			throw new IllegalArgumentException("존재하지 않는 리포트입니다.");
+		}
+		return report;
+	}
+
+	private void aggregate(OrderStatisticsReport report, LocalDate orderDate) {
+		if (report.isCanceled()) {
+			return;
+		}
+		OrderSalesSummary summary = orderStatisticsService.getDailySalesSummary(orderDate);
+		if (!report.isCanceled()) {
+			report.completeDay(orderDate, summary);
+		}
+	}
+
+	private void finish(OrderStatisticsReport report, Throwable failure) {
+		if (failure != null) {
+			Throwable cause = failure instanceof CompletionException ? failure.getCause() : failure;
+			if (!(cause instanceof CancellationException)) {
+				log.error("매출 통계 리포트 {} 를 집계하지 못했습니다.", report.getId(), cause);
+				report.fail(cause);
+			}
+			return;
+		}
+		if (!report.startSending()) {
+			return;
+		}
+
+		try {
+			mailOutboxService.enqueueAll(FROM_EMAIL, report.getRecipients(), report.renderSubject(),
+				report.renderContent());
+			report.complete();
+		} catch (RuntimeException e) {
+			log.error("매출 통계 리포트 {} 의 메일을 등록하지 못했습니다.", report.getId(), e);
+			report.fail(e);
+		}
+	}
+
+	private static ExecutorService createExecutor(int parallelism, int queueCapacity) {
+		AtomicInteger sequence = new AtomicInteger();
+		return new ThreadPoolExecutor(parallelism, parallelism, 0L, TimeUnit.MILLISECONDS,
+			new ArrayBlockingQueue<>(queueCapacity), runnable -> {
+			Thread thread = new Thread(runnable, "order-statistics-report-" + sequence.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+}
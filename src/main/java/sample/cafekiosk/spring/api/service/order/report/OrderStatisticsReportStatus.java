@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.api.service.order.report;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum OrderStatisticsReportStatus {
+
+	RUNNING("집계중"),
+	SENDING("메일 등록중"),
+	COMPLETED("완료"),
+	CANCELED("취소"),
+	FAILED("실패");
+
+	private final String text;
+
+	public boolean isFinished() {
+		return this == COMPLETED || this == CANCELED || this == FAILED;
+	}
+
+}
@@ -0,0 +1,58 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * 주문 목록의 keyset 커서. 마지막으로 내려준 주문의 (registeredDateTime, id) 를 담는다.
+ * 클라이언트에는 값을 해석하지 않도록 base64url 문자열로 내려준다.
+ */
+@Getter
+@EqualsAndHashCode
+public class OrderCursor {
+
+	private static final String DELIMITER = "|";
+
+	private final LocalDateTime registeredDateTime;
+	private final Long id;
+
+	private OrderCursor(LocalDateTime registeredDateTime, Long id) {
+		this.registeredDateTime = registeredDateTime;
+		this.id = id;
+	}
+
+	public static OrderCursor of(LocalDateTime registeredDateTime, Long id) {
+		return new OrderCursor(registeredDateTime, id);
+	}
+
+	/**
+	 * 첫 페이지는 시작 시각과 가장 작은 id 를 커서로 삼는다.
+	 */
+	public static OrderCursor first(LocalDateTime startDateTime) {
+		return new OrderCursor(startDateTime, Long.MIN_VALUE);
+	}
+
+	public static OrderCursor decode(String value) {
+		try {
+			String decoded = new String(Base64.getUrlDecoder().decode(value), StandardCharsets.UTF_8);
+			int index = decoded.indexOf(DELIMITER);
+			return new OrderCursor(
+				LocalDateTime.parse(decoded.substring(0, index)),
+				Long.parseLong(decoded.substring(index + 1))
+			);
+		} catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+			throw new IllegalArgumentException("잘못된 커서입니다.");
+		}
+	}
+
+	public String encode() {
+		String value = registeredDateTime + DELIMITER + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(value.getBytes(StandardCharsets.UTF_8));
+	}
+
+}
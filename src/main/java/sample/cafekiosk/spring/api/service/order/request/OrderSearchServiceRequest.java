@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import java.time.LocalDateTime;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+@Getter
+public class OrderSearchServiceRequest {
+
+	public static final int MAX_SIZE = 100;
+
+	private final LocalDateTime startDateTime;
+	private final LocalDateTime endDateTime;
+	private final OrderStatus orderStatus;
+	private final OrderCursor cursor;
+	private final int size;
+
+	@Builder
+	public OrderSearchServiceRequest(final LocalDateTime startDateTime, final LocalDateTime endDateTime,
+		final OrderStatus orderStatus, final OrderCursor cursor, final int size) {
+		if (startDateTime == null || endDateTime == null || !startDateTime.isBefore(endDateTime)) {
+			throw new IllegalArgumentException("조회 기간이 올바르지 않습니다.");
+		}
+		if (size < 1 || size > MAX_SIZE) {
+			throw new IllegalArgumentException("조회 개수는 1 이상 " + MAX_SIZE + " 이하여야 합니다.");
+		}
+		this.startDateTime = startDateTime;
+		this.endDateTime = endDateTime;
+		this.orderStatus = orderStatus;
+		this.cursor = cursor == null ? OrderCursor.first(startDateTime) : cursor;
+		this.size = size;
+	}
+
+}
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class OrderStatisticsReportServiceRequest {
+
+	private final LocalDate startDate;
+	private final LocalDate endDate;
+	private final List<String> emails;
+
+	@Builder
+	public OrderStatisticsReportServiceRequest(final LocalDate startDate, final LocalDate endDate,
+		final List<String> emails) {
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.emails = emails;
+	}
+
+}
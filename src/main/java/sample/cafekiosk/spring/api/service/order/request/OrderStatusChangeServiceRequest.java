@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.api.service.order.request;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+@Getter
+public class OrderStatusChangeServiceRequest {
+
+	private final List<Long> orderIds;
+	private final OrderStatus currentStatus;
+	private final OrderStatus targetStatus;
+
+	@Builder
+	public OrderStatusChangeServiceRequest(final List<Long> orderIds, final OrderStatus currentStatus,
+		final OrderStatus targetStatus) {
+		this.orderIds = orderIds;
+		this.currentStatus = currentStatus;
+		this.targetStatus = targetStatus;
+	}
+
+}
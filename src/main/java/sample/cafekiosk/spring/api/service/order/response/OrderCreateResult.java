@@ -0,0 +1,30 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import lombok.Getter;
+
+/**
+ * 여러 주문을 한 번에 생성할 때 주문 하나의 결과.
+ * 성공하면 order, 실패하면 failureMessage 를 갖는다.
+ */
+@Getter
+public class OrderCreateResult {
+
+	private final boolean success;
+	private final OrderResponse order;
+	private final String failureMessage;
+
+	private OrderCreateResult(final boolean success, final OrderResponse order, final String failureMessage) {
+		this.success = success;
+		this.order = order;
+		this.failureMessage = failureMessage;
+	}
+
+	public static OrderCreateResult success(OrderResponse order) {
+		return new OrderCreateResult(true, order, null);
+	}
+
+	public static OrderCreateResult failure(String failureMessage) {
+		return new OrderCreateResult(false, null, failureMessage);
+	}
+
+}
@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class OrderPageResponse {
+
+	private final List<OrderResponse> orders;
+	private final boolean hasNext;
+	private final String nextCursor;
+
+	@Builder
+	public OrderPageResponse(final List<OrderResponse> orders, final boolean hasNext, final String nextCursor) {
+		this.orders = orders;
+		this.hasNext = hasNext;
+		this.nextCursor = nextCursor;
+	}
+
+}
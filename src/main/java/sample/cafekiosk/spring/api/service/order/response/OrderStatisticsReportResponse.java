@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.time.LocalDate;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.order.report.OrderStatisticsReportStatus;
+
+/**
+ * 매출 통계 리포트의 진행 상황. orderCount / totalAmount 는 지금까지 집계가 끝난 날짜의 합계다.
+ */
+@Getter
+public class OrderStatisticsReportResponse {
+
+	private final String reportId;
+	private final OrderStatisticsReportStatus status;
+	private final LocalDate startDate;
+	private final LocalDate endDate;
+	private final int totalDays;
+	private final int completedDays;
+	private final int recipientCount;
+	private final long orderCount;
+	private final long totalAmount;
+	private final String failureMessage;
+
+	@Builder
+	public OrderStatisticsReportResponse(final String reportId, final OrderStatisticsReportStatus status,
+		final LocalDate startDate, final LocalDate endDate, final int totalDays, final int completedDays,
+		final int recipientCount, final long orderCount, final long totalAmount, final String failureMessage) {
+		this.reportId = reportId;
+		this.status = status;
+		this.startDate = startDate;
+		this.endDate = endDate;
+		this.totalDays = totalDays;
+		this.completedDays = completedDays;
+		this.recipientCount = recipientCount;
+		this.orderCount = orderCount;
+		this.totalAmount = totalAmount;
+		this.failureMessage = failureMessage;
+	}
+
+}
@@ -0,0 +1,27 @@
+package sample.cafekiosk.spring.api.service.order.response;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Getter;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+/**
+ * 일괄 상태 변경 결과. 요청 시점에 현재 상태가 아니었던 주문은 변경하지 않고 skippedOrderIds 로 돌려준다.
+ */
+@Getter
+public class OrderStatusChangeResponse {
+
+	private final OrderStatus orderStatus;
+	private final List<Long> changedOrderIds;
+	private final List<Long> skippedOrderIds;
+
+	@Builder
+	public OrderStatusChangeResponse(final OrderStatus orderStatus, final List<Long> changedOrderIds,
+		final List<Long> skippedOrderIds) {
+		this.orderStatus = orderStatus;
+		this.changedOrderIds = changedOrderIds;
+		this.skippedOrderIds = skippedOrderIds;
+	}
+
+}
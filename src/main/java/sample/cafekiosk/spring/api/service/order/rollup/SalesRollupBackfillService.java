@@ -0,0 +1,137 @@
+package sample.cafekiosk.spring.api.service.order.rollup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import sample.cafekiosk.spring.domain.order.OrderSalesStatistics;
+import sample.cafekiosk.spring.domain.order.OrderSalesStreamRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.rollup.DailyProductSales;
+import sample.cafekiosk.spring.domain.rollup.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.rollup.DailySales;
+import sample.cafekiosk.spring.domain.rollup.DailySalesRepository;
+import sample.cafekiosk.spring.domain.rollup.HourlySales;
+import sample.cafekiosk.spring.domain.rollup.HourlySalesRepository;
+
+/**
+ * 주문 이력으로 매출 집계를 다시 만든다.
+ * - 하루 단위로 나눠 병렬로 처리하고, 하루치는 한 트랜잭션에서 지우고 새로 쓴다
+ * - 백필하는 날짜에 결제 완료가 동시에 일어나면 그 건은 빠지거나 두 번 더해질 수 있으므로, 지난 날짜에 대해 실행한다
+ */
+@Service
+public class SalesRollupBackfillService {
+
+	private final OrderSalesStreamRepository orderSalesStreamRepository;
+	private final OrderProductRepository orderProductRepository;
+	private final HourlySalesRepository hourlySalesRepository;
+	private final DailySalesRepository dailySalesRepository;
+	private final DailyProductSalesRepository dailyProductSalesRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final ExecutorService executorService;
+
+	public SalesRollupBackfillService(
+		OrderSalesStreamRepository orderSalesStreamRepository,
+		OrderProductRepository orderProductRepository,
+		HourlySalesRepository hourlySalesRepository,
+		DailySalesRepository dailySalesRepository,
+		DailyProductSalesRepository dailyProductSalesRepository,
+		PlatformTransactionManager transactionManager,
+		@Value("${cafekiosk.order.rollup.backfill-parallelism:4}") int parallelism
+	) {
+		this.orderSalesStreamRepository = orderSalesStreamRepository;
+		this.orderProductRepository = orderProductRepository;
+		this.hourlySalesRepository = hourlySalesRepository;
+		this.dailySalesRepository = dailySalesRepository;
+		this.dailyProductSalesRepository = dailyProductSalesRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.executorService = Executors.newFixedThreadPool(parallelism);
+	}
+
+	/**
+	 * startDate ~ endDate(포함) 의 집계를 다시 만들고, 처리한 날짜 수를 돌려준다.
+	 */
+	public int backfill(LocalDate startDate, LocalDate endDate) {
+		if (endDate.isBefore(startDate)) {
+			throw new IllegalArgumentException("백필 종료일은 시작일보다 앞설 수 없습니다.");
+		}
+
+		List<Future<?>> futures = startDate.datesUntil(endDate.plusDays(1))
+			.map(salesDate -> executorService.submit(() -> backfill(salesDate)))
+			.collect(Collectors.toList());
+
+		List<Throwable> failures = new ArrayList<>();
+		for (Future<?> future : futures) {
+			try {
+				future.get();
+			} catch (ExecutionException e) {
+				failures.add(e.getCause());
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				futures.forEach(remaining -> remaining.cancel(true));
+				throw new IllegalStateException("매출 집계 백필이 중단되었습니다.", e);
+			}
+		}
+
+		if (!failures.isEmpty()) {
+			IllegalStateException exception = new IllegalStateException(
+				String.format("매출 집계 백필 중 %d일을 처리하지 못했습니다.", failures.size()), failures.get(0));
+			failures.stream().skip(1).forEach(exception::addSuppressed);
+			throw exception;
+		}
+		return futures.size();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executorService.shutdownNow();
+	}
+
+	private void backfill(LocalDate salesDate) {
+		LocalDateTime startDateTime = salesDate.atStartOfDay();
+		LocalDateTime endDateTime = salesDate.plusDays(1).atStartOfDay();
+
+		transactionTemplate.executeWithoutResult(status -> {
+			hourlySalesRepository.deleteAllBetween(startDateTime, endDateTime);
+			dailySalesRepository.deleteAllBySalesDate(salesDate);
+			dailyProductSalesRepository.deleteAllBySalesDate(salesDate);
+
+			OrderSalesStatistics statistics = orderSalesStreamRepository.aggregateSalesBy(startDateTime, endDateTime,
+				OrderStatus.paidStatuses());
+			if (statistics.getOrderCount() == 0) {
+				return;
+			}
+
+			List<HourlySales> hourlySales = new ArrayList<>();
+			for (int hour = 0; hour < 24; hour++) {
+				if (statistics.getHourlyOrderCount(hour) > 0) {
+					hourlySales.add(HourlySales.create(startDateTime.plusHours(hour),
+						statistics.getHourlyOrderCount(hour), statistics.getHourlyAmount(hour)));
+				}
+			}
+			hourlySalesRepository.saveAll(hourlySales);
+			dailySalesRepository.save(
+				DailySales.create(salesDate, statistics.getOrderCount(), statistics.getTotalAmount()));
+			dailyProductSalesRepository.saveAll(
+				orderProductRepository.countProductQuantitiesBy(startDateTime, endDateTime, OrderStatus.paidStatuses())
+					.stream()
+					.map(row -> DailyProductSales.create(salesDate, (String)row[0], (Long)row[1]))
+					.collect(Collectors.toList()));
+		});
+	}
+
+}
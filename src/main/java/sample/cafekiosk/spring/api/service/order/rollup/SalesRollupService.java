@@ -0,0 +1,95 @@
+package sample.cafekiosk.spring.api.service.order.rollup;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.IntSupplier;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProduct;
+import sample.cafekiosk.spring.domain.rollup.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.rollup.DailySalesRepository;
+import sample.cafekiosk.spring.domain.rollup.HourlySales;
+import sample.cafekiosk.spring.domain.rollup.HourlySalesRepository;
+
+/**
+ * 결제 완료된 주문을 시간대별 / 일별 / 일별 상품별 매출 집계에 더한다.
+ * - 결제 트랜잭션을 열기 전에 prepare 로 집계 행을 행마다 별도 트랜잭션으로 만들어 둔다.
+ *   처음 결제된 시간대 / 날짜 / 상품끼리 동시에 행을 만들다 제약 조건 위반이 나도 그 트랜잭션만 롤백되고 결제는 실패하지 않는다
+ * - record 는 주문을 결제 완료로 바꾸는 트랜잭션 안에서 호출되어 함께 커밋, 롤백된다. 행이 이미 있으므로 MERGE 는 더하기만 한다
+ */
+@Transactional
+@Service
+public class SalesRollupService {
+
+	private final HourlySalesRepository hourlySalesRepository;
+	private final DailySalesRepository dailySalesRepository;
+	private final DailyProductSalesRepository dailyProductSalesRepository;
+	private final TransactionTemplate transactionTemplate;
+
+	public SalesRollupService(
+		HourlySalesRepository hourlySalesRepository,
+		DailySalesRepository dailySalesRepository,
+		DailyProductSalesRepository dailyProductSalesRepository,
+		PlatformTransactionManager transactionManager
+	) {
+		this.hourlySalesRepository = hourlySalesRepository;
+		this.dailySalesRepository = dailySalesRepository;
+		this.dailyProductSalesRepository = dailyProductSalesRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * 주문이 더해질 집계 행을 없으면 만든다. 결제 트랜잭션 밖에서 호출해야 커넥션을 하나만 쓴다.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public void prepare(Order order) {
+		LocalDateTime salesHour = HourlySales.truncate(order.getRegisteredDateTime());
+		LocalDate salesDate = salesHour.toLocalDate();
+
+		createIfAbsent(() -> hourlySalesRepository.createIfAbsent(salesHour));
+		createIfAbsent(() -> dailySalesRepository.createIfAbsent(salesDate));
+		countProductQuantities(order).keySet().forEach(productNumber ->
+			createIfAbsent(() -> dailyProductSalesRepository.createIfAbsent(salesDate, productNumber)));
+	}
+
+	public void record(Order order) {
+		if (!order.isPaymentCompleted()) {
+			throw new IllegalArgumentException("결제 완료된 주문만 매출 집계에 반영할 수 있습니다.");
+		}
+
+		LocalDateTime salesHour = HourlySales.truncate(order.getRegisteredDateTime());
+		LocalDate salesDate = salesHour.toLocalDate();
+		long amount = order.getTotalPrice();
+
+		hourlySalesRepository.accumulate(salesHour, 1, amount);
+		dailySalesRepository.accumulate(salesDate, 1, amount);
+		countProductQuantities(order).forEach((productNumber, quantity) ->
+			dailyProductSalesRepository.accumulate(salesDate, productNumber, quantity));
+	}
+
+	private void createIfAbsent(IntSupplier insert) {
+		try {
+			transactionTemplate.execute(status -> insert.getAsInt());
+		} catch (DataIntegrityViolationException ignored) {
+			// 다른 트랜잭션이 같은 행을 먼저 만들었다
+		}
+	}
+
+	private static Map<String, Long> countProductQuantities(Order order) {
+		Map<String, Long> quantities = new TreeMap<>();
+		for (OrderProduct orderProduct : order.getOrderProducts()) {
+			quantities.merge(orderProduct.getProduct().getProductNumber(), 1L, Long::sum);
+		}
+		return quantities;
+	}
+
+}
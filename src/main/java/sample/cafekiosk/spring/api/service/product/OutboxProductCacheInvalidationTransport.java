@@ -0,0 +1,125 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import sample.cafekiosk.spring.domain.product.ProductCacheVersion;
+import sample.cafekiosk.spring.domain.product.ProductCacheVersionRepository;
+
+/**
+ * 공유 DB 의 product_cache_version 테이블로 무효화 메시지를 주고받는다 (transactional outbox).
+ * - publish 는 상품을 바꾼 트랜잭션 안에서 상품별 version 을 올리므로, 롤백되면 메시지도 남지 않는다
+ * - 폴러는 직전 폴링 시각보다 lookback 만큼 앞선 시점부터 바뀐 행을 읽는다.
+ *   늦게 커밋된 변경과 노드 간 시계 차이를 놓치지 않기 위해서이며, 다시 읽은 메시지는 받는 쪽이 version 으로 거른다
+ * - 상품마다 행이 하나라서 한 번에 읽는 양은 lookback 안에 바뀐 상품 수를 넘지 않는다
+ * - modified_date_time 은 커밋 시각이 아니라 version 을 올린 UPDATE 시각이다.
+ *   UPDATE 뒤 lookback 보다 오래 열려 있다가 커밋된 트랜잭션의 변경은 폴러가 놓치므로,
+ *   lookback 은 상품을 바꾸는 트랜잭션의 최대 길이(트랜잭션 타임아웃)와 노드 간 시계 차이를 더한 것보다 길게 잡아야 한다
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "cafekiosk.product.cache-coherence.transport", havingValue = "outbox", matchIfMissing = true)
+public class OutboxProductCacheInvalidationTransport implements ProductCacheInvalidationTransport {
+
+	private final ProductCacheVersionRepository productCacheVersionRepository;
+	private final TransactionTemplate readOnlyTransaction;
+	private final boolean enabled;
+	private final long pollIntervalMillis;
+	private final Duration lookback;
+	private final List<Consumer<ProductCacheInvalidation>> listeners = new CopyOnWriteArrayList<>();
+
+	private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "product-cache-coherence-poller");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private LocalDateTime lastPolledAt = LocalDateTime.now();
+
+	public OutboxProductCacheInvalidationTransport(
+		ProductCacheVersionRepository productCacheVersionRepository,
+		PlatformTransactionManager transactionManager,
+		@Value("${cafekiosk.product.cache-coherence.enabled:true}") boolean enabled,
+		@Value("${cafekiosk.product.cache-coherence.poll-interval-millis:200}") long pollIntervalMillis,
+		@Value("${cafekiosk.product.cache-coherence.lookback-millis:5000}") long lookbackMillis
+	) {
+		this.productCacheVersionRepository = productCacheVersionRepository;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		this.enabled = enabled;
+		this.pollIntervalMillis = pollIntervalMillis;
+		this.lookback = Duration.ofMillis(lookbackMillis);
+	}
+
+	@PostConstruct
+	public void start() {
+		if (!enabled) {
+			return;
+		}
+		poller.scheduleWithFixedDelay(this::pollQuietly, pollIntervalMillis, pollIntervalMillis,
+			TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		poller.shutdown();
+		poller.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@Override
+	public void publish(String originNodeId, ProductChangedEvent event) {
+		LocalDateTime now = LocalDateTime.now();
+		if (productCacheVersionRepository.increaseVersion(event.getProductNumber(), event.getProductId(),
+			originNodeId, now) == 0) {
+			productCacheVersionRepository.save(
+				ProductCacheVersion.first(event.getProductNumber(), event.getProductId(), originNodeId));
+		}
+	}
+
+	@Override
+	public void subscribe(Consumer<ProductCacheInvalidation> listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * @return 이번에 읽은(리스너에 넘긴) 메시지 수
+	 */
+	public synchronized int poll() {
+		LocalDateTime since = lastPolledAt.minus(lookback);
+		lastPolledAt = LocalDateTime.now();
+		List<ProductCacheVersion> changedVersions = readOnlyTransaction.execute(
+			status -> productCacheVersionRepository.findAllChangedSince(since));
+
+		for (ProductCacheVersion changedVersion : changedVersions) {
+			ProductCacheInvalidation invalidation = new ProductCacheInvalidation(changedVersion.getProductNumber(),
+				changedVersion.getProductId(), changedVersion.getVersion(), changedVersion.getOriginNodeId());
+			listeners.forEach(listener -> listener.accept(invalidation));
+		}
+		return changedVersions.size();
+	}
+
+	private void pollQuietly() {
+		try {
+			poll();
+		} catch (RuntimeException e) {
+			log.error("상품 캐시 무효화 메시지를 읽는 중 오류가 발생했습니다.", e);
+		}
+	}
+
+}
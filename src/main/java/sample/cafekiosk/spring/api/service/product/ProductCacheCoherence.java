@@ -0,0 +1,131 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PreDestroy;
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.util.StringUtils;
+
+import lombok.extern.slf4j.Slf4j;
+import sample.cafekiosk.spring.domain.product.Product;
+
+/**
+ * 여러 노드가 가진 상품 캐시(메뉴 캐시, Hibernate 2차 캐시)를 맞춘다.
+ * - 상품이 바뀌면 커밋 직전에 상품 번호별 무효화 메시지를 transport 로 보낸다
+ * - 다른 노드가 보낸 메시지를 받으면 그 상품의 엔티티 캐시와 쿼리 캐시, 메뉴 캐시를 비운다
+ * - 상품 번호별로 적용한 version 을 기억해서, 그 이하의 (중복되었거나 순서가 바뀐) 메시지는 버린다
+ * - 무효화 전에 시작된 조회가 옛 값을 다시 캐시에 넣을 수 있으므로 reloadGuard 뒤에 한 번 더 비운다
+ */
+@Slf4j
+@Component
+public class ProductCacheCoherence {
+
+	private final ProductCacheInvalidationTransport transport;
+	private final ProductMenuCache productMenuCache;
+	private final Cache secondLevelCache;
+	private final boolean enabled;
+	private final String nodeId;
+	private final long reloadGuardMillis;
+	private final ConcurrentMap<String, Long> appliedVersions = new ConcurrentHashMap<>();
+
+	private final ScheduledExecutorService reloadGuard = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "product-cache-coherence-reload-guard");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	public ProductCacheCoherence(
+		ProductCacheInvalidationTransport transport,
+		ProductMenuCache productMenuCache,
+		EntityManagerFactory entityManagerFactory,
+		@Value("${cafekiosk.product.cache-coherence.enabled:true}") boolean enabled,
+		@Value("${cafekiosk.product.cache-coherence.node-id:}") String nodeId,
+		@Value("${cafekiosk.product.cache-coherence.reload-guard-millis:1000}") long reloadGuardMillis
+	) {
+		this.transport = transport;
+		this.productMenuCache = productMenuCache;
+		this.secondLevelCache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+		this.enabled = enabled;
+		this.nodeId = StringUtils.hasText(nodeId) ? nodeId : UUID.randomUUID().toString();
+		this.reloadGuardMillis = reloadGuardMillis;
+		if (enabled) {
+			transport.subscribe(this::apply);
+		}
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		reloadGuard.shutdown();
+		reloadGuard.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void onProductChanged(ProductChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		transport.publish(nodeId, event);
+	}
+
+	/**
+	 * @return 이 노드의 캐시를 비웠으면 true. 이미 적용한 version 이하이거나 이 노드가 보낸 메시지면 false
+	 */
+	public boolean apply(ProductCacheInvalidation invalidation) {
+		if (!advance(invalidation.getProductNumber(), invalidation.getVersion())) {
+			return false;
+		}
+		if (nodeId.equals(invalidation.getOriginNodeId())) {
+			// 이 노드의 캐시는 변경을 커밋하면서 이미 비웠다
+			return false;
+		}
+
+		evict(invalidation);
+		if (reloadGuardMillis > 0) {
+			reloadGuard.schedule(() -> evict(invalidation), reloadGuardMillis, TimeUnit.MILLISECONDS);
+		}
+		log.debug("다른 노드({})에서 바뀐 상품 캐시를 비웠습니다. productNumber={}, version={}",
+			invalidation.getOriginNodeId(), invalidation.getProductNumber(), invalidation.getVersion());
+		return true;
+	}
+
+	public String getNodeId() {
+		return nodeId;
+	}
+
+	private boolean advance(String productNumber, long version) {
+		while (true) {
+			Long appliedVersion = appliedVersions.putIfAbsent(productNumber, version);
+			if (appliedVersion == null) {
+				return true;
+			}
+			if (appliedVersion >= version) {
+				return false;
+			}
+			if (appliedVersions.replace(productNumber, appliedVersion, version)) {
+				return true;
+			}
+		}
+	}
+
+	private void evict(ProductCacheInvalidation invalidation) {
+		if (invalidation.getProductId() != null) {
+			secondLevelCache.evictEntityData(Product.class, invalidation.getProductId());
+		}
+		// 상품 번호 -> id 는 바뀌지 않으므로 natural id 캐시는 두고, 새 상품이 빠져 있을 수 있는 쿼리 결과만 비운다
+		secondLevelCache.evictDefaultQueryRegion();
+		productMenuCache.invalidate();
+	}
+
+}
@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import lombok.Getter;
+
+/**
+ * 노드 사이에 주고받는 상품 캐시 무효화 메시지.
+ * version 은 상품별로 커밋 순서대로 증가하므로, 받은 쪽은 이미 적용한 version 이하의 메시지를 버린다.
+ */
+@Getter
+public class ProductCacheInvalidation {
+
+	private final String productNumber;
+	private final Long productId;
+	private final long version;
+	private final String originNodeId;
+
+	public ProductCacheInvalidation(final String productNumber, final Long productId, final long version,
+		final String originNodeId) {
+		this.productNumber = productNumber;
+		this.productId = productId;
+		this.version = version;
+		this.originNodeId = originNodeId;
+	}
+
+}
@@ -0,0 +1,21 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.util.function.Consumer;
+
+/**
+ * 상품 캐시 무효화 메시지를 노드 사이에 전달한다.
+ * 구현은 cafekiosk.product.cache-coherence.transport 값으로 고른다.
+ */
+public interface ProductCacheInvalidationTransport {
+
+	/**
+	 * 상품을 바꾼 트랜잭션 안(커밋 직전)에서 호출된다. 트랜잭션이 롤백되면 메시지도 전달되지 않아야 한다.
+	 */
+	void publish(String originNodeId, ProductChangedEvent event);
+
+	/**
+	 * 받은 메시지를 넘겨줄 리스너를 등록한다. 같은 메시지가 여러 번, 순서가 바뀌어 전달될 수 있고 이 노드가 보낸 메시지도 포함된다.
+	 */
+	void subscribe(Consumer<ProductCacheInvalidation> listener);
+
+}
@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import lombok.Getter;
+
+/**
+ * 상품 등록, 판매 상태 변경 등 메뉴에 영향을 주는 변경이 일어났음을 알린다.
+ */
+@Getter
+public class ProductChangedEvent {
+
+	private final String productNumber;
+	private final Long productId;
+
+	public ProductChangedEvent(final String productNumber, final Long productId) {
+		this.productNumber = productNumber;
+		this.productId = productId;
+	}
+
+}
@@ -0,0 +1,26 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.util.List;
+
+import lombok.Getter;
+import sample.cafekiosk.spring.api.service.product.response.MenuSnapshot;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+
+/**
+ * 캐시에 보관하는 메뉴(판매 상품 목록)와 그 응답 본문을 직렬화해 둔 스냅샷.
+ * version 은 만들어질 당시의 캐시 무효화 세대로, 무효화 이후에 끝난 로딩 결과를 걸러내는 데 쓴다.
+ */
+@Getter
+public class ProductMenu {
+
+	private final long version;
+	private final List<ProductResponse> products;
+	private final MenuSnapshot snapshot;
+
+	public ProductMenu(final long version, final List<ProductResponse> products, final MenuSnapshot snapshot) {
+		this.version = version;
+		this.products = List.copyOf(products);
+		this.snapshot = snapshot;
+	}
+
+}
@@ -0,0 +1,106 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheStats;
+import com.google.common.util.concurrent.UncheckedExecutionException;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.GuavaCacheMetrics;
+
+import sample.cafekiosk.spring.api.ApiResponse;
+import sample.cafekiosk.spring.api.service.product.response.MenuSnapshot;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+
+/**
+ * 판매 상태 목록별 메뉴 캐시 (read-through).
+ * - 크기와 TTL 로 제한하고, 상품이 바뀌면 커밋 이후에 전부 무효화한다
+ * - 무효화와 로딩이 겹치면 로딩 결과를 버리고 다시 읽는다
+ * - 응답 본문(ApiResponse)은 로딩할 때 한 번만 직렬화한다
+ * - 적중률 등 캐시 통계를 cache.* 지표(cache=product.menu)로 내보낸다
+ */
+@Component
+public class ProductMenuCache implements MeterBinder {
+
+	private final Cache<List<ProductSellingStatus>, ProductMenu> cache;
+	private final AtomicLong version = new AtomicLong();
+	private final ObjectMapper objectMapper;
+
+	public ProductMenuCache(
+		ObjectMapper objectMapper,
+		@Value("${cafekiosk.product.menu-cache.maximum-size:16}") long maximumSize,
+		@Value("${cafekiosk.product.menu-cache.expire-after-write-seconds:300}") long expireAfterWriteSeconds
+	) {
+		this.objectMapper = objectMapper;
+		this.cache = CacheBuilder.newBuilder()
+			.maximumSize(maximumSize)
+			.expireAfterWrite(expireAfterWriteSeconds, TimeUnit.SECONDS)
+			.recordStats()
+			.build();
+	}
+
+	public ProductMenu get(List<ProductSellingStatus> sellingStatuses, Supplier<List<ProductResponse>> loader) {
+		while (true) {
+			long currentVersion = version.get();
+			ProductMenu menu = load(sellingStatuses, () -> render(currentVersion, loader.get()));
+			if (menu.getVersion() >= version.get()) {
+				return menu;
+			}
+			cache.asMap().remove(sellingStatuses, menu);
+		}
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onProductChanged(ProductChangedEvent event) {
+		invalidate();
+	}
+
+	public void invalidate() {
+		version.incrementAndGet();
+		cache.invalidateAll();
+	}
+
+	public CacheStats stats() {
+		return cache.stats();
+	}
+
+	@Override
+	public void bindTo(MeterRegistry registry) {
+		GuavaCacheMetrics.monitor(registry, cache, "product.menu");
+	}
+
+	private ProductMenu render(long menuVersion, List<ProductResponse> products) {
+		try {
+			byte[] body = objectMapper.writeValueAsBytes(ApiResponse.ok(products));
+			return new ProductMenu(menuVersion, products, MenuSnapshot.of(body));
+		} catch (JsonProcessingException e) {
+			throw new IllegalStateException("메뉴 응답을 직렬화할 수 없습니다.", e);
+		}
+	}
+
+	private ProductMenu load(List<ProductSellingStatus> sellingStatuses, Supplier<ProductMenu> loader) {
+		try {
+			return cache.get(sellingStatuses, loader::get);
+		} catch (ExecutionException | UncheckedExecutionException e) {
+			if (e.getCause() instanceof RuntimeException) {
+				throw (RuntimeException)e.getCause();
+			}
+			throw new IllegalStateException(e.getCause());
+		}
+	}
+
+}
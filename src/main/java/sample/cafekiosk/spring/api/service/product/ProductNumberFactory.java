@@ -1,27 +1,112 @@
 package sample.cafekiosk.spring.api.service.product;
 
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import lombok.RequiredArgsConstructor;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequence;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 
-@RequiredArgsConstructor
+/**
+ * hi/lo 방식의 상품 번호 발급기.
+ * - product_number_sequence 행을 UPDATE 해서 blockSize 개의 번호를 예약하고, 블록 안에서는 메모리에서 발급한다
+ * - 예약은 별도 트랜잭션(REQUIRES_NEW)에서 커밋되므로 여러 노드가 같은 번호를 받지 않는다
+ * - 트랜잭션 밖에서 호출해야 한다. 커넥션을 쥔 트랜잭션 안에서 예약하면 두 번째 커넥션을 기다리다 풀이 고갈될 수 있다
+ * - 노드가 재시작되면 남은 블록은 버려진다 (번호에 빈 구간이 생길 수 있다)
+ * - 999 를 넘으면 자릿수가 늘어난다 (1000, 1001, ...)
+ */
 @Component
 public class ProductNumberFactory {
 
+	private static final Block EMPTY_BLOCK = new Block(0L, 0L);
+	private static final int MAX_RESERVE_ATTEMPTS = 3;
+
 	private final ProductRepository productRepository;
+	private final ProductNumberSequenceRepository productNumberSequenceRepository;
+	private final TransactionTemplate requiresNewTransaction;
+	private final long blockSize;
+
+	private volatile Block currentBlock = EMPTY_BLOCK;
+
+	public ProductNumberFactory(
+		ProductRepository productRepository,
+		ProductNumberSequenceRepository productNumberSequenceRepository,
+		PlatformTransactionManager transactionManager,
+		@Value("${cafekiosk.product.number-block-size:50}") long blockSize
+	) {
+		this.productRepository = productRepository;
+		this.productNumberSequenceRepository = productNumberSequenceRepository;
+		this.requiresNewTransaction = new TransactionTemplate(transactionManager);
+		this.requiresNewTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.blockSize = blockSize;
+	}
 
 	public String createNextProductNumber() {
+		while (true) {
+			Block block = currentBlock;
+			long next = block.cursor.getAndIncrement();
+			if (next < block.end) {
+				return String.format("%03d", next);
+			}
+			refill(block);
+		}
+	}
+
+	private synchronized void refill(Block exhausted) {
+		if (currentBlock != exhausted) {
+			return;
+		}
+		currentBlock = reserveBlock();
+	}
+
+	private Block reserveBlock() {
+		for (int attempt = 1; ; attempt++) {
+			try {
+				return requiresNewTransaction.execute(status -> {
+					if (productNumberSequenceRepository.advance(ProductNumberSequence.SINGLETON_ID, blockSize) == 0) {
+						long start = findLatestProductNumberValue() + 1;
+						productNumberSequenceRepository.saveAndFlush(ProductNumberSequence.create(start + blockSize));
+						return new Block(start, start + blockSize);
+					}
+
+					long end = productNumberSequenceRepository.findNextValueById(ProductNumberSequence.SINGLETON_ID)
+						.orElseThrow(() -> new IllegalStateException("상품 번호 시퀀스를 찾을 수 없습니다."));
+					return new Block(end - blockSize, end);
+				});
+			} catch (DataIntegrityViolationException e) {
+				// 다른 노드가 먼저 시퀀스 행을 만들었다. 다시 UPDATE 로 예약한다.
+				if (attempt >= MAX_RESERVE_ATTEMPTS) {
+					throw new IllegalStateException("상품 번호 블록을 예약하지 못했습니다.", e);
+				}
+			}
+		}
+	}
+
+	private long findLatestProductNumberValue() {
 		String latestProductNumber = productRepository.findLatestProductNumber();
 
 		if (latestProductNumber == null) {
-			return "001";
+			return 0L;
 		}
+		return Long.parseLong(latestProductNumber);
+	}
+
+	private static class Block {
 
-		int latestProductNumberInt = Integer.parseInt(latestProductNumber);
-		int nextProductNumberInt = latestProductNumberInt + 1;
+		private final AtomicLong cursor;
+		private final long end;
+
+		private Block(final long start, final long end) {
+			this.cursor = new AtomicLong(start);
+			this.end = end;
+		}
 
-		return String.format("%03d", nextProductNumberInt);
 	}
 
 }
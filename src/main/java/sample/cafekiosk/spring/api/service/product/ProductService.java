@@ -3,37 +3,95 @@ package sample.cafekiosk.spring.api.service.product;
 import java.util.List;
 import java.util.stream.Collectors;
 
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
-import lombok.RequiredArgsConstructor;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.MenuSnapshot;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 
 @Transactional(readOnly = true)
-@RequiredArgsConstructor
 @Service
 public class ProductService {
 
 	private final ProductRepository productRepository;
 	private final ProductNumberFactory productNumberFactory;
+	private final ProductMenuCache productMenuCache;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transactionTemplate;
 
-	@Transactional
+	public ProductService(
+		ProductRepository productRepository,
+		ProductNumberFactory productNumberFactory,
+		ProductMenuCache productMenuCache,
+		ApplicationEventPublisher eventPublisher,
+		PlatformTransactionManager transactionManager
+	) {
+		this.productRepository = productRepository;
+		this.productNumberFactory = productNumberFactory;
+		this.productMenuCache = productMenuCache;
+		this.eventPublisher = eventPublisher;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * 상품 번호 블록은 트랜잭션을 시작하기 전에 예약하고, 상품 저장만 트랜잭션으로 묶는다.
+	 */
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public ProductResponse createProduct(ProductCreateServiceRequest request) {
 		String nextProductNumber = productNumberFactory.createNextProductNumber();
 
-		Product product = request.toEntity(nextProductNumber);
-		Product savedProduct = productRepository.save(product);
+		return transactionTemplate.execute(status -> {
+			Product savedProduct = productRepository.save(request.toEntity(nextProductNumber));
+			eventPublisher.publishEvent(new ProductChangedEvent(savedProduct.getProductNumber(), savedProduct.getId()));
+
+			return ProductResponse.of(savedProduct);
+		});
+	}
+
+	@Transactional
+	public ProductResponse changeSellingStatus(String productNumber, ProductSellingStatus sellingStatus) {
+		Product product = productRepository.findByNaturalId(productNumber)
+			.orElseThrow(() -> new IllegalArgumentException("존재하지 않는 상품입니다."));
+
+		product.changeSellingStatus(sellingStatus);
+		eventPublisher.publishEvent(new ProductChangedEvent(productNumber, product.getId()));
 
-		return ProductResponse.of(savedProduct);
+		return ProductResponse.of(product);
 	}
 
+	/**
+	 * 메뉴는 하루에 몇 번 바뀌지 않으므로 만들어둔 응답 목록을 캐시에서 꺼내준다.
+	 * 상품이 바뀌면 커밋 이후 ProductMenuCache 가 무효화된다.
+	 */
 	@Transactional(readOnly = true)
 	public List<ProductResponse> getSellingProducts() {
-		List<Product> products = productRepository.findAllBySellingStatusIn(ProductSellingStatus.forDisplay());
+		return getSellingMenu().getProducts();
+	}
+
+	/**
+	 * 판매 상품 목록 응답 본문을 미리 직렬화해 둔 스냅샷. 상품이 바뀔 때만 다시 만든다.
+	 */
+	@Transactional(readOnly = true)
+	public MenuSnapshot getSellingProductsSnapshot() {
+		return getSellingMenu().getSnapshot();
+	}
+
+	private ProductMenu getSellingMenu() {
+		List<ProductSellingStatus> sellingStatuses = ProductSellingStatus.forDisplay();
+
+		return productMenuCache.get(sellingStatuses, () -> findProductsBy(sellingStatuses));
+	}
+
+	private List<ProductResponse> findProductsBy(List<ProductSellingStatus> sellingStatuses) {
+		List<Product> products = productRepository.findAllBySellingStatusIn(sellingStatuses);
 
 		return products.stream()
 			.map(ProductResponse::of)
@@ -0,0 +1,47 @@
+package sample.cafekiosk.spring.api.service.product.response;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.zip.GZIPOutputStream;
+
+import com.google.common.hash.Hashing;
+
+import lombok.Getter;
+
+/**
+ * 한 번 직렬화해 둔 메뉴 응답 본문.
+ * - gzip 으로 미리 압축한 본문을 함께 들고 있다
+ * - ETag 는 본문의 SHA-256 해시라서 내용이 같으면 값도 같다
+ * - gzip 본문은 바이트가 다르므로 강한 ETag 에 -gzip 을 붙여 구분한다
+ */
+@Getter
+public class MenuSnapshot {
+
+	private final byte[] body;
+	private final byte[] gzipBody;
+	private final String eTag;
+	private final String gzipETag;
+
+	private MenuSnapshot(final byte[] body, final byte[] gzipBody, final String hash) {
+		this.body = body;
+		this.gzipBody = gzipBody;
+		this.eTag = "\"" + hash + "\"";
+		this.gzipETag = "\"" + hash + "-gzip\"";
+	}
+
+	public static MenuSnapshot of(byte[] body) {
+		return new MenuSnapshot(body, gzip(body), Hashing.sha256().hashBytes(body).toString());
+	}
+
+	private static byte[] gzip(byte[] body) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream(body.length / 4 + 64);
+		try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+			gzip.write(body);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return out.toByteArray();
+	}
+
+}
@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * 읽기 없이 조건부 UPDATE 한 번으로 재고 확인과 차감을 동시에 수행한다.
+ * 갱신된 행이 없으면 재고가 부족하거나 재고가 없는 상품이므로, 앞서 차감한 상품을 되돌리고 실패한다.
+ */
+@RequiredArgsConstructor
+@Component
+public class ConditionalUpdateStockDeductionStrategy implements StockDeductionStrategy {
+
+	private final StockRepository stockRepository;
+
+	@Override
+	public StockDeductionType getType() {
+		return StockDeductionType.CONDITIONAL_UPDATE;
+	}
+
+	@Override
+	public void deduct(final ProductQuantities quantities) {
+		for (int i = 0; i < quantities.size(); i++) {
+			int updatedCount = stockRepository.deductQuantityIfEnough(quantities.productNumberAt(i),
+				quantities.quantityAt(i));
+			if (updatedCount == 0) {
+				restoreDeducted(quantities, i);
+				throw new StockShortageException();
+			}
+		}
+	}
+
+	@Override
+	public void restore(final ProductQuantities quantities) {
+		for (int i = 0; i < quantities.size(); i++) {
+			stockRepository.addQuantity(quantities.productNumberAt(i), quantities.quantityAt(i));
+		}
+	}
+
+	private void restoreDeducted(ProductQuantities quantities, int deductedCount) {
+		for (int i = 0; i < deductedCount; i++) {
+			stockRepository.addQuantity(quantities.productNumberAt(i), quantities.quantityAt(i));
+		}
+	}
+
+}
@@ -0,0 +1,90 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import sample.cafekiosk.spring.domain.stock.StockQuantityView;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * 버전(@Version)을 비교하는 UPDATE 로 재고를 차감한다.
+ * 다른 트랜잭션이 먼저 갱신해서 버전이 달라지면 다시 읽어서 최대 maxAttempts 번까지 재시도한다.
+ * 엔티티를 영속성 컨텍스트에 올리지 않으므로 재시도 시 항상 최신 값을 읽는다.
+ * 중간에 실패하면 앞서 차감한 상품을 되돌린다.
+ */
+@Component
+public class OptimisticStockDeductionStrategy implements StockDeductionStrategy {
+
+	private final StockRepository stockRepository;
+	private final int maxAttempts;
+	private final long maxBackoffMillis;
+
+	public OptimisticStockDeductionStrategy(StockRepository stockRepository,
+		@Value("${cafekiosk.stock.optimistic.max-attempts:30}") int maxAttempts,
+		@Value("${cafekiosk.stock.optimistic.max-backoff-millis:10}") long maxBackoffMillis) {
+		this.stockRepository = stockRepository;
+		this.maxAttempts = maxAttempts;
+		this.maxBackoffMillis = maxBackoffMillis;
+	}
+
+	@Override
+	public StockDeductionType getType() {
+		return StockDeductionType.OPTIMISTIC;
+	}
+
+	@Override
+	public void deduct(final ProductQuantities quantities) {
+		int deductedCount = 0;
+		try {
+			for (; deductedCount < quantities.size(); deductedCount++) {
+				deductWithRetry(quantities.productNumberAt(deductedCount), quantities.quantityAt(deductedCount));
+			}
+		} catch (RuntimeException e) {
+			for (int i = 0; i < deductedCount; i++) {
+				stockRepository.addQuantity(quantities.productNumberAt(i), quantities.quantityAt(i));
+			}
+			throw e;
+		}
+	}
+
+	@Override
+	public void restore(final ProductQuantities quantities) {
+		for (int i = 0; i < quantities.size(); i++) {
+			stockRepository.addQuantity(quantities.productNumberAt(i), quantities.quantityAt(i));
+		}
+	}
+
+	private void deductWithRetry(String productNumber, int quantity) {
+		for (int attempt = 1; attempt <= maxAttempts; attempt++) {
+			StockQuantityView stock = stockRepository.findQuantityViewByProductNumber(productNumber)
+				.orElseThrow(() -> new StockShortageException());
+
+			if (stock.getQuantity() < quantity) {
+				throw new StockShortageException();
+			}
+
+			if (stockRepository.deductQuantityIfVersionMatches(productNumber, quantity, stock.getVersion()) == 1) {
+				return;
+			}
+			backoff();
+		}
+
+		throw new IllegalStateException("재고 차감 경합이 심해 주문을 처리하지 못했습니다. 다시 시도해주세요.");
+	}
+
+	private void backoff() {
+		if (maxBackoffMillis <= 0) {
+			return;
+		}
+		try {
+			TimeUnit.MILLISECONDS.sleep(ThreadLocalRandom.current().nextLong(maxBackoffMillis + 1));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new IllegalStateException("재고 차감 재시도 중 인터럽트가 발생했습니다.", e);
+		}
+	}
+
+}
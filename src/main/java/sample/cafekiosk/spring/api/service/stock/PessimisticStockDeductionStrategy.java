@@ -0,0 +1,56 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.stereotype.Component;
+
+import lombok.RequiredArgsConstructor;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@RequiredArgsConstructor
+@Component
+public class PessimisticStockDeductionStrategy implements StockDeductionStrategy {
+
+	private final StockRepository stockRepository;
+
+	@Override
+	public StockDeductionType getType() {
+		return StockDeductionType.PESSIMISTIC;
+	}
+
+	@Override
+	public void deduct(final ProductQuantities quantities) {
+		List<Stock> stocks = stockRepository.findAllForUpdateByProductNumberIn(quantities.getProductNumbers());
+		Map<String, Stock> stockMap = stocks.stream()
+			.collect(Collectors.toMap(Stock::getProductNumber, Function.identity()));
+
+		for (int i = 0; i < quantities.size(); i++) {
+			Stock stock = stockMap.get(quantities.productNumberAt(i));
+			if (stock == null || stock.isQuantityLessThan(quantities.quantityAt(i))) {
+				throw new StockShortageException();
+			}
+		}
+		for (int i = 0; i < quantities.size(); i++) {
+			stockMap.get(quantities.productNumberAt(i)).deductQuantity(quantities.quantityAt(i));
+		}
+	}
+
+	@Override
+	public void restore(final ProductQuantities quantities) {
+		List<Stock> stocks = stockRepository.findAllForUpdateByProductNumberIn(quantities.getProductNumbers());
+		Map<String, Stock> stockMap = stocks.stream()
+			.collect(Collectors.toMap(Stock::getProductNumber, Function.identity()));
+
+		for (int i = 0; i < quantities.size(); i++) {
+			Stock stock = stockMap.get(quantities.productNumberAt(i));
+			if (stock != null) {
+				stock.addQuantity(quantities.quantityAt(i));
+			}
+		}
+	}
+
+}
@@ -0,0 +1,120 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * 상품 번호별 수량. 상품 번호 오름차순으로 정렬되어 있고 중복이 없다.
+ * 주문마다 만들어지므로 Map 과 박싱된 카운트 대신 정렬된 배열 두 개로 들고 있는다.
+ */
+public final class ProductQuantities {
+
+	private static final ProductQuantities EMPTY = new ProductQuantities(new String[0], new int[0]);
+
+	private final String[] productNumbers;
+	private final int[] quantities;
+
+	private ProductQuantities(final String[] productNumbers, final int[] quantities) {
+		this.productNumbers = productNumbers;
+		this.quantities = quantities;
+	}
+
+	/**
+	 * 상품 번호 리스트에서 같은 상품 번호의 개수를 센다.
+	 * 정렬한 뒤 연속된 구간의 길이를 세므로 별도의 Map 이 필요 없다.
+	 */
+	public static ProductQuantities countOf(List<String> productNumbers) {
+		if (productNumbers.isEmpty()) {
+			return EMPTY;
+		}
+
+		String[] sorted = productNumbers.toArray(new String[0]);
+		Arrays.sort(sorted);
+
+		int[] counts = new int[sorted.length];
+		int distinctCount = 0;
+		for (String productNumber : sorted) {
+			if (distinctCount > 0 && sorted[distinctCount - 1].equals(productNumber)) {
+				counts[distinctCount - 1]++;
+				continue;
+			}
+			sorted[distinctCount] = productNumber;
+			counts[distinctCount] = 1;
+			distinctCount++;
+		}
+
+		return new ProductQuantities(Arrays.copyOf(sorted, distinctCount), Arrays.copyOf(counts, distinctCount));
+	}
+
+	public static ProductQuantities of(Map<String, Integer> quantities) {
+		if (quantities.isEmpty()) {
+			return EMPTY;
+		}
+
+		SortedMap<String, Integer> sorted = new TreeMap<>(quantities);
+		String[] productNumbers = new String[sorted.size()];
+		int[] counts = new int[sorted.size()];
+		int index = 0;
+		for (Map.Entry<String, Integer> entry : sorted.entrySet()) {
+			productNumbers[index] = entry.getKey();
+			counts[index] = entry.getValue();
+			index++;
+		}
+		return new ProductQuantities(productNumbers, counts);
+	}
+
+	public int size() {
+		return productNumbers.length;
+	}
+
+	public boolean isEmpty() {
+		return productNumbers.length == 0;
+	}
+
+	public String productNumberAt(int index) {
+		return productNumbers[index];
+	}
+
+	public int quantityAt(int index) {
+		return quantities[index];
+	}
+
+	public List<String> getProductNumbers() {
+		return Collections.unmodifiableList(Arrays.asList(productNumbers));
+	}
+
+	public SortedMap<String, Integer> toMap() {
+		SortedMap<String, Integer> map = new TreeMap<>();
+		for (int i = 0; i < productNumbers.length; i++) {
+			map.put(productNumbers[i], quantities[i]);
+		}
+		return map;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) {
+			return true;
+		}
+		if (!(o instanceof ProductQuantities)) {
+			return false;
+		}
+		ProductQuantities that = (ProductQuantities)o;
+		return Arrays.equals(productNumbers, that.productNumbers) && Arrays.equals(quantities, that.quantities);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * Arrays.hashCode(productNumbers) + Arrays.hashCode(quantities);
+	}
+
+	@Override
+	public String toString() {
+		return toMap().toString();
+	}
+
+}
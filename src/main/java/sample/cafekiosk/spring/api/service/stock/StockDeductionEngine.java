@@ -0,0 +1,68 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 차감 전략을 선택해서 실행한다.
+ * 기본 전략은 cafekiosk.stock.deduction-strategy 로 지정한다.
+ */
+@Component
+public class StockDeductionEngine {
+
+	private final Map<StockDeductionType, StockDeductionStrategy> strategies = new EnumMap<>(StockDeductionType.class);
+	private final StockDeductionType defaultType;
+
+	public StockDeductionEngine(List<StockDeductionStrategy> strategies,
+		@Value("${cafekiosk.stock.deduction-strategy:CONDITIONAL_UPDATE}") StockDeductionType defaultType) {
+		strategies.forEach(strategy -> this.strategies.put(strategy.getType(), strategy));
+		if (!this.strategies.containsKey(defaultType)) {
+			throw new IllegalStateException("등록되지 않은 재고 차감 전략입니다. " + defaultType);
+		}
+		this.defaultType = defaultType;
+	}
+
+	public StockDeductionType getDefaultType() {
+		return defaultType;
+	}
+
+	/**
+	 * stock 테이블의 수량이 곧 실제 재고인지 여부.
+	 * LEDGER 전략은 메모리 원장이 기준이고 stock 테이블은 뒤늦게 반영되므로 미리 읽은 수량으로 판단하면 안 된다.
+	 */
+	public boolean isStockTableAuthoritative() {
+		return defaultType != StockDeductionType.LEDGER;
+	}
+
+	public void deduct(ProductQuantities quantities) {
+		deduct(defaultType, quantities);
+	}
+
+	public void deduct(StockDeductionType type, Map<String, Integer> quantities) {
+		deduct(type, ProductQuantities.of(quantities));
+	}
+
+	public void deduct(StockDeductionType type, ProductQuantities quantities) {
+		if (quantities.isEmpty()) {
+			return;
+		}
+
+		StockDeductionStrategy strategy = strategies.get(type);
+		if (strategy == null) {
+			throw new IllegalArgumentException("등록되지 않은 재고 차감 전략입니다. " + type);
+		}
+		strategy.deduct(quantities);
+	}
+
+	public void restore(ProductQuantities quantities) {
+		if (quantities.isEmpty()) {
+			return;
+		}
+		strategies.get(defaultType).restore(quantities);
+	}
+
+}
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+public interface StockDeductionStrategy {
+
+	String NOT_ENOUGH_STOCK_MESSAGE = "재고가 부족한 상품이 있습니다.";
+
+	StockDeductionType getType();
+
+	/**
+	 * 상품 번호별 수량만큼 재고를 차감한다.
+	 * - 호출하는 쪽의 트랜잭션 안에서 실행된다
+	 * - 상품 번호 오름차순으로 정렬되어 들어오므로 락 획득 순서가 항상 같다 (데드락 방지)
+	 * - 재고가 부족하면 어떤 상품도 차감하지 않은 상태로 StockShortageException 을 던진다
+	 *   (트랜잭션을 롤백하지 않고 같은 트랜잭션 안의 다른 주문을 계속 처리할 수 있어야 한다)
+	 */
+	void deduct(ProductQuantities quantities);
+
+	/**
+	 * 취소된 주문의 상품 번호별 수량만큼 재고를 되돌린다.
+	 * - 호출하는 쪽의 트랜잭션 안에서 실행되고, 롤백되면 되돌린 수량도 반영되지 않는다
+	 */
+	void restore(ProductQuantities quantities);
+
+}
@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum StockDeductionType {
+
+	OPTIMISTIC("낙관적 락 + 재시도"),
+	PESSIMISTIC("비관적 락 (SELECT ... FOR UPDATE)"),
+	CONDITIONAL_UPDATE("조건부 UPDATE"),
+	LEDGER("인메모리 재고 원장 + write-behind");
+
+	private final String text;
+
+}
@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+/**
+ * 재고가 부족해서 차감하지 못했을 때 던진다.
+ * IllegalArgumentException 이므로 API 응답은 다른 입력 오류처럼 400 이다.
+ */
+public class StockShortageException extends IllegalArgumentException {
+
+	public StockShortageException() {
+		super(StockDeductionStrategy.NOT_ENOUGH_STOCK_MESSAGE);
+	}
+
+}
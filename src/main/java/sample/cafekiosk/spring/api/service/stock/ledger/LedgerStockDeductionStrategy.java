@@ -0,0 +1,77 @@
+package sample.cafekiosk.spring.api.service.stock.ledger;
+
+import java.util.function.Consumer;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import sample.cafekiosk.spring.api.service.stock.ProductQuantities;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionStrategy;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionType;
+
+@Slf4j
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "cafekiosk.stock.ledger.enabled", havingValue = "true")
+@Component
+public class LedgerStockDeductionStrategy implements StockDeductionStrategy {
+
+	private final StockLedger stockLedger;
+
+	@Override
+	public StockDeductionType getType() {
+		return StockDeductionType.LEDGER;
+	}
+
+	/**
+	 * 원장에서 예약하고 커밋 전에 저널과 StockLedgerIntent 에 기록한다.
+	 * 커밋되면 write-behind 에 넘기고, 롤백되면 메모리 예약만 되돌린다. (저널에 남은 줄은 StockLedgerIntent 가 없으므로 재생되지 않는다)
+	 */
+	@Override
+	public void deduct(final ProductQuantities quantities) {
+		StockLedgerEntry entry = stockLedger.reserve(quantities);
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			stockLedger.confirm(entry);
+			return;
+		}
+		registerCompletion(entry, stockLedger::confirm, stockLedger::release);
+	}
+
+	/**
+	 * 복구도 커밋 전에 기록하고, 원장 메모리에는 커밋된 뒤에 더한다.
+	 */
+	@Override
+	public void restore(final ProductQuantities quantities) {
+		StockLedgerEntry entry = stockLedger.prepareRestoration(quantities);
+
+		if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+			stockLedger.restore(entry);
+			return;
+		}
+		registerCompletion(entry, stockLedger::restore, stockLedger::discard);
+	}
+
+	private void registerCompletion(StockLedgerEntry entry, Consumer<StockLedgerEntry> onCommit,
+		Consumer<StockLedgerEntry> onRollback) {
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+			@Override
+			public void afterCompletion(int status) {
+				try {
+					if (status == STATUS_COMMITTED || (status == STATUS_UNKNOWN && stockLedger.isCommitted(entry))) {
+						onCommit.accept(entry);
+					} else {
+						onRollback.accept(entry);
+					}
+				} catch (RuntimeException e) {
+					// 커밋되었다면 StockLedgerIntent 가 남아 있으므로 재시작할 때 재생된다
+					log.error("재고 원장 항목 {} 의 트랜잭션 결과를 반영하지 못했습니다.", entry.getSequence(), e);
+				}
+			}
+		});
+	}
+
+}
@@ -0,0 +1,194 @@
+package sample.cafekiosk.spring.api.service.stock.ledger;
+
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalInt;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import com.google.common.util.concurrent.Striped;
+
+import sample.cafekiosk.spring.api.service.stock.ProductQuantities;
+import sample.cafekiosk.spring.api.service.stock.StockShortageException;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockLedgerIntent;
+import sample.cafekiosk.spring.domain.stock.StockLedgerIntentRepository;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * 상품 번호별 재고 수량을 메모리에 들고 있는 원장.
+ * - 재고 차감 판단의 기준(source of truth)은 이 원장이고, stock 테이블은 StockLedgerWriteBehind 가 뒤따라 갱신한다
+ * - 처음 조회되는 상품만 stock 테이블에서 읽어온다
+ * - 차감/복구는 커밋 전에 저널과 StockLedgerIntent 에 기록하므로, 재시작하면 커밋된 것만 정확히 한 번 stock 테이블에 반영된다
+ * - 상품 번호를 해시해서 고른 락(striped lock)으로 보호하므로 서로 다른 상품의 주문은 경합하지 않는다
+ * - 단일 노드 전용이다. 여러 노드가 같은 stock 테이블을 쓰는 환경에서는 사용하지 않는다
+ */
+@ConditionalOnProperty(name = "cafekiosk.stock.ledger.enabled", havingValue = "true")
+@Component
+public class StockLedger {
+
+	private final StockRepository stockRepository;
+	private final StockLedgerJournal journal;
+	private final StockLedgerIntentRepository intentRepository;
+	private final Striped<Lock> locks;
+	private final ConcurrentMap<String, AtomicInteger> quantities = new ConcurrentHashMap<>();
+
+	public StockLedger(StockRepository stockRepository, StockLedgerJournal journal,
+		StockLedgerIntentRepository intentRepository, @Value("${cafekiosk.stock.ledger.stripes:64}") int stripes) {
+		this.stockRepository = stockRepository;
+		this.journal = journal;
+		this.intentRepository = intentRepository;
+		this.locks = Striped.lock(stripes);
+	}
+
+	/**
+	 * 메모리에서 차감(예약)하고, 커밋 전에 저널에 기록한 뒤 호출자의 트랜잭션에 StockLedgerIntent 행을 저장한다.
+	 * 주문 트랜잭션이 커밋되면 confirm, 롤백되면 release 를 호출해야 한다.
+	 */
+	public StockLedgerEntry reserve(ProductQuantities deductions) {
+		loadIfAbsent(deductions.getProductNumbers());
+
+		Iterable<Lock> stripes = lockAll(deductions.getProductNumbers());
+		try {
+			for (int i = 0; i < deductions.size(); i++) {
+				AtomicInteger quantity = quantities.get(deductions.productNumberAt(i));
+				if (quantity == null || quantity.get() < deductions.quantityAt(i)) {
+					throw new StockShortageException();
+				}
+			}
+
+			for (int i = 0; i < deductions.size(); i++) {
+				quantities.get(deductions.productNumberAt(i)).addAndGet(-deductions.quantityAt(i));
+			}
+		} finally {
+			unlockAll(stripes);
+		}
+
+		StockLedgerEntry entry = null;
+		try {
+			entry = journal.appendDeduction(deductions.toMap());
+			intentRepository.save(StockLedgerIntent.of(entry.getSequence()));
+			return entry;
+		} catch (RuntimeException e) {
+			addAll(deductions.toMap());
+			if (entry != null) {
+				journal.discard(entry);
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * 커밋된 차감을 write-behind 가 stock 테이블에 반영하도록 넘긴다.
+	 */
+	public void confirm(StockLedgerEntry entry) {
+		journal.commit(entry);
+	}
+
+	/**
+	 * 롤백된 차감을 메모리에서 되돌린다.
+	 */
+	public void release(StockLedgerEntry entry) {
+		addAll(negate(entry.getDeltas()));
+		journal.discard(entry);
+	}
+
+	/**
+	 * 복구도 차감과 같이 커밋 전에 저널과 StockLedgerIntent 에 기록한다.
+	 * 메모리에는 커밋된 뒤 restore 로 더한다. 롤백될 수 있는 복구 수량으로 주문을 받지 않기 위해서이다.
+	 */
+	public StockLedgerEntry prepareRestoration(ProductQuantities restorations) {
+		loadIfAbsent(restorations.getProductNumbers());
+
+		StockLedgerEntry entry = journal.appendRestoration(restorations.toMap());
+		try {
+			intentRepository.save(StockLedgerIntent.of(entry.getSequence()));
+			return entry;
+		} catch (RuntimeException e) {
+			journal.discard(entry);
+			throw e;
+		}
+	}
+
+	public void restore(StockLedgerEntry entry) {
+		addAll(entry.getDeltas());
+		journal.commit(entry);
+	}
+
+	public void discard(StockLedgerEntry entry) {
+		journal.discard(entry);
+	}
+
+	/**
+	 * 트랜잭션 결과를 알 수 없을 때 StockLedgerIntent 행으로 커밋 여부를 확인한다.
+	 */
+	public boolean isCommitted(StockLedgerEntry entry) {
+		return intentRepository.existsById(entry.getSequence());
+	}
+
+	public OptionalInt getQuantity(String productNumber) {
+		AtomicInteger quantity = quantities.get(productNumber);
+		return quantity == null ? OptionalInt.empty() : OptionalInt.of(quantity.get());
+	}
+
+	/**
+	 * 원장에 올라온 수량을 버리고 다음 조회 때 stock 테이블에서 다시 읽게 한다.
+	 * stock 테이블을 직접 수정(입고 등)한 뒤, write-behind 반영이 끝난 상태에서만 호출해야 한다.
+	 */
+	public void evictAll() {
+		quantities.clear();
+	}
+
+	private void loadIfAbsent(List<String> productNumbers) {
+		List<String> absentProductNumbers = productNumbers.stream()
+			.filter(productNumber -> !quantities.containsKey(productNumber))
+			.collect(Collectors.toList());
+		if (absentProductNumbers.isEmpty()) {
+			return;
+		}
+
+		for (Stock stock : stockRepository.findAllByProductNumberIn(absentProductNumbers)) {
+			quantities.putIfAbsent(stock.getProductNumber(), new AtomicInteger(stock.getQuantity()));
+		}
+	}
+
+	private void addAll(Map<String, Integer> deltas) {
+		Iterable<Lock> stripes = lockAll(deltas.keySet());
+		try {
+			deltas.forEach((productNumber, delta) -> {
+				AtomicInteger current = quantities.get(productNumber);
+				if (current != null) {
+					current.addAndGet(delta);
+				}
+			});
+		} finally {
+			unlockAll(stripes);
+		}
+	}
+
+	private static Map<String, Integer> negate(Map<String, Integer> deltas) {
+		Map<String, Integer> negated = new TreeMap<>();
+		deltas.forEach((productNumber, delta) -> negated.put(productNumber, -delta));
+		return negated;
+	}
+
+	private Iterable<Lock> lockAll(Iterable<String> productNumbers) {
+		// bulkGet 은 항상 같은 순서로 락을 돌려주므로 여러 상품을 한꺼번에 잠가도 데드락이 생기지 않는다
+		Iterable<Lock> stripes = locks.bulkGet(productNumbers);
+		stripes.forEach(Lock::lock);
+		return stripes;
+	}
+
+	private static void unlockAll(Iterable<Lock> stripes) {
+		stripes.forEach(Lock::unlock);
+	}
+
+}
@@ -0,0 +1,73 @@
+package sample.cafekiosk.spring.api.service.stock.ledger;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.Optional;
+import java.util.SortedMap;
+import java.util.StringJoiner;
+import java.util.TreeMap;
+
+import lombok.Getter;
+
+/**
+ * 저널 한 줄 = 한 번의 차감(또는 복구).
+ * 여러 상품의 변화량을 한 줄에 기록해서 재생할 때 전부 반영하거나 전부 버린다.
+ * 형식: {sequence}|{productNumber}:{delta},{productNumber}:{delta}
+ */
+@Getter
+public class StockLedgerEntry {
+
+	private static final String SEQUENCE_DELIMITER = "|";
+	private static final String ENTRY_DELIMITER = ",";
+	private static final String DELTA_DELIMITER = ":";
+
+	private final long sequence;
+	private final SortedMap<String, Integer> deltas;
+
+	public StockLedgerEntry(final long sequence, final SortedMap<String, Integer> deltas) {
+		this.sequence = sequence;
+		this.deltas = Collections.unmodifiableSortedMap(new TreeMap<>(deltas));
+	}
+
+	public String toLine() {
+		StringJoiner joiner = new StringJoiner(ENTRY_DELIMITER, sequence + SEQUENCE_DELIMITER, "\n");
+		deltas.forEach((productNumber, delta) -> joiner.add(productNumber + DELTA_DELIMITER + delta));
+		return joiner.toString();
+	}
+
+	/**
+	 * 기록 도중 프로세스가 죽어서 잘린 줄은 Optional.empty() 로 버린다.
+	 */
+	public static Optional<StockLedgerEntry> parse(String line) {
+		int sequenceEnd = line.indexOf(SEQUENCE_DELIMITER);
+		if (sequenceEnd <= 0 || sequenceEnd == line.length() - 1) {
+			return Optional.empty();
+		}
+
+		try {
+			long sequence = Long.parseLong(line.substring(0, sequenceEnd));
+			SortedMap<String, Integer> deltas = new TreeMap<>();
+			for (String token : line.substring(sequenceEnd + 1).split(ENTRY_DELIMITER)) {
+				int deltaStart = token.lastIndexOf(DELTA_DELIMITER);
+				if (deltaStart <= 0) {
+					return Optional.empty();
+				}
+				deltas.put(token.substring(0, deltaStart), Integer.parseInt(token.substring(deltaStart + 1)));
+			}
+			return Optional.of(new StockLedgerEntry(sequence, deltas));
+		} catch (NumberFormatException e) {
+			return Optional.empty();
+		}
+	}
+
+	public static StockLedgerEntry ofDeduction(long sequence, Map<String, Integer> quantities) {
+		SortedMap<String, Integer> deltas = new TreeMap<>();
+		quantities.forEach((productNumber, quantity) -> deltas.put(productNumber, -quantity));
+		return new StockLedgerEntry(sequence, deltas);
+	}
+
+	public static StockLedgerEntry ofRestoration(long sequence, Map<String, Integer> quantities) {
+		return new StockLedgerEntry(sequence, new TreeMap<>(quantities));
+	}
+
+}
@@ -0,0 +1,176 @@
+package sample.cafekiosk.spring.api.service.stock.ledger;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.function.LongFunction;
+
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * 재고 원장의 append-only 저널.
+ * - 차감/복구를 주문 트랜잭션이 커밋되기 전에 한 줄씩 기록한다 (fsync 옵션). 커밋 여부는 StockLedgerIntent 행으로 판단한다
+ * - 커밋된 항목(commit)만 DB 반영 대기 큐에 넣고, 롤백된 항목(discard)은 파일에 남아도 재생하지 않는다
+ * - 커밋 여부가 정해지지 않은 항목도 없고 DB 반영이 따라잡았으면 파일을 비운다
+ */
+@ConditionalOnProperty(name = "cafekiosk.stock.ledger.enabled", havingValue = "true")
+@Component
+public class StockLedgerJournal {
+
+	private final Path path;
+	private final boolean fsync;
+
+	private final Queue<StockLedgerEntry> pendingEntries = new ArrayDeque<>();
+	private final Set<Long> openSequences = new HashSet<>();
+	private FileChannel channel;
+	private long lastSequence;
+
+	public StockLedgerJournal(@Value("${cafekiosk.stock.ledger.journal-path}") String path,
+		@Value("${cafekiosk.stock.ledger.fsync:true}") boolean fsync) {
+		this.path = Paths.get(path);
+		this.fsync = fsync;
+	}
+
+	public synchronized List<StockLedgerEntry> readAll() {
+		List<StockLedgerEntry> entries = new ArrayList<>();
+		if (!Files.exists(path)) {
+			return entries;
+		}
+
+		try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+			String line;
+			while ((line = reader.readLine()) != null) {
+				StockLedgerEntry.parse(line).ifPresent(entries::add);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("재고 원장 저널을 읽을 수 없습니다. " + path, e);
+		}
+		return entries;
+	}
+
+	/**
+	 * 재생이 끝난 뒤 호출한다. 기존 내용을 비우고 lastSequence 다음 번호부터 기록한다.
+	 */
+	public synchronized void open(long lastSequence) {
+		try {
+			if (channel != null) {
+				channel.close();
+			}
+			Path parent = path.toAbsolutePath().getParent();
+			if (parent != null) {
+				Files.createDirectories(parent);
+			}
+			this.channel = FileChannel.open(path, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+				StandardOpenOption.TRUNCATE_EXISTING);
+			this.lastSequence = lastSequence;
+		} catch (IOException e) {
+			throw new UncheckedIOException("재고 원장 저널을 열 수 없습니다. " + path, e);
+		}
+	}
+
+	public synchronized StockLedgerEntry appendDeduction(Map<String, Integer> quantities) {
+		return append(sequence -> StockLedgerEntry.ofDeduction(sequence, quantities));
+	}
+
+	public synchronized StockLedgerEntry appendRestoration(Map<String, Integer> quantities) {
+		return append(sequence -> StockLedgerEntry.ofRestoration(sequence, quantities));
+	}
+
+	private StockLedgerEntry append(LongFunction<StockLedgerEntry> entryFactory) {
+		if (channel == null) {
+			throw new IllegalStateException("재고 원장 저널이 아직 열리지 않았습니다.");
+		}
+
+		StockLedgerEntry entry = entryFactory.apply(lastSequence + 1);
+		try {
+			ByteBuffer buffer = ByteBuffer.wrap(entry.toLine().getBytes(StandardCharsets.UTF_8));
+			while (buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+			if (fsync) {
+				channel.force(false);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("재고 원장 저널에 기록하지 못했습니다. " + path, e);
+		}
+
+		lastSequence = entry.getSequence();
+		openSequences.add(entry.getSequence());
+		return entry;
+	}
+
+	/**
+	 * 주문 트랜잭션이 커밋된 항목을 DB 반영 대기 큐에 넣는다.
+	 */
+	public synchronized void commit(StockLedgerEntry entry) {
+		openSequences.remove(entry.getSequence());
+		pendingEntries.add(entry);
+	}
+
+	/**
+	 * 주문 트랜잭션이 롤백된 항목. 파일에는 남지만 StockLedgerIntent 행이 없으므로 재생하지 않는다.
+	 */
+	public synchronized void discard(StockLedgerEntry entry) {
+		openSequences.remove(entry.getSequence());
+	}
+
+	/**
+	 * 아직 DB 에 반영되지 않은 항목을 커밋된 순서대로 최대 maxSize 개 꺼낸다.
+	 */
+	public synchronized List<StockLedgerEntry> drain(int maxSize) {
+		List<StockLedgerEntry> entries = new ArrayList<>(Math.min(maxSize, pendingEntries.size()));
+		while (entries.size() < maxSize && !pendingEntries.isEmpty()) {
+			entries.add(pendingEntries.poll());
+		}
+		return entries;
+	}
+
+	/**
+	 * 꺼낸 항목의 DB 반영이 끝난 뒤 호출한다. 커밋을 기다리는 항목이 있으면 그 줄을 잃지 않도록 비우지 않는다.
+	 */
+	public synchronized void truncateIfCaughtUp() {
+		if (channel == null || !pendingEntries.isEmpty() || !openSequences.isEmpty()) {
+			return;
+		}
+
+		try {
+			channel.truncate(0);
+			if (fsync) {
+				channel.force(true);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException("재고 원장 저널을 비우지 못했습니다. " + path, e);
+		}
+	}
+
+	public synchronized long getLastSequence() {
+		return lastSequence;
+	}
+
+	@PreDestroy
+	public synchronized void close() throws IOException {
+		if (channel != null) {
+			channel.close();
+			channel = null;
+		}
+	}
+
+}
@@ -0,0 +1,181 @@
+package sample.cafekiosk.spring.api.service.stock.ledger;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import lombok.extern.slf4j.Slf4j;
+import sample.cafekiosk.spring.domain.stock.StockLedgerCheckpoint;
+import sample.cafekiosk.spring.domain.stock.StockLedgerCheckpointRepository;
+import sample.cafekiosk.spring.domain.stock.StockLedgerIntent;
+import sample.cafekiosk.spring.domain.stock.StockLedgerIntentRepository;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+/**
+ * 재고 원장의 변화량을 모아서 주기적으로(그리고 종료 시) stock 테이블에 반영한다.
+ * 재고 반영과 StockLedgerIntent 삭제를 한 트랜잭션으로 묶고, 시작할 때 StockLedgerIntent 가 남아 있는 저널 항목만 재생한다.
+ * - 커밋되지 않은 주문의 항목은 StockLedgerIntent 가 없으므로 버려지고, 이미 반영한 항목은 StockLedgerIntent 가 지워졌으므로 건너뛴다
+ * - 체크포인트는 저널을 비운 뒤에도 시퀀스가 겹치지 않도록 반영한 가장 큰 시퀀스를 남긴다
+ */
+@Slf4j
+@ConditionalOnProperty(name = "cafekiosk.stock.ledger.enabled", havingValue = "true")
+@Component
+public class StockLedgerWriteBehind {
+
+	private final StockLedgerJournal journal;
+	private final StockRepository stockRepository;
+	private final StockLedgerCheckpointRepository checkpointRepository;
+	private final StockLedgerIntentRepository intentRepository;
+	private final TransactionTemplate transactionTemplate;
+	private final long flushIntervalMillis;
+	private final int flushBatchSize;
+
+	private final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "stock-ledger-write-behind");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	// flush() 는 synchronized 로 한 번에 하나만 실행된다
+	private List<StockLedgerEntry> inFlightEntries = List.of();
+
+	public StockLedgerWriteBehind(StockLedgerJournal journal, StockRepository stockRepository,
+		StockLedgerCheckpointRepository checkpointRepository, StockLedgerIntentRepository intentRepository,
+		PlatformTransactionManager transactionManager,
+		@Value("${cafekiosk.stock.ledger.flush-interval-millis:200}") long flushIntervalMillis,
+		@Value("${cafekiosk.stock.ledger.flush-batch-size:1000}") int flushBatchSize) {
+		this.journal = journal;
+		this.stockRepository = stockRepository;
+		this.checkpointRepository = checkpointRepository;
+		this.intentRepository = intentRepository;
+		this.transactionTemplate = new TransactionTemplate(transactionManager);
+		this.flushIntervalMillis = flushIntervalMillis;
+		this.flushBatchSize = flushBatchSize;
+	}
+
+	@PostConstruct
+	public void start() {
+		recover();
+		scheduler.scheduleWithFixedDelay(this::flushQuietly, flushIntervalMillis, flushIntervalMillis,
+			TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stop() throws InterruptedException {
+		scheduler.shutdown();
+		scheduler.awaitTermination(5, TimeUnit.SECONDS);
+		flush();
+	}
+
+	/**
+	 * 지금까지 쌓인 변화량을 모두 stock 테이블에 반영하고 반영한 항목 수를 돌려준다.
+	 * 반영에 실패한 묶음은 다음 flush 때 같은 묶음으로 다시 시도한다.
+	 */
+	public synchronized int flush() {
+		int flushedCount = 0;
+		while (true) {
+			if (inFlightEntries.isEmpty()) {
+				inFlightEntries = journal.drain(flushBatchSize);
+			}
+			if (inFlightEntries.isEmpty()) {
+				break;
+			}
+
+			apply(inFlightEntries);
+			flushedCount += inFlightEntries.size();
+			inFlightEntries = List.of();
+			journal.truncateIfCaughtUp();
+		}
+		return flushedCount;
+	}
+
+	private void flushQuietly() {
+		try {
+			flush();
+		} catch (RuntimeException e) {
+			log.error("재고 원장 반영에 실패했습니다. 다음 주기에 다시 시도합니다.", e);
+		}
+	}
+
+	/**
+	 * 재시작할 때 한 번 호출한다. 커밋되었지만 stock 테이블에 반영되지 않은 항목만 반영하고 저널을 새로 연다.
+	 */
+	void recover() {
+		long checkpoint = checkpointRepository.findById(StockLedgerCheckpoint.SINGLETON_ID)
+			.map(StockLedgerCheckpoint::getLastSequence)
+			.orElse(0L);
+		Set<Long> committedSequences = new HashSet<>(intentRepository.findAllJournalSequences());
+
+		List<StockLedgerEntry> entries = journal.readAll();
+		List<StockLedgerEntry> committedEntries = entries.stream()
+			.filter(entry -> committedSequences.contains(entry.getSequence()))
+			.collect(Collectors.toList());
+		long lastSequence = LongStream.concat(
+				entries.stream().mapToLong(StockLedgerEntry::getSequence),
+				committedSequences.stream().mapToLong(Long::longValue))
+			.reduce(checkpoint, Math::max);
+
+		if (!committedEntries.isEmpty()) {
+			apply(committedEntries);
+		}
+		log.info("재고 원장 저널 {}건 중 커밋된 {}건을 재생했습니다. (last={})", entries.size(), committedEntries.size(),
+			lastSequence);
+		if (committedEntries.size() < committedSequences.size()) {
+			log.error("커밋되었지만 저널에 없는 재고 원장 항목이 {}건 있습니다. fsync 를 끈 채로 프로세스가 죽었을 수 있습니다.",
+				committedSequences.size() - committedEntries.size());
+		}
+		journal.open(lastSequence);
+	}
+
+	/**
+	 * 같은 트랜잭션에서 StockLedgerIntent 가 남아 있는 항목만 반영하고 지우므로, 같은 항목을 두 번 반영하지 않는다.
+	 */
+	private void apply(List<StockLedgerEntry> entries) {
+		List<Long> sequences = entries.stream()
+			.map(StockLedgerEntry::getSequence)
+			.collect(Collectors.toList());
+
+		transactionTemplate.executeWithoutResult(status -> {
+			Set<Long> unappliedSequences = intentRepository.findAllById(sequences).stream()
+				.map(StockLedgerIntent::getJournalSequence)
+				.collect(Collectors.toSet());
+
+			Map<String, Integer> deltas = new TreeMap<>();
+			for (StockLedgerEntry entry : entries) {
+				if (unappliedSequences.contains(entry.getSequence())) {
+					entry.getDeltas().forEach((productNumber, delta) -> deltas.merge(productNumber, delta, Integer::sum));
+				}
+			}
+			deltas.forEach((productNumber, delta) -> {
+				if (delta != 0) {
+					stockRepository.addQuantity(productNumber, delta);
+				}
+			});
+			if (!unappliedSequences.isEmpty()) {
+				intentRepository.deleteAllByIdInBatch(unappliedSequences);
+			}
+
+			StockLedgerCheckpoint checkpoint = checkpointRepository.findById(StockLedgerCheckpoint.SINGLETON_ID)
+				.orElseGet(StockLedgerCheckpoint::create);
+			checkpoint.advanceTo(sequences.stream().mapToLong(Long::longValue).max().orElse(0L));
+			checkpointRepository.save(checkpoint);
+		});
+	}
+
+}
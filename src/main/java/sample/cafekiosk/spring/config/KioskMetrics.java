@@ -0,0 +1,143 @@
+package sample.cafekiosk.spring.config;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * 주문 / 메일 hot path 의 Micrometer 지표.
+ * - 미터는 생성할 때 한 번만 등록하고, 호출마다 레지스트리를 조회하지 않는다
+ * - cafekiosk.metrics.enabled=false 이면 미터를 등록하지 않고, 시간을 재지 않고 본문만 실행한다
+ */
+@Component
+public class KioskMetrics {
+
+	private static final KioskMetrics NOOP = new KioskMetrics(new SimpleMeterRegistry(), false);
+
+	@Getter
+	@RequiredArgsConstructor
+	public enum OrderStage {
+
+		PRODUCT_LOOKUP("product_lookup"),
+		STOCK_DEDUCTION("stock_deduction"),
+		ORDER_SAVE("order_save"),
+		RESPONSE_MAPPING("response_mapping");
+
+		private final String tag;
+
+	}
+
+	@Getter
+	@RequiredArgsConstructor
+	public enum MailOutcome {
+
+		SENT("sent"),
+		REJECTED("rejected"), // 메일 서버가 거절했거나 예외가 났다 (다시 시도한다)
+		THROTTLED("throttled"), // 수신자별 전송 한도를 넘어 미뤘다
+		GAVE_UP("gave_up"); // 최대 시도 횟수를 넘어 FAILED 로 남겼다
+
+		private final String tag;
+
+	}
+
+	private final boolean enabled;
+	private final Map<OrderStage, Timer> orderStageTimers = new EnumMap<>(OrderStage.class);
+	private final Map<MailOutcome, Counter> mailDispatchCounters = new EnumMap<>(MailOutcome.class);
+	private final Counter stockShortageCounter;
+	private final Timer mailSendSuccessTimer;
+	private final Timer mailSendFailureTimer;
+
+	public KioskMetrics(MeterRegistry registry, @Value("${cafekiosk.metrics.enabled:true}") boolean enabled) {
+		this.enabled = enabled;
+		if (!enabled) {
+			this.stockShortageCounter = null;
+			this.mailSendSuccessTimer = null;
+			this.mailSendFailureTimer = null;
+			return;
+		}
+
+		for (OrderStage stage : OrderStage.values()) {
+			orderStageTimers.put(stage, Timer.builder("kiosk.order.create.stage")
+				.description("주문 생성 단계별 소요 시간")
+				.tag("stage", stage.getTag())
+				.publishPercentileHistogram()
+				.register(registry));
+		}
+		for (MailOutcome outcome : MailOutcome.values()) {
+			mailDispatchCounters.put(outcome, Counter.builder("kiosk.mail.dispatch")
+				.description("outbox 메일 전송 결과")
+				.tag("outcome", outcome.getTag())
+				.register(registry));
+		}
+		this.stockShortageCounter = Counter.builder("kiosk.order.stock.shortage")
+			.description("재고 부족으로 거절된 주문 수")
+			.register(registry);
+		this.mailSendSuccessTimer = mailSendTimer(registry, "success");
+		this.mailSendFailureTimer = mailSendTimer(registry, "failure");
+	}
+
+	/**
+	 * 레지스트리가 없는 곳(단위 테스트 등)에서 쓰는 아무것도 기록하지 않는 인스턴스.
+	 */
+	public static KioskMetrics noop() {
+		return NOOP;
+	}
+
+	public <T> T recordOrderStage(OrderStage stage, Supplier<T> body) {
+		if (!enabled) {
+			return body.get();
+		}
+		long start = System.nanoTime();
+		try {
+			return body.get();
+		} finally {
+			orderStageTimers.get(stage).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	public void recordOrderStage(OrderStage stage, Runnable body) {
+		recordOrderStage(stage, () -> {
+			body.run();
+			return null;
+		});
+	}
+
+	public void incrementStockShortage() {
+		if (enabled) {
+			stockShortageCounter.increment();
+		}
+	}
+
+	public void incrementMailDispatch(MailOutcome outcome) {
+		if (enabled) {
+			mailDispatchCounters.get(outcome).increment();
+		}
+	}
+
+	public void recordMailSend(long elapsedNanos, boolean success) {
+		if (enabled) {
+			(success ? mailSendSuccessTimer : mailSendFailureTimer)
+				.record(elapsedNanos, TimeUnit.NANOSECONDS);
+		}
+	}
+
+	private static Timer mailSendTimer(MeterRegistry registry, String result) {
+		return Timer.builder("kiosk.mail.send")
+			.description("MailService.sendMail 소요 시간")
+			.tag("result", result)
+			.publishPercentileHistogram()
+			.register(registry);
+	}
+
+}
@@ -0,0 +1,59 @@
+package sample.cafekiosk.spring.config;
+
+import java.util.concurrent.ExecutorService;
+
+import org.apache.coyote.ProtocolHandler;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatProtocolHandlerCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.zaxxer.hikari.HikariDataSource;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * cafekiosk.execution.virtual-threads.enabled=true 이면 Tomcat 요청 처리를 가상 스레드에서 실행한다.
+ * - 요청마다 가상 스레드를 만들므로 스레드 수가 아니라 Hikari 커넥션 풀 크기가 동시 DB 작업의 상한이 된다
+ *   그래서 이 모드에서만 풀 크기를 키우고, 커넥션을 오래 기다리지 않고 빨리 실패하도록 대기 시간을 줄인다
+ * - JDK 21 미만에서 실행하면 경고만 남기고 기존 플랫폼 스레드 풀을 그대로 쓴다
+ */
+@Slf4j
+@ConditionalOnProperty(name = "cafekiosk.execution.virtual-threads.enabled", havingValue = "true")
+@Configuration
+public class VirtualThreadConfig {
+
+	@Bean
+	public TomcatProtocolHandlerCustomizer<ProtocolHandler> virtualThreadProtocolHandlerCustomizer() {
+		return protocolHandler -> {
+			ExecutorService executor = VirtualThreads.newThreadPerTaskExecutor("tomcat-virtual-").orElse(null);
+			if (executor == null) {
+				log.warn("가상 스레드를 지원하지 않는 JDK({}) 입니다. 플랫폼 스레드 풀로 요청을 처리합니다.",
+					System.getProperty("java.version"));
+				return;
+			}
+			protocolHandler.setExecutor(executor);
+		};
+	}
+
+	@Bean
+	public static BeanPostProcessor virtualThreadConnectionPoolCustomizer(
+		@Value("${cafekiosk.execution.virtual-threads.maximum-pool-size:20}") int maximumPoolSize,
+		@Value("${cafekiosk.execution.virtual-threads.connection-timeout-millis:3000}") long connectionTimeoutMillis
+	) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessBeforeInitialization(Object bean, String beanName) {
+				if (bean instanceof HikariDataSource) {
+					HikariDataSource dataSource = (HikariDataSource)bean;
+					dataSource.setMaximumPoolSize(maximumPoolSize);
+					dataSource.setConnectionTimeout(connectionTimeoutMillis);
+				}
+				return bean;
+			}
+		};
+	}
+
+}
@@ -0,0 +1,57 @@
+package sample.cafekiosk.spring.config;
+
+import java.lang.reflect.Method;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * JDK 21 의 가상 스레드를 리플렉션으로 만든다.
+ * 소스는 Java 17 기준으로 컴파일되므로 Thread.ofVirtual() 을 직접 부를 수 없고, 21 미만에서 실행하면 Optional.empty() 를 돌려준다.
+ */
+public final class VirtualThreads {
+
+	private VirtualThreads() {
+	}
+
+	public static boolean isSupported() {
+		return findMethod(Thread.class, "ofVirtual").isPresent();
+	}
+
+	/**
+	 * 작업마다 새 가상 스레드를 만드는 ExecutorService. 스레드 이름은 namePrefix + 일련번호이다.
+	 */
+	public static Optional<ExecutorService> newThreadPerTaskExecutor(String namePrefix) {
+		return newThreadFactory(namePrefix).map(factory -> {
+			try {
+				Method newThreadPerTaskExecutor = Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class);
+				return (ExecutorService)newThreadPerTaskExecutor.invoke(null, factory);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("가상 스레드 Executor 를 만들 수 없습니다.", e);
+			}
+		});
+	}
+
+	public static Optional<ThreadFactory> newThreadFactory(String namePrefix) {
+		return findMethod(Thread.class, "ofVirtual").map(ofVirtual -> {
+			try {
+				Object builder = ofVirtual.invoke(null);
+				Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+				builder = builderType.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+				return (ThreadFactory)builderType.getMethod("factory").invoke(builder);
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("가상 스레드 ThreadFactory 를 만들 수 없습니다.", e);
+			}
+		});
+	}
+
+	private static Optional<Method> findMethod(Class<?> type, String name) {
+		try {
+			return Optional.of(type.getMethod(name));
+		} catch (NoSuchMethodException e) {
+			return Optional.empty();
+		}
+	}
+
+}
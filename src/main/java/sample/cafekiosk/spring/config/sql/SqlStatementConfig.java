@@ -0,0 +1,70 @@
+package sample.cafekiosk.spring.config.sql;
+
+import java.util.concurrent.TimeUnit;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+
+/**
+ * DataSource 를 datasource-proxy 로 감싸서 실행된 SQL 을 세고, 느린 SQL 은 바인딩된 파라미터와 함께 남긴다.
+ * - 요청 / 트랜잭션별 건수는 SqlStatementRecorder 가 기록한다
+ * - 테스트에서는 SqlStatementRecorder.open() 으로 구간을 열어 SQL 개수 예산을 검증한다
+ */
+@ConditionalOnProperty(name = "cafekiosk.sql.proxy.enabled", havingValue = "true", matchIfMissing = true)
+@Configuration
+public class SqlStatementConfig {
+
+	@Bean
+	public SqlStatementRecorder sqlStatementRecorder(
+		@Value("${cafekiosk.sql.transaction-warn-threshold:50}") int transactionWarnThreshold
+	) {
+		return new SqlStatementRecorder(transactionWarnThreshold);
+	}
+
+	/**
+	 * BeanPostProcessor 는 다른 빈보다 먼저 만들어지므로 static 으로 선언하고, SqlStatementRecorder 는 나중에 꺼낸다.
+	 */
+	@Bean
+	public static BeanPostProcessor dataSourceProxyBeanPostProcessor(
+		ObjectProvider<SqlStatementRecorder> sqlStatementRecorder,
+		@Value("${cafekiosk.sql.slow-query-threshold-millis:100}") long slowQueryThresholdMillis
+	) {
+		return new BeanPostProcessor() {
+			@Override
+			public Object postProcessAfterInitialization(Object bean, String beanName) {
+				if (!(bean instanceof DataSource) || bean instanceof ProxyDataSource) {
+					return bean;
+				}
+				return ProxyDataSourceBuilder.create((DataSource)bean)
+					.name(beanName)
+					.listener(sqlStatementRecorder.getObject())
+					.logSlowQueryBySlf4j(slowQueryThresholdMillis, TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN)
+					.build();
+			}
+		};
+	}
+
+	@Bean
+	public FilterRegistrationBean<SqlStatementLoggingFilter> sqlStatementLoggingFilter(
+		SqlStatementRecorder sqlStatementRecorder,
+		@Value("${cafekiosk.sql.request-warn-threshold:100}") int requestWarnThreshold
+	) {
+		FilterRegistrationBean<SqlStatementLoggingFilter> registration = new FilterRegistrationBean<>(
+			new SqlStatementLoggingFilter(sqlStatementRecorder, requestWarnThreshold));
+		registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+		return registration;
+	}
+
+}
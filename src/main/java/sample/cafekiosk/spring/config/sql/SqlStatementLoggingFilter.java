@@ -0,0 +1,49 @@
+package sample.cafekiosk.spring.config.sql;
+
+import java.io.IOException;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * 요청마다 실행된 SQL 의 개수와 소요 시간을 남긴다.
+ * 요청 하나가 requestWarnThreshold 건을 넘기면 N+1 등을 의심할 수 있도록 실행한 SQL 과 함께 경고한다.
+ * SSE 처럼 비동기로 이어지는 응답은 요청 스레드가 반환될 때까지만 센다.
+ */
+@Slf4j
+public class SqlStatementLoggingFilter extends OncePerRequestFilter {
+
+	private final SqlStatementRecorder recorder;
+	private final int requestWarnThreshold;
+
+	public SqlStatementLoggingFilter(SqlStatementRecorder recorder, int requestWarnThreshold) {
+		this.recorder = recorder;
+		this.requestWarnThreshold = requestWarnThreshold;
+	}
+
+	@Override
+	protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+		throws ServletException, IOException {
+		String name = request.getMethod() + " " + request.getRequestURI();
+		SqlStatementScope scope = recorder.open(name);
+		try {
+			filterChain.doFilter(request, response);
+		} finally {
+			scope.close();
+			SqlStatistics statistics = scope.getStatistics();
+			if (statistics.getTotalCount() > requestWarnThreshold) {
+				log.warn("요청 {} 에서 SQL 이 {}건 실행되었습니다. (경고 기준 {}건) {}", name, statistics.getTotalCount(),
+					requestWarnThreshold, statistics.describe());
+			} else if (statistics.getTotalCount() > 0) {
+				log.debug("요청 {} : SQL {}건, {}ms", name, statistics.getTotalCount(), statistics.getElapsedMillis());
+			}
+		}
+	}
+
+}
@@ -0,0 +1,117 @@
+package sample.cafekiosk.spring.config.sql;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+/**
+ * 프록시 DataSource 에서 실행된 SQL 을 스레드별로 열려 있는 구간(SqlStatementScope)에 기록한다.
+ * - 요청 구간은 SqlStatementLoggingFilter 가, 테스트 구간은 open() 으로 직접 연다
+ * - 트랜잭션 안에서 처음 SQL 이 실행되면 트랜잭션 구간을 열고, 트랜잭션이 끝날 때 건수를 남긴다
+ * - 트랜잭션 하나가 transactionWarnThreshold 건을 넘기면 실행한 SQL 과 함께 경고한다
+ */
+@Slf4j
+public class SqlStatementRecorder implements QueryExecutionListener {
+
+	private final ThreadLocal<List<SqlStatementScope>> activeScopes = ThreadLocal.withInitial(ArrayList::new);
+	private final int transactionWarnThreshold;
+
+	public SqlStatementRecorder(int transactionWarnThreshold) {
+		this.transactionWarnThreshold = transactionWarnThreshold;
+	}
+
+	public SqlStatementScope open(String name) {
+		SqlStatementScope scope = new SqlStatementScope(name, this);
+		activeScopes.get().add(scope);
+		return scope;
+	}
+
+	void close(SqlStatementScope scope) {
+		List<SqlStatementScope> scopes = activeScopes.get();
+		scopes.removeIf(active -> active == scope);
+		if (scopes.isEmpty()) {
+			activeScopes.remove();
+		}
+	}
+
+	@Override
+	public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()
+			&& TransactionSynchronizationManager.isActualTransactionActive()) {
+			openTransactionScopeIfAbsent();
+		}
+	}
+
+	@Override
+	public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+		List<SqlStatementScope> scopes = activeScopes.get();
+		if (scopes.isEmpty()) {
+			activeScopes.remove();
+			return;
+		}
+		long elapsedMillis = execInfo.getElapsedTime();
+		for (QueryInfo queryInfo : queryInfoList) {
+			String sql = queryInfo.getQuery();
+			SqlStatementType type = SqlStatementType.from(sql);
+			for (SqlStatementScope scope : scopes) {
+				scope.record(type, sql, elapsedMillis);
+			}
+			elapsedMillis = 0; // Statement batch 의 소요 시간은 첫 SQL 에만 더한다
+		}
+	}
+
+	private void openTransactionScopeIfAbsent() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations()) {
+			if (synchronization instanceof TransactionScopeSynchronization) {
+				return;
+			}
+		}
+		String name = TransactionSynchronizationManager.getCurrentTransactionName();
+		TransactionSynchronizationManager.registerSynchronization(new TransactionScopeSynchronization(open(name)));
+	}
+
+	/**
+	 * REQUIRES_NEW 로 트랜잭션이 보류되면 그동안 실행된 SQL 은 보류된 트랜잭션에 세지 않는다.
+	 */
+	private class TransactionScopeSynchronization implements TransactionSynchronization {
+
+		private final SqlStatementScope scope;
+
+		private TransactionScopeSynchronization(SqlStatementScope scope) {
+			this.scope = scope;
+		}
+
+		@Override
+		public void suspend() {
+			close(scope);
+		}
+
+		@Override
+		public void resume() {
+			activeScopes.get().add(scope);
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			scope.close();
+			SqlStatistics statistics = scope.getStatistics();
+			if (statistics.getTotalCount() > transactionWarnThreshold) {
+				log.warn("트랜잭션 {} 에서 SQL 이 {}건 실행되었습니다. (경고 기준 {}건) {}", scope.getName(),
+					statistics.getTotalCount(), transactionWarnThreshold, statistics.describe());
+				return;
+			}
+			if (log.isDebugEnabled()) {
+				log.debug("트랜잭션 {} : {}", scope.getName(), statistics.describe());
+			}
+		}
+
+	}
+
+}
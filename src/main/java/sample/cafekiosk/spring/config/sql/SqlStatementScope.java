@@ -0,0 +1,48 @@
+package sample.cafekiosk.spring.config.sql;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * 열려 있는 동안 같은 스레드에서 실행된 SQL 을 센다. 닫으면 더 이상 세지 않는다.
+ * - 구간은 중첩될 수 있고, SQL 은 열려 있는 모든 구간에 기록된다
+ * - SQL 문장은 MAX_STATEMENTS 개까지만 남긴다
+ */
+public class SqlStatementScope implements AutoCloseable {
+
+	static final int MAX_STATEMENTS = 100;
+
+	@Getter
+	private final String name;
+	private final SqlStatementRecorder recorder;
+	private final Map<SqlStatementType, Integer> counts = new EnumMap<>(SqlStatementType.class);
+	private final List<String> statements = new ArrayList<>();
+	private long elapsedMillis;
+
+	SqlStatementScope(String name, SqlStatementRecorder recorder) {
+		this.name = name;
+		this.recorder = recorder;
+	}
+
+	void record(SqlStatementType type, String sql, long millis) {
+		counts.merge(type, 1, Integer::sum);
+		elapsedMillis += millis;
+		if (statements.size() < MAX_STATEMENTS) {
+			statements.add(sql);
+		}
+	}
+
+	public SqlStatistics getStatistics() {
+		return new SqlStatistics(counts, elapsedMillis, statements);
+	}
+
+	@Override
+	public void close() {
+		recorder.close(this);
+	}
+
+}
@@ -0,0 +1,24 @@
+package sample.cafekiosk.spring.config.sql;
+
+public enum SqlStatementType {
+
+	SELECT,
+	INSERT,
+	UPDATE,
+	DELETE,
+	OTHER; // 시퀀스 조회(call next value ...), DDL 등
+
+	public static SqlStatementType from(String sql) {
+		int start = 0;
+		while (start < sql.length() && Character.isWhitespace(sql.charAt(start))) {
+			start++;
+		}
+		for (SqlStatementType type : values()) {
+			if (type != OTHER && sql.regionMatches(true, start, type.name(), 0, type.name().length())) {
+				return type;
+			}
+		}
+		return OTHER;
+	}
+
+}
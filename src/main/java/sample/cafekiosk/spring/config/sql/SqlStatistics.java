@@ -0,0 +1,51 @@
+package sample.cafekiosk.spring.config.sql;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.Getter;
+
+/**
+ * 한 구간(요청 / 트랜잭션 / 테스트 블록)에서 실행된 SQL 의 개수와 소요 시간.
+ * JDBC batch 로 묶인 INSERT 는 실행 한 번으로 센다.
+ */
+@Getter
+public class SqlStatistics {
+
+	private final Map<SqlStatementType, Integer> counts;
+	private final int totalCount;
+	private final long elapsedMillis;
+	private final List<String> statements;
+
+	SqlStatistics(Map<SqlStatementType, Integer> counts, long elapsedMillis, List<String> statements) {
+		this.counts = Collections.unmodifiableMap(new EnumMap<>(counts));
+		this.totalCount = counts.values().stream().mapToInt(Integer::intValue).sum();
+		this.elapsedMillis = elapsedMillis;
+		this.statements = List.copyOf(statements);
+	}
+
+	public int getCount(SqlStatementType type) {
+		return counts.getOrDefault(type, 0);
+	}
+
+	/**
+	 * 로그와 테스트 실패 메시지용 요약. 실행된 SQL 을 순서대로 함께 보여준다.
+	 */
+	public String describe() {
+		StringBuilder builder = new StringBuilder()
+			.append("SQL ").append(totalCount).append("건 ").append(counts)
+			.append(", ").append(elapsedMillis).append("ms");
+		for (int i = 0; i < statements.size(); i++) {
+			builder.append(System.lineSeparator()).append("  ").append(i + 1).append(") ").append(statements.get(i));
+		}
+		return builder.toString();
+	}
+
+	@Override
+	public String toString() {
+		return describe();
+	}
+
+}
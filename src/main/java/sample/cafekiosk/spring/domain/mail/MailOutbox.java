@@ -0,0 +1,109 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import java.time.LocalDateTime;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.EnumType;
+import javax.persistence.Enumerated;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 보낼 메일을 먼저 저장해 두는 outbox.
+ * MailDispatcher 가 claimToken 으로 행을 선점한 뒤 전송하고, 실패하면 nextAttemptAt 이후에 다시 시도한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = {
+	@Index(name = "idx_mail_outbox_status_next_attempt", columnList = "status, nextAttemptAt"),
+	@Index(name = "idx_mail_outbox_claim_token", columnList = "claimToken")
+})
+@Entity
+public class MailOutbox extends BaseEntity {
+
+	private static final int ERROR_MAX_LENGTH = 255;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private String fromEmail;
+	private String toEmail;
+	private String subject;
+
+	@Column(length = 4000)
+	private String content;
+
+	@Enumerated(EnumType.STRING)
+	private MailOutboxStatus status;
+
+	private int attemptCount;
+
+	private LocalDateTime nextAttemptAt;
+
+	private String claimToken;
+
+	private LocalDateTime claimedAt;
+
+	private String lastError;
+
+	@Builder
+	private MailOutbox(String fromEmail, String toEmail, String subject, String content, LocalDateTime nextAttemptAt) {
+		this.fromEmail = fromEmail;
+		this.toEmail = toEmail;
+		this.subject = subject;
+		this.content = content;
+		this.status = MailOutboxStatus.PENDING;
+		this.attemptCount = 0;
+		this.nextAttemptAt = nextAttemptAt;
+	}
+
+	public static MailOutbox create(String fromEmail, String toEmail, String subject, String content,
+		LocalDateTime requestedDateTime) {
+		return MailOutbox.builder()
+			.fromEmail(fromEmail)
+			.toEmail(toEmail)
+			.subject(subject)
+			.content(content)
+			.nextAttemptAt(requestedDateTime)
+			.build();
+	}
+
+	public void markSent() {
+		this.status = MailOutboxStatus.SENT;
+		this.attemptCount++;
+		this.claimToken = null;
+		this.lastError = null;
+	}
+
+	/**
+	 * 전송 실패를 기록한다. 최대 시도 횟수에 닿으면 더 이상 재시도하지 않는다.
+	 */
+	public void markFailed(String error, LocalDateTime nextAttemptAt, int maxAttempts) {
+		this.attemptCount++;
+		this.claimToken = null;
+		this.lastError = error != null && error.length() > ERROR_MAX_LENGTH ? error.substring(0, ERROR_MAX_LENGTH) : error;
+		this.nextAttemptAt = nextAttemptAt;
+		this.status = attemptCount >= maxAttempts ? MailOutboxStatus.FAILED : MailOutboxStatus.PENDING;
+	}
+
+	/**
+	 * 시도 횟수를 늘리지 않고 나중으로 미룬다 (수신자별 전송 한도 초과 등).
+	 */
+	public void defer(LocalDateTime nextAttemptAt) {
+		this.claimToken = null;
+		this.nextAttemptAt = nextAttemptAt;
+		this.status = MailOutboxStatus.PENDING;
+	}
+
+}
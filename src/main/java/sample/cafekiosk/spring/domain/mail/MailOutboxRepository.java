@@ -0,0 +1,40 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface MailOutboxRepository extends JpaRepository<MailOutbox, Long> {
+
+	/**
+	 * 전송할 차례가 된 대기 메일과, 선점한 뒤 staleBefore 까지 결과가 기록되지 않은(노드가 죽은) 메일
+	 */
+	@Query(" SELECT m.id FROM MailOutbox m "
+		+ " WHERE (m.status = :pending AND m.nextAttemptAt <= :now) "
+		+ " OR (m.status = :sending AND m.claimedAt < :staleBefore) "
+		+ " ORDER BY m.id ")
+	List<Long> findDispatchableIds(MailOutboxStatus pending, MailOutboxStatus sending, LocalDateTime now,
+		LocalDateTime staleBefore, Pageable pageable);
+
+	/**
+	 * 조회 이후 다른 노드가 먼저 선점한 행은 조건에서 걸러지므로 같은 메일을 두 노드가 보내지 않는다.
+	 */
+	@Modifying
+	@Query(" UPDATE MailOutbox m SET m.status = :sending, m.claimToken = :claimToken, m.claimedAt = :now "
+		+ " WHERE m.id IN :ids "
+		+ " AND ((m.status = :pending AND m.nextAttemptAt <= :now) "
+		+ " OR (m.status = :sending AND m.claimedAt < :staleBefore)) ")
+	int claim(List<Long> ids, String claimToken, MailOutboxStatus pending, MailOutboxStatus sending,
+		LocalDateTime now, LocalDateTime staleBefore);
+
+	List<MailOutbox> findAllByClaimToken(String claimToken);
+
+	long countByStatus(MailOutboxStatus status);
+
+}
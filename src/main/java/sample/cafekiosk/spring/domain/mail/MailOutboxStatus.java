@@ -0,0 +1,17 @@
+package sample.cafekiosk.spring.domain.mail;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+@Getter
+@RequiredArgsConstructor
+public enum MailOutboxStatus {
+
+	PENDING("전송대기"),
+	SENDING("전송중"),
+	SENT("전송완료"),
+	FAILED("전송실패");
+
+	private final String text;
+
+}
@@ -12,7 +12,9 @@ import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
 import javax.persistence.OneToMany;
+import javax.persistence.SequenceGenerator;
 import javax.persistence.Table;
 
 import lombok.AccessLevel;
@@ -25,12 +27,16 @@ import sample.cafekiosk.spring.domain.product.Product;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+	@Index(name = "idx_orders_registered_date_time_id", columnList = "registeredDateTime, id"),
+	@Index(name = "idx_orders_order_status_registered_date_time_id", columnList = "orderStatus, registeredDateTime, id")
+})
 @Entity
 public class Order extends BaseEntity {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "orders_seq_generator")
+	@SequenceGenerator(name = "orders_seq_generator", sequenceName = "orders_seq", allocationSize = 50)
 	private Long id;
 
 	@Enumerated(EnumType.STRING)
@@ -61,6 +67,31 @@ public class Order extends BaseEntity {
 			.build();
 	}
 
+	public void completePayment() {
+		if (!orderStatus.canTransitionTo(OrderStatus.PAYMENT_COMPLETED)) {
+			throw new IllegalArgumentException("결제를 완료할 수 없는 주문입니다.");
+		}
+		this.orderStatus = OrderStatus.PAYMENT_COMPLETED;
+	}
+
+	/**
+	 * OrderStatus 에 정의된 전이만 허용한다. 결제 완료는 매출 집계와 함께 처리해야 하므로 completePayment 를 사용한다.
+	 */
+	public void changeStatus(OrderStatus next) {
+		if (next == OrderStatus.PAYMENT_COMPLETED) {
+			completePayment();
+			return;
+		}
+		if (!orderStatus.canTransitionTo(next)) {
+			throw new IllegalArgumentException("변경할 수 없는 주문 상태입니다.");
+		}
+		this.orderStatus = next;
+	}
+
+	public boolean isPaymentCompleted() {
+		return orderStatus == OrderStatus.PAYMENT_COMPLETED;
+	}
+
 	private int calculateTotalPrice(List<Product> products) {
 		return products.stream()
 			.mapToInt(Product::getPrice)
@@ -0,0 +1,53 @@
+package sample.cafekiosk.spring.domain.order;
+
+import javax.persistence.Column;
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 클라이언트가 보낸 Idempotency-Key 와 그 키로 만들어진 주문.
+ * 주문과 같은 트랜잭션에서 저장되므로, 행이 있으면 주문도 반드시 커밋되어 있다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_order_idempotency_key", columnNames = "idempotencyKey"))
+@Entity
+public class OrderIdempotencyKey extends BaseEntity {
+
+	public static final int KEY_MAX_LENGTH = 100;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(length = KEY_MAX_LENGTH)
+	private String idempotencyKey;
+
+	private String requestHash;
+
+	private Long orderId;
+
+	private OrderIdempotencyKey(final String idempotencyKey, final String requestHash, final Long orderId) {
+		this.idempotencyKey = idempotencyKey;
+		this.requestHash = requestHash;
+		this.orderId = orderId;
+	}
+
+	public static OrderIdempotencyKey create(String idempotencyKey, String requestHash, Long orderId) {
+		return new OrderIdempotencyKey(idempotencyKey, requestHash, orderId);
+	}
+
+	public boolean isSameRequest(String requestHash) {
+		return this.requestHash.equals(requestHash);
+	}
+
+}
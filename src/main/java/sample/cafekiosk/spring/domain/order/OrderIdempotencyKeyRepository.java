@@ -0,0 +1,13 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface OrderIdempotencyKeyRepository extends JpaRepository<OrderIdempotencyKey, Long> {
+
+	Optional<OrderIdempotencyKey> findByIdempotencyKey(String idempotencyKey);
+
+}
@@ -2,17 +2,126 @@ package sample.cafekiosk.spring.domain.order;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+	/**
+	 * 주문 상품과 상품까지 한 번에 읽는다. (OrderResponse 변환 시 지연 로딩 없음)
+	 */
+	@EntityGraph(attributePaths = {"orderProducts", "orderProducts.product"})
+	Optional<Order> findWithProductsById(Long id);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+	@Query(" SELECT DISTINCT o FROM Order o "
+		+ " LEFT JOIN FETCH o.orderProducts op LEFT JOIN FETCH op.product "
+		+ " WHERE o.registeredDateTime >= :startDateTime AND o.registeredDateTime < :endDateTime "
+		+ " ORDER BY o.registeredDateTime, o.id, op.id ")
+	List<Order> findAllWithProductsBy(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+	@Query(" SELECT DISTINCT o FROM Order o "
+		+ " LEFT JOIN FETCH o.orderProducts op LEFT JOIN FETCH op.product "
+		+ " WHERE o.orderStatus = :orderStatus "
+		+ " ORDER BY o.registeredDateTime, o.id, op.id ")
+	List<Order> findAllWithProductsBy(OrderStatus orderStatus);
+
+	/**
+	 * (registeredDateTime, id) 커서 다음의 주문 id 를 정렬 순서대로 읽는다. OFFSET 없이 인덱스에서 바로 이어 읽는다.
+	 * select id from orders
+	 * where registered_date_time >= ? and registered_date_time < ?
+	 * and (registered_date_time > ? or (registered_date_time = ? and id > ?))
+	 * order by registered_date_time, id limit ?;
+	 */
+	@Query(" SELECT o.id FROM Order o "
+		+ " WHERE o.registeredDateTime >= :startDateTime AND o.registeredDateTime < :endDateTime "
+		+ " AND (o.registeredDateTime > :cursorDateTime "
+		+ " OR (o.registeredDateTime = :cursorDateTime AND o.id > :cursorId)) "
+		+ " ORDER BY o.registeredDateTime, o.id ")
+	List<Long> findIdsAfter(LocalDateTime startDateTime, LocalDateTime endDateTime,
+		LocalDateTime cursorDateTime, Long cursorId, Pageable pageable);
+
+	/**
+	 * select id from orders
+	 * where order_status = ? and registered_date_time >= ? and registered_date_time < ?
+	 * and (registered_date_time > ? or (registered_date_time = ? and id > ?))
+	 * order by registered_date_time, id limit ?;
+	 */
+	@Query(" SELECT o.id FROM Order o "
+		+ " WHERE o.orderStatus = :orderStatus "
+		+ " AND o.registeredDateTime >= :startDateTime AND o.registeredDateTime < :endDateTime "
+		+ " AND (o.registeredDateTime > :cursorDateTime "
+		+ " OR (o.registeredDateTime = :cursorDateTime AND o.id > :cursorId)) "
+		+ " ORDER BY o.registeredDateTime, o.id ")
+	List<Long> findIdsAfter(OrderStatus orderStatus, LocalDateTime startDateTime, LocalDateTime endDateTime,
+		LocalDateTime cursorDateTime, Long cursorId, Pageable pageable);
+
+	@QueryHints(@QueryHint(name = org.hibernate.jpa.QueryHints.HINT_PASS_DISTINCT_THROUGH, value = "false"))
+	@Query(" SELECT DISTINCT o FROM Order o "
+		+ " LEFT JOIN FETCH o.orderProducts op LEFT JOIN FETCH op.product "
+		+ " WHERE o.id IN :ids "
+		+ " ORDER BY o.registeredDateTime, o.id, op.id ")
+	List<Order> findAllWithProductsByIdIn(List<Long> ids);
+
+	/**
+	 * 엔티티 없이 주문 / 상품 컬럼만 평평하게 읽는다. 주문 상품 한 줄이 한 행이다.
+	 * [order.id, order.totalPrice, order.registeredDateTime, product.id, productNumber, type, sellingStatus, name, price]
+	 */
+	@Query(" SELECT o.id, o.totalPrice, o.registeredDateTime, "
+		+ " p.id, p.productNumber, p.type, p.sellingStatus, p.name, p.price "
+		+ " FROM Order o LEFT JOIN o.orderProducts op LEFT JOIN op.product p "
+		+ " WHERE o.registeredDateTime >= :startDateTime AND o.registeredDateTime < :endDateTime "
+		+ " ORDER BY o.registeredDateTime, o.id, op.id ")
+	List<Object[]> findOrderRowsBy(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
 	@Query(" SELECT o FROM Order o WHERE o.registeredDateTime >= :startDateTime AND "
 		+ " o.registeredDateTime < :endDateTime "
 		+ " AND o.orderStatus = :orderStatus ")
 	List<Order> findOrderBy(LocalDateTime startDateTime, LocalDateTime endDateTime, OrderStatus orderStatus);
 
+	/**
+	 * select count(*), sum(total_price)
+	 * from orders
+	 * where registered_date_time >= ? and registered_date_time < ? and order_status in (?, ...);
+	 */
+	@Query(" SELECT new sample.cafekiosk.spring.domain.order.OrderSalesSummary(COUNT(o), SUM(o.totalPrice)) "
+		+ " FROM Order o WHERE o.registeredDateTime >= :startDateTime AND "
+		+ " o.registeredDateTime < :endDateTime "
+		+ " AND o.orderStatus IN :orderStatuses ")
+	OrderSalesSummary findSalesSummaryBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+		List<OrderStatus> orderStatuses);
+
+	/**
+	 * select id from orders
+	 * where id in (...) and order_status = ?
+	 * order by id
+	 * for update;
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query(" SELECT o.id FROM Order o WHERE o.id IN :ids AND o.orderStatus = :orderStatus ORDER BY o.id ")
+	List<Long> findIdsForUpdateBy(List<Long> ids, OrderStatus orderStatus);
+
+	/**
+	 * update orders
+	 * set order_status = ?
+	 * where id in (...) and order_status = ?;
+	 */
+	@Modifying(clearAutomatically = true)
+	@Query(" UPDATE Order o SET o.orderStatus = :targetStatus "
+		+ " WHERE o.id IN :ids AND o.orderStatus = :currentStatus ")
+	int updateOrderStatus(List<Long> ids, OrderStatus currentStatus, OrderStatus targetStatus);
+
 }
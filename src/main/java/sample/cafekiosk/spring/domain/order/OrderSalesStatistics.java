@@ -0,0 +1,50 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import lombok.Getter;
+
+/**
+ * 주문을 한 건씩 흘려보내며 쌓는 매출 통계. 주문 수와 관계없이 메모리 사용량이 일정하다.
+ */
+@Getter
+public class OrderSalesStatistics {
+
+	private static final int HOURS_OF_DAY = 24;
+
+	private long orderCount;
+	private long totalAmount;
+	private int maxOrderAmount;
+	private final long[] hourlyAmounts = new long[HOURS_OF_DAY];
+	private final long[] hourlyOrderCounts = new long[HOURS_OF_DAY];
+
+	public void accept(LocalDateTime registeredDateTime, int totalPrice) {
+		orderCount++;
+		totalAmount += totalPrice;
+		maxOrderAmount = Math.max(maxOrderAmount, totalPrice);
+		hourlyAmounts[registeredDateTime.getHour()] += totalPrice;
+		hourlyOrderCounts[registeredDateTime.getHour()]++;
+	}
+
+	public long getAverageOrderAmount() {
+		return orderCount == 0 ? 0L : totalAmount / orderCount;
+	}
+
+	public long getHourlyAmount(int hour) {
+		return hourlyAmounts[hour];
+	}
+
+	public long[] getHourlyAmounts() {
+		return Arrays.copyOf(hourlyAmounts, HOURS_OF_DAY);
+	}
+
+	public long getHourlyOrderCount(int hour) {
+		return hourlyOrderCounts[hour];
+	}
+
+	public long[] getHourlyOrderCounts() {
+		return Arrays.copyOf(hourlyOrderCounts, HOURS_OF_DAY);
+	}
+
+}
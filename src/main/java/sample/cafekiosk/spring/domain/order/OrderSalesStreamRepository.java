@@ -0,0 +1,65 @@
+package sample.cafekiosk.spring.domain.order;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+
+import javax.sql.DataSource;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+/**
+ * 주문을 엔티티로 올리지 않고 forward-only 커서로 한 행씩 읽어 집계한다.
+ * fetch size 만큼만 드라이버에 버퍼링되므로 주문이 많아도 영속성 컨텍스트와 힙이 커지지 않는다.
+ */
+@Repository
+public class OrderSalesStreamRepository {
+
+	private static final String SALES_SQL = "SELECT o.registered_date_time, o.total_price FROM orders o "
+		+ "WHERE o.registered_date_time >= ? AND o.registered_date_time < ? AND o.order_status IN (%s)";
+
+	private final JdbcTemplate jdbcTemplate;
+
+	public OrderSalesStreamRepository(
+		DataSource dataSource,
+		@Value("${cafekiosk.order.statistics.fetch-size:1000}") int fetchSize
+	) {
+		this.jdbcTemplate = new JdbcTemplate(dataSource);
+		this.jdbcTemplate.setFetchSize(fetchSize);
+	}
+
+	/**
+	 * select registered_date_time, total_price
+	 * from orders
+	 * where registered_date_time >= ? and registered_date_time < ? and order_status in (?, ...);
+	 */
+	public OrderSalesStatistics aggregateSalesBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+		List<OrderStatus> orderStatuses) {
+		OrderSalesStatistics statistics = new OrderSalesStatistics();
+		String sql = String.format(SALES_SQL, String.join(", ", Collections.nCopies(orderStatuses.size(), "?")));
+
+		jdbcTemplate.query(
+			connection -> {
+				PreparedStatement statement = connection.prepareStatement(sql,
+					ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+				statement.setTimestamp(1, Timestamp.valueOf(startDateTime));
+				statement.setTimestamp(2, Timestamp.valueOf(endDateTime));
+				for (int i = 0; i < orderStatuses.size(); i++) {
+					statement.setString(i + 3, orderStatuses.get(i).name());
+				}
+				return statement;
+			},
+			(RowCallbackHandler)resultSet ->
+				statistics.accept(resultSet.getTimestamp(1).toLocalDateTime(), resultSet.getInt(2))
+		);
+
+		return statistics;
+	}
+
+}
@@ -0,0 +1,19 @@
+package sample.cafekiosk.spring.domain.order;
+
+import lombok.Getter;
+
+/**
+ * 기간 내 주문 건수와 매출 합계. DB 에서 COUNT / SUM 으로 바로 집계한 결과다.
+ */
+@Getter
+public class OrderSalesSummary {
+
+	private final long orderCount;
+	private final long totalAmount;
+
+	public OrderSalesSummary(final Long orderCount, final Long totalAmount) {
+		this.orderCount = orderCount == null ? 0L : orderCount;
+		this.totalAmount = totalAmount == null ? 0L : totalAmount;
+	}
+
+}
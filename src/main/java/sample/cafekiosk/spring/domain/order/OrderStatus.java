@@ -3,6 +3,12 @@ package sample.cafekiosk.spring.domain.order;
 import lombok.Getter;
 import lombok.RequiredArgsConstructor;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
 @Getter
 @RequiredArgsConstructor
 public enum OrderStatus {
@@ -14,6 +20,37 @@ public enum OrderStatus {
     RECEIVED("주문접수"),
     COMPLETED("처리완료");
 
+    /**
+     * 결제가 끝난 주문이 거치는 상태. 주문을 접수하고 처리해도 매출에서 빠지지 않는다.
+     */
+    private static final List<OrderStatus> PAID_STATUSES = List.of(PAYMENT_COMPLETED, RECEIVED, COMPLETED);
+
+    /**
+     * 상태별로 바뀔 수 있는 다음 상태.
+     * 결제가 끝난 주문의 취소는 환불과 매출 집계 차감이 함께 필요하므로 여기서는 허용하지 않는다.
+     */
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(INIT, EnumSet.of(PAYMENT_COMPLETED, PAYMENT_FAILED, CANCELED));
+        TRANSITIONS.put(PAYMENT_FAILED, EnumSet.of(PAYMENT_COMPLETED, CANCELED));
+        TRANSITIONS.put(PAYMENT_COMPLETED, EnumSet.of(RECEIVED));
+        TRANSITIONS.put(RECEIVED, EnumSet.of(COMPLETED));
+        TRANSITIONS.put(CANCELED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(COMPLETED, EnumSet.noneOf(OrderStatus.class));
+    }
+
     private final String text;
 
+    public boolean canTransitionTo(OrderStatus next) {
+        return next != null && TRANSITIONS.get(this).contains(next);
+    }
+
+    /**
+     * 매출 집계 대상 상태. 매번 같은 불변 리스트를 돌려준다.
+     */
+    public static List<OrderStatus> paidStatuses() {
+        return PAID_STATUSES;
+    }
+
 }
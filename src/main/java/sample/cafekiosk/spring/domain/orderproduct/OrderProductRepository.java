@@ -1,8 +1,44 @@
 package sample.cafekiosk.spring.domain.orderproduct;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
 @Repository
 public interface OrderProductRepository extends JpaRepository<OrderProduct, Long> {
+
+	/**
+	 * select p.product_number, count(*)
+	 * from order_product op
+	 * join orders o on o.id = op.order_id
+	 * join product p on p.id = op.product_id
+	 * where o.registered_date_time >= ? and o.registered_date_time < ? and o.order_status in (?, ...)
+	 * group by p.product_number;
+	 */
+	@Query(" SELECT p.productNumber, COUNT(op) FROM OrderProduct op JOIN op.order o JOIN op.product p "
+		+ " WHERE o.registeredDateTime >= :startDateTime AND o.registeredDateTime < :endDateTime "
+		+ " AND o.orderStatus IN :orderStatuses "
+		+ " GROUP BY p.productNumber ")
+	List<Object[]> countProductQuantitiesBy(LocalDateTime startDateTime, LocalDateTime endDateTime,
+		List<OrderStatus> orderStatuses);
+
+	/**
+	 * select p.product_number, count(*)
+	 * from order_product op
+	 * join product p on p.id = op.product_id
+	 * where op.order_id in (...) and p.type in (...)
+	 * group by p.product_number;
+	 */
+	@Query(" SELECT p.productNumber, COUNT(op) FROM OrderProduct op JOIN op.product p "
+		+ " WHERE op.order.id IN :orderIds AND p.type IN :types "
+		+ " GROUP BY p.productNumber ")
+	List<Object[]> countProductQuantitiesByOrderIdIn(List<Long> orderIds, Collection<ProductType> types);
+
 }
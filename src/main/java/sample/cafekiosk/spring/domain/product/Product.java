@@ -6,22 +6,47 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import sample.cafekiosk.spring.domain.BaseEntity;
 
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
+
+import javax.persistence.Cacheable;
 import javax.persistence.Entity;
 import javax.persistence.EnumType;
 import javax.persistence.Enumerated;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
 
+/**
+ * 주문마다 읽지만 거의 바뀌지 않으므로 2차 캐시(READ_WRITE)에 둔다.
+ * - 상품 번호는 바뀌지 않는 natural id 이며, 상품 번호 -> id 매핑도 캐시한다
+ * - 가격 / 판매 상태를 바꾸면 커밋 시점에 캐시 항목이 잠기고 갱신되므로 다른 트랜잭션이 이전 값을 읽지 않는다
+ */
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Product.CACHE_REGION)
+@NaturalIdCache(region = Product.NATURAL_ID_CACHE_REGION)
+@Table(
+    uniqueConstraints = @UniqueConstraint(name = "uk_product_product_number", columnNames = "productNumber"),
+    indexes = @Index(name = "idx_product_selling_status", columnList = "sellingStatus")
+)
 @Entity
 public class Product extends BaseEntity {
 
+    public static final String CACHE_REGION = "product";
+    public static final String NATURAL_ID_CACHE_REGION = "product-natural-id";
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @NaturalId
     private String productNumber;
 
     @Enumerated(EnumType.STRING)
@@ -43,4 +68,8 @@ public class Product extends BaseEntity {
         this.price = price;
     }
 
+    public void changeSellingStatus(ProductSellingStatus sellingStatus) {
+        this.sellingStatus = sellingStatus;
+    }
+
 }
@@ -0,0 +1,75 @@
+package sample.cafekiosk.spring.domain.product;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.Index;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Table;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 상품별 캐시 무효화 버전 (노드 사이의 캐시 무효화 outbox).
+ * 상품을 바꾸는 트랜잭션 안에서 version 을 올리고, 각 노드는 modifiedDateTime 기준으로 바뀐 행을 폴링해서 자기 캐시를 비운다.
+ * 상품마다 행이 하나뿐이라 테이블이 커지지 않는다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(indexes = @Index(name = "idx_product_cache_version_modified_date_time", columnList = "modifiedDateTime"))
+@Entity
+public class ProductCacheVersion extends BaseEntity implements Persistable<String> {
+
+	public static final long FIRST_VERSION = 1L;
+
+	@Id
+	private String productNumber;
+
+	private Long productId;
+
+	private long version;
+
+	private String originNodeId;
+
+	@Getter(AccessLevel.NONE)
+	@Transient
+	private boolean newEntity = true;
+
+	private ProductCacheVersion(final String productNumber, final Long productId, final long version,
+		final String originNodeId) {
+		this.productNumber = productNumber;
+		this.productId = productId;
+		this.version = version;
+		this.originNodeId = originNodeId;
+	}
+
+	public static ProductCacheVersion first(String productNumber, Long productId, String originNodeId) {
+		return new ProductCacheVersion(productNumber, productId, FIRST_VERSION, originNodeId);
+	}
+
+	@Override
+	public String getId() {
+		return productNumber;
+	}
+
+	/**
+	 * 키를 직접 지정하는 엔티티라서 save 가 merge(조회 후 덮어쓰기)가 되지 않도록 항상 INSERT 로 저장한다.
+	 */
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
+
+}
@@ -0,0 +1,29 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductCacheVersionRepository extends JpaRepository<ProductCacheVersion, String> {
+
+	/**
+	 * update product_cache_version
+	 * set version = version + 1, product_id = ?, origin_node_id = ?, modified_date_time = ?
+	 * where product_number = ?;
+	 * 같은 상품을 바꾸는 트랜잭션은 이 행의 잠금에서 줄을 서므로, 상품별 version 순서는 커밋 순서와 같다.
+	 */
+	@Modifying
+	@Query(" UPDATE ProductCacheVersion v SET v.version = v.version + 1, v.productId = :productId, "
+		+ " v.originNodeId = :originNodeId, v.modifiedDateTime = :now "
+		+ " WHERE v.productNumber = :productNumber ")
+	int increaseVersion(String productNumber, Long productId, String originNodeId, LocalDateTime now);
+
+	@Query("SELECT v FROM ProductCacheVersion v WHERE v.modifiedDateTime >= :since ORDER BY v.modifiedDateTime")
+	List<ProductCacheVersion> findAllChangedSince(LocalDateTime since);
+
+}
@@ -0,0 +1,12 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.Optional;
+
+public interface ProductNaturalIdRepository {
+
+    /**
+     * 상품 번호(natural id)로 조회한다. 상품 번호 -> id 매핑과 상품을 모두 2차 캐시에서 먼저 찾는다.
+     */
+    Optional<Product> findByNaturalId(String productNumber);
+
+}
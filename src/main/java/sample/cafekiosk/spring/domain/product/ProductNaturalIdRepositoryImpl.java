@@ -0,0 +1,22 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.Optional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+import org.hibernate.Session;
+
+class ProductNaturalIdRepositoryImpl implements ProductNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Product> findByNaturalId(String productNumber) {
+        return entityManager.unwrap(Session.class)
+            .bySimpleNaturalId(Product.class)
+            .loadOptional(productNumber);
+    }
+
+}
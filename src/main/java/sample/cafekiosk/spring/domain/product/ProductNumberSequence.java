@@ -0,0 +1,36 @@
+package sample.cafekiosk.spring.domain.product;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 상품 번호 블록 예약용 행.
+ * nextValue 는 아직 어느 노드에도 예약되지 않은 첫 번호이며, 블록을 예약할 때마다 블록 크기만큼 증가한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class ProductNumberSequence extends BaseEntity {
+
+	public static final Long SINGLETON_ID = 1L;
+
+	@Id
+	private Long id;
+
+	private long nextValue;
+
+	private ProductNumberSequence(final Long id, final long nextValue) {
+		this.id = id;
+		this.nextValue = nextValue;
+	}
+
+	public static ProductNumberSequence create(long nextValue) {
+		return new ProductNumberSequence(SINGLETON_ID, nextValue);
+	}
+
+}
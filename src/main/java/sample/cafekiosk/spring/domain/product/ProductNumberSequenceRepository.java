@@ -0,0 +1,25 @@
+package sample.cafekiosk.spring.domain.product;
+
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ProductNumberSequenceRepository extends JpaRepository<ProductNumberSequence, Long> {
+
+	/**
+	 * update product_number_sequence
+	 * set next_value = next_value + ?
+	 * where id = ?;
+	 */
+	@Modifying
+	@Query("UPDATE ProductNumberSequence s SET s.nextValue = s.nextValue + :blockSize WHERE s.id = :id")
+	int advance(Long id, long blockSize);
+
+	@Query("SELECT s.nextValue FROM ProductNumberSequence s WHERE s.id = :id")
+	Optional<Long> findNextValueById(Long id);
+
+}
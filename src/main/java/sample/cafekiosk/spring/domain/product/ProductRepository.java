@@ -1,13 +1,18 @@
 package sample.cafekiosk.spring.domain.product;
 
+import static org.hibernate.annotations.QueryHints.CACHEABLE;
+
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
 
+import javax.persistence.QueryHint;
+
 @Repository
-public interface ProductRepository extends JpaRepository<Product, Long> {
+public interface ProductRepository extends JpaRepository<Product, Long>, ProductNaturalIdRepository {
 
     /**
      * select *
@@ -16,6 +21,11 @@ public interface ProductRepository extends JpaRepository<Product, Long> {
      */
     List<Product> findAllBySellingStatusIn(List<ProductSellingStatus> sellingStatuses);
 
+    /**
+     * 쿼리 캐시 : 상품 번호 목록별로 결과 id 를 캐시하고, 상품은 2차 캐시에서 꺼낸다.
+     * product 테이블이 바뀌면(INSERT / UPDATE / DELETE) 커밋 시점에 캐시된 결과가 무효화된다.
+     */
+    @QueryHints(@QueryHint(name = CACHEABLE, value = "true"))
     List<Product> findAllByProductNumberIn(List<String> productNumbers);
 
     @Query(value = "SELECT p.product_number FROM product p ORDER BY id DESC LIMIT 1", nativeQuery = true)
@@ -1,22 +1,35 @@
 package sample.cafekiosk.spring.domain.product;
 
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
 import java.util.List;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 @Getter
 public enum ProductSellingStatus {
 
-    SELLING("판매중"),
-    HOLD("판매보류"),
-    STOP_SELLING("판매중지");
+    SELLING("판매중", true),
+    HOLD("판매보류", true),
+    STOP_SELLING("판매중지", false);
+
+    private static final List<ProductSellingStatus> FOR_DISPLAY = Arrays.stream(values())
+            .filter(ProductSellingStatus::isDisplayable)
+            .collect(Collectors.toUnmodifiableList());
 
     private final String text;
+    private final boolean displayable;
+
+    ProductSellingStatus(final String text, final boolean displayable) {
+        this.text = text;
+        this.displayable = displayable;
+    }
 
+    /**
+     * 메뉴에 노출하는 판매 상태. 매번 같은 불변 리스트를 돌려준다.
+     */
     public static List<ProductSellingStatus> forDisplay() {
-        return List.of(SELLING, HOLD);
+        return FOR_DISPLAY;
     }
 
 }
@@ -0,0 +1,28 @@
+package sample.cafekiosk.spring.domain.product;
+
+import lombok.Getter;
+
+/**
+ * 상품과 그 상품의 재고 수량.
+ * 재고가 없는 상품(stock 행이 없는 경우)은 stockQuantity 가 null 이다.
+ */
+@Getter
+public class ProductStock {
+
+    private final Product product;
+    private final Integer stockQuantity;
+
+    public ProductStock(final Product product, final Integer stockQuantity) {
+        this.product = product;
+        this.stockQuantity = stockQuantity;
+    }
+
+    public String getProductNumber() {
+        return product.getProductNumber();
+    }
+
+    public boolean isStockQuantityLessThan(int quantity) {
+        return stockQuantity == null || stockQuantity < quantity;
+    }
+
+}
@@ -1,22 +1,58 @@
 package sample.cafekiosk.spring.domain.product;
 
+import lombok.AccessLevel;
 import lombok.Getter;
-import lombok.RequiredArgsConstructor;
 
+import java.util.Arrays;
+import java.util.EnumSet;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
 
-@RequiredArgsConstructor
 @Getter
 public enum ProductType {
 
-    HANDMADE("제조 음료"),
-    BOTTLE("병 음료"),
-    BAKERY("베이커리");
+    HANDMADE("제조 음료", EnumSet.noneOf(Capability.class)),
+    BOTTLE("병 음료", EnumSet.of(Capability.STOCK_MANAGED)),
+    BAKERY("베이커리", EnumSet.of(Capability.STOCK_MANAGED));
+
+    /**
+     * 상품 타입이 가진 특성. 새 상품 타입은 필요한 특성만 골라 선언한다.
+     */
+    public enum Capability {
+        STOCK_MANAGED // 재고를 차감하는 상품
+    }
+
+    private static final List<ProductType> STOCK_MANAGED_TYPES = Arrays.stream(values())
+            .filter(ProductType::isStockManaged)
+            .collect(Collectors.toUnmodifiableList());
 
     private final String text;
 
+    @Getter(AccessLevel.NONE)
+    private final Set<Capability> capabilities;
+
+    private final boolean stockManaged;
+
+    ProductType(final String text, final Set<Capability> capabilities) {
+        this.text = text;
+        this.capabilities = capabilities;
+        this.stockManaged = capabilities.contains(Capability.STOCK_MANAGED);
+    }
+
+    public boolean hasCapability(final Capability capability) {
+        return capabilities.contains(capability);
+    }
+
+    /**
+     * 재고를 차감하는 상품 타입. 매번 같은 불변 리스트를 돌려준다.
+     */
+    public static List<ProductType> stockManagedTypes() {
+        return STOCK_MANAGED_TYPES;
+    }
+
     public static boolean containsStockType(final ProductType type) {
-        return List.of(BOTTLE, BAKERY).contains(type);
+        return type != null && type.stockManaged;
     }
 
 }
@@ -0,0 +1,46 @@
+package sample.cafekiosk.spring.domain.rollup;
+
+import java.time.LocalDate;
+
+import javax.persistence.Entity;
+import javax.persistence.GeneratedValue;
+import javax.persistence.GenerationType;
+import javax.persistence.Id;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 일별 상품별 결제 완료 판매 수량 집계.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_daily_product_sales", columnNames = {"salesDate", "productNumber"}))
+@Entity
+public class DailyProductSales extends BaseEntity {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private LocalDate salesDate;
+
+	private String productNumber;
+
+	private long quantity;
+
+	private DailyProductSales(final LocalDate salesDate, final String productNumber, final long quantity) {
+		this.salesDate = salesDate;
+		this.productNumber = productNumber;
+		this.quantity = quantity;
+	}
+
+	public static DailyProductSales create(LocalDate salesDate, String productNumber, long quantity) {
+		return new DailyProductSales(salesDate, productNumber, quantity);
+	}
+
+}
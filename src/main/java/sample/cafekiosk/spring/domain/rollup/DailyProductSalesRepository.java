@@ -0,0 +1,39 @@
+package sample.cafekiosk.spring.domain.rollup;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailyProductSalesRepository extends JpaRepository<DailyProductSales, Long> {
+
+	@Modifying
+	@Query(value = "MERGE INTO daily_product_sales d "
+		+ "USING (VALUES (CAST(:salesDate AS DATE), CAST(:productNumber AS VARCHAR(255)), CAST(:quantity AS BIGINT))) "
+		+ "s (sales_date, product_number, quantity) "
+		+ "ON d.sales_date = s.sales_date AND d.product_number = s.product_number "
+		+ "WHEN MATCHED THEN UPDATE SET quantity = d.quantity + s.quantity "
+		+ "WHEN NOT MATCHED THEN INSERT (sales_date, product_number, created_date_time, modified_date_time, quantity) "
+		+ "VALUES (s.sales_date, s.product_number, LOCALTIMESTAMP, LOCALTIMESTAMP, s.quantity)", nativeQuery = true)
+	int accumulate(LocalDate salesDate, String productNumber, long quantity);
+
+	@Modifying
+	@Query(value = "MERGE INTO daily_product_sales d "
+		+ "USING (VALUES (CAST(:salesDate AS DATE), CAST(:productNumber AS VARCHAR(255)))) "
+		+ "s (sales_date, product_number) "
+		+ "ON d.sales_date = s.sales_date AND d.product_number = s.product_number "
+		+ "WHEN NOT MATCHED THEN INSERT (sales_date, product_number, created_date_time, modified_date_time, quantity) "
+		+ "VALUES (s.sales_date, s.product_number, LOCALTIMESTAMP, LOCALTIMESTAMP, 0)", nativeQuery = true)
+	int createIfAbsent(LocalDate salesDate, String productNumber);
+
+	List<DailyProductSales> findAllBySalesDateOrderByProductNumber(LocalDate salesDate);
+
+	@Modifying
+	@Query("DELETE FROM DailyProductSales d WHERE d.salesDate = :salesDate")
+	int deleteAllBySalesDate(LocalDate salesDate);
+
+}
@@ -0,0 +1,66 @@
+package sample.cafekiosk.spring.domain.rollup;
+
+import java.time.LocalDate;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 일별 결제 완료 매출 집계.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class DailySales extends BaseEntity implements Persistable<LocalDate> {
+
+	@Id
+	private LocalDate salesDate;
+
+	private long orderCount;
+
+	private long totalAmount;
+
+	@Getter(AccessLevel.NONE)
+	@Transient
+	private boolean newEntity = true;
+
+	private DailySales(final LocalDate salesDate, final long orderCount, final long totalAmount) {
+		this.salesDate = salesDate;
+		this.orderCount = orderCount;
+		this.totalAmount = totalAmount;
+	}
+
+	public static DailySales create(LocalDate salesDate, long orderCount, long totalAmount) {
+		return new DailySales(salesDate, orderCount, totalAmount);
+	}
+
+	@Override
+	public LocalDate getId() {
+		return salesDate;
+	}
+
+	/**
+	 * 키를 직접 지정하는 엔티티라서 save 가 merge(조회 후 덮어쓰기)가 되지 않도록 항상 INSERT 로 저장한다.
+	 */
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
+
+}
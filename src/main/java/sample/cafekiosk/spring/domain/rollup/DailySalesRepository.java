@@ -0,0 +1,34 @@
+package sample.cafekiosk.spring.domain.rollup;
+
+import java.time.LocalDate;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface DailySalesRepository extends JpaRepository<DailySales, LocalDate> {
+
+	@Modifying
+	@Query(value = "MERGE INTO daily_sales d "
+		+ "USING (VALUES (CAST(:salesDate AS DATE), CAST(:orderCount AS BIGINT), CAST(:amount AS BIGINT))) "
+		+ "s (sales_date, order_count, total_amount) ON d.sales_date = s.sales_date "
+		+ "WHEN MATCHED THEN UPDATE SET order_count = d.order_count + s.order_count, "
+		+ "total_amount = d.total_amount + s.total_amount "
+		+ "WHEN NOT MATCHED THEN INSERT (sales_date, created_date_time, modified_date_time, order_count, total_amount) "
+		+ "VALUES (s.sales_date, LOCALTIMESTAMP, LOCALTIMESTAMP, s.order_count, s.total_amount)", nativeQuery = true)
+	int accumulate(LocalDate salesDate, long orderCount, long amount);
+
+	@Modifying
+	@Query(value = "MERGE INTO daily_sales d "
+		+ "USING (VALUES (CAST(:salesDate AS DATE))) s (sales_date) ON d.sales_date = s.sales_date "
+		+ "WHEN NOT MATCHED THEN INSERT (sales_date, created_date_time, modified_date_time, order_count, total_amount) "
+		+ "VALUES (s.sales_date, LOCALTIMESTAMP, LOCALTIMESTAMP, 0, 0)", nativeQuery = true)
+	int createIfAbsent(LocalDate salesDate);
+
+	@Modifying
+	@Query("DELETE FROM DailySales d WHERE d.salesDate = :salesDate")
+	int deleteAllBySalesDate(LocalDate salesDate);
+
+}
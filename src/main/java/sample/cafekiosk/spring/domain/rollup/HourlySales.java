@@ -0,0 +1,68 @@
+package sample.cafekiosk.spring.domain.rollup;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 시간대별 결제 완료 매출 집계. salesHour 는 정시(분/초 0)로 자른 시각이다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class HourlySales extends BaseEntity implements Persistable<LocalDateTime> {
+
+	@Id
+	private LocalDateTime salesHour;
+
+	private long orderCount;
+
+	private long totalAmount;
+
+	@Getter(AccessLevel.NONE)
+	@Transient
+	private boolean newEntity = true;
+
+	private HourlySales(final LocalDateTime salesHour, final long orderCount, final long totalAmount) {
+		this.salesHour = salesHour;
+		this.orderCount = orderCount;
+		this.totalAmount = totalAmount;
+	}
+
+	public static HourlySales create(LocalDateTime dateTime, long orderCount, long totalAmount) {
+		return new HourlySales(truncate(dateTime), orderCount, totalAmount);
+	}
+
+	public static LocalDateTime truncate(LocalDateTime dateTime) {
+		return dateTime.truncatedTo(ChronoUnit.HOURS);
+	}
+
+	@Override
+	public LocalDateTime getId() {
+		return salesHour;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
+
+}
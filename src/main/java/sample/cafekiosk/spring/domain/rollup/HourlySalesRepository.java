@@ -0,0 +1,49 @@
+package sample.cafekiosk.spring.domain.rollup;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface HourlySalesRepository extends JpaRepository<HourlySales, LocalDateTime> {
+
+	/**
+	 * merge into hourly_sales h
+	 * using (values (?, ?, ?)) s (sales_hour, order_count, total_amount) on h.sales_hour = s.sales_hour
+	 * when matched then update set order_count = h.order_count + s.order_count, total_amount = ...
+	 * when not matched then insert ...;
+	 */
+	@Modifying
+	@Query(value = "MERGE INTO hourly_sales h "
+		+ "USING (VALUES (CAST(:salesHour AS TIMESTAMP), CAST(:orderCount AS BIGINT), CAST(:amount AS BIGINT))) "
+		+ "s (sales_hour, order_count, total_amount) ON h.sales_hour = s.sales_hour "
+		+ "WHEN MATCHED THEN UPDATE SET order_count = h.order_count + s.order_count, "
+		+ "total_amount = h.total_amount + s.total_amount "
+		+ "WHEN NOT MATCHED THEN INSERT (sales_hour, created_date_time, modified_date_time, order_count, total_amount) "
+		+ "VALUES (s.sales_hour, LOCALTIMESTAMP, LOCALTIMESTAMP, s.order_count, s.total_amount)", nativeQuery = true)
+	int accumulate(LocalDateTime salesHour, long orderCount, long amount);
+
+	/**
+	 * merge into hourly_sales h
+	 * using (values (?)) s (sales_hour) on h.sales_hour = s.sales_hour
+	 * when not matched then insert (..., order_count, total_amount) values (..., 0, 0);
+	 */
+	@Modifying
+	@Query(value = "MERGE INTO hourly_sales h "
+		+ "USING (VALUES (CAST(:salesHour AS TIMESTAMP))) s (sales_hour) ON h.sales_hour = s.sales_hour "
+		+ "WHEN NOT MATCHED THEN INSERT (sales_hour, created_date_time, modified_date_time, order_count, total_amount) "
+		+ "VALUES (s.sales_hour, LOCALTIMESTAMP, LOCALTIMESTAMP, 0, 0)", nativeQuery = true)
+	int createIfAbsent(LocalDateTime salesHour);
+
+	List<HourlySales> findAllBySalesHourGreaterThanEqualAndSalesHourLessThanOrderBySalesHour(
+		LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+	@Modifying
+	@Query("DELETE FROM HourlySales h WHERE h.salesHour >= :startDateTime AND h.salesHour < :endDateTime")
+	int deleteAllBetween(LocalDateTime startDateTime, LocalDateTime endDateTime);
+
+}
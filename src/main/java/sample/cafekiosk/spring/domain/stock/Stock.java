@@ -10,20 +10,29 @@ import javax.persistence.Entity;
 import javax.persistence.GeneratedValue;
 import javax.persistence.GenerationType;
 import javax.persistence.Id;
+import javax.persistence.SequenceGenerator;
+import javax.persistence.Table;
+import javax.persistence.UniqueConstraint;
+import javax.persistence.Version;
 
 @Getter
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Table(uniqueConstraints = @UniqueConstraint(name = "uk_stock_product_number", columnNames = "productNumber"))
 @Entity
 public class Stock extends BaseEntity {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "stock_seq_generator")
+    @SequenceGenerator(name = "stock_seq_generator", sequenceName = "stock_seq", allocationSize = 50)
     private Long id;
 
     private String productNumber;
 
     private int quantity;
 
+    @Version
+    private long version;
+
     @Builder
     private Stock(final String productNumber, final int quantity) {
         this.productNumber = productNumber;
@@ -47,4 +56,8 @@ public class Stock extends BaseEntity {
         }
         this.quantity -= quantity;
     }
+
+    public void addQuantity(int quantity) {
+        this.quantity += quantity;
+    }
 }
@@ -0,0 +1,42 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 재고 원장 저널 중 stock 테이블에 반영한 가장 큰 시퀀스.
+ * 저널을 비운 뒤 재시작해도 이 다음 번호부터 기록해서, 남아 있는 StockLedgerIntent 와 시퀀스가 겹치지 않게 한다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class StockLedgerCheckpoint extends BaseEntity {
+
+	public static final Long SINGLETON_ID = 1L;
+
+	@Id
+	private Long id;
+
+	private long lastSequence;
+
+	private StockLedgerCheckpoint(final Long id, final long lastSequence) {
+		this.id = id;
+		this.lastSequence = lastSequence;
+	}
+
+	public static StockLedgerCheckpoint create() {
+		return new StockLedgerCheckpoint(SINGLETON_ID, 0L);
+	}
+
+	public void advanceTo(long sequence) {
+		if (sequence > lastSequence) {
+			this.lastSequence = sequence;
+		}
+	}
+
+}
@@ -0,0 +1,57 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import javax.persistence.Entity;
+import javax.persistence.Id;
+import javax.persistence.PostLoad;
+import javax.persistence.PostPersist;
+import javax.persistence.Transient;
+
+import org.springframework.data.domain.Persistable;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import sample.cafekiosk.spring.domain.BaseEntity;
+
+/**
+ * 재고 원장 저널 항목이 주문(또는 취소) 트랜잭션과 함께 커밋되었다는 표시.
+ * 저널 파일에는 커밋 전에 먼저 기록하고 이 행은 주문과 같은 트랜잭션에서 저장하므로, 행이 있는 항목만 커밋된 것이다.
+ * stock 테이블에 반영하는 트랜잭션에서 지우므로 재시작 후 남은 행의 항목만 재생하면 차감을 잃지도 두 번 반영하지도 않는다.
+ */
+@Getter
+@NoArgsConstructor(access = AccessLevel.PROTECTED)
+@Entity
+public class StockLedgerIntent extends BaseEntity implements Persistable<Long> {
+
+	@Id
+	private Long journalSequence;
+
+	@Getter(AccessLevel.NONE)
+	@Transient
+	private boolean newEntity = true;
+
+	private StockLedgerIntent(final Long journalSequence) {
+		this.journalSequence = journalSequence;
+	}
+
+	public static StockLedgerIntent of(long journalSequence) {
+		return new StockLedgerIntent(journalSequence);
+	}
+
+	@Override
+	public Long getId() {
+		return journalSequence;
+	}
+
+	@Override
+	public boolean isNew() {
+		return newEntity;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.newEntity = false;
+	}
+
+}
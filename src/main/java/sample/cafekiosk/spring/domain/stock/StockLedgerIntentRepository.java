@@ -0,0 +1,15 @@
+package sample.cafekiosk.spring.domain.stock;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface StockLedgerIntentRepository extends JpaRepository<StockLedgerIntent, Long> {
+
+	@Query("SELECT i.journalSequence FROM StockLedgerIntent i")
+	List<Long> findAllJournalSequences();
+
+}
@@ -0,0 +1,9 @@
+package sample.cafekiosk.spring.domain.stock;
+
+public interface StockQuantityView {
+
+    int getQuantity();
+
+    long getVersion();
+
+}
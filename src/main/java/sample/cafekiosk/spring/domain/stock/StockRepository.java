@@ -1,13 +1,61 @@
 package sample.cafekiosk.spring.domain.stock;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
+
+import javax.persistence.LockModeType;
 
 @Repository
 public interface StockRepository extends JpaRepository<Stock, Long> {
 
     List<Stock> findAllByProductNumberIn(List<String> productNumbers);
 
+    /**
+     * select *
+     * from stock
+     * where product_number in (...)
+     * order by product_number
+     * for update;
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM Stock s WHERE s.productNumber IN :productNumbers ORDER BY s.productNumber")
+    List<Stock> findAllForUpdateByProductNumberIn(List<String> productNumbers);
+
+    /**
+     * select product_number, quantity
+     * from stock
+     * where product_number in (...);
+     */
+    @Query("SELECT s.productNumber, s.quantity FROM Stock s WHERE s.productNumber IN :productNumbers")
+    List<Object[]> findQuantitiesByProductNumberIn(List<String> productNumbers);
+
+    @Query("SELECT s.quantity AS quantity, s.version AS version FROM Stock s WHERE s.productNumber = :productNumber")
+    Optional<StockQuantityView> findQuantityViewByProductNumber(String productNumber);
+
+    /**
+     * update stock
+     * set quantity = quantity - ?
+     * where product_number = ? and quantity >= ?;
+     */
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantity = s.quantity - :quantity, s.version = s.version + 1 "
+        + "WHERE s.productNumber = :productNumber AND s.quantity >= :quantity")
+    int deductQuantityIfEnough(String productNumber, int quantity);
+
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantity = s.quantity - :quantity, s.version = s.version + 1 "
+        + "WHERE s.productNumber = :productNumber AND s.version = :version AND s.quantity >= :quantity")
+    int deductQuantityIfVersionMatches(String productNumber, int quantity, long version);
+
+    @Modifying
+    @Query("UPDATE Stock s SET s.quantity = s.quantity + :delta, s.version = s.version + 1 "
+        + "WHERE s.productNumber = :productNumber")
+    int addQuantity(String productNumber, int delta);
+
 }
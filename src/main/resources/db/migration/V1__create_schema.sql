@@ -0,0 +1,151 @@
+-- 지금까지 ddl-auto: create 로 만들던 스키마 (H2)
+-- 엔티티를 바꾸면 이 파일을 고치지 말고 다음 버전의 마이그레이션을 추가한다.
+
+create sequence orders_seq start with 1 increment by 50;
+create sequence order_product_seq start with 1 increment by 50;
+create sequence stock_seq start with 1 increment by 50;
+
+create table product
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    product_number     varchar(255),
+    type               varchar(255),
+    selling_status     varchar(255),
+    name               varchar(255),
+    price              integer not null,
+    primary key (id)
+);
+
+create table product_number_sequence
+(
+    id                 bigint not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    next_value         bigint not null,
+    primary key (id)
+);
+
+create table stock
+(
+    id                 bigint not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    product_number     varchar(255),
+    quantity           integer not null,
+    version            bigint,
+    primary key (id)
+);
+
+create table stock_ledger_checkpoint
+(
+    id                 bigint not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    last_sequence      bigint not null,
+    primary key (id)
+);
+
+create table orders
+(
+    id                   bigint not null,
+    created_date_time    timestamp,
+    modified_date_time   timestamp,
+    order_status         varchar(255),
+    total_price          integer not null,
+    registered_date_time timestamp,
+    primary key (id)
+);
+
+create index idx_orders_registered_date_time_id on orders (registered_date_time, id);
+create index idx_orders_order_status_registered_date_time_id on orders (order_status, registered_date_time, id);
+
+create table order_product
+(
+    id                 bigint not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    order_id           bigint,
+    product_id         bigint,
+    primary key (id),
+    constraint fk_order_product_order foreign key (order_id) references orders (id),
+    constraint fk_order_product_product foreign key (product_id) references product (id)
+);
+
+create table order_idempotency_key
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    idempotency_key    varchar(100),
+    request_hash       varchar(255),
+    order_id           bigint,
+    primary key (id),
+    constraint uk_order_idempotency_key unique (idempotency_key)
+);
+
+create table hourly_sales
+(
+    sales_hour         timestamp not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    order_count        bigint not null,
+    total_amount       bigint not null,
+    primary key (sales_hour)
+);
+
+create table daily_sales
+(
+    sales_date         date not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    order_count        bigint not null,
+    total_amount       bigint not null,
+    primary key (sales_date)
+);
+
+create table daily_product_sales
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    sales_date         date,
+    product_number     varchar(255),
+    quantity           bigint not null,
+    primary key (id),
+    constraint uk_daily_product_sales unique (sales_date, product_number)
+);
+
+create table mail_outbox
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    from_email         varchar(255),
+    to_email           varchar(255),
+    subject            varchar(255),
+    content            varchar(4000),
+    status             varchar(255),
+    attempt_count      integer not null,
+    next_attempt_at    timestamp,
+    claim_token        varchar(255),
+    claimed_at         timestamp,
+    last_error         varchar(255),
+    primary key (id)
+);
+
+create index idx_mail_outbox_status_next_attempt on mail_outbox (status, next_attempt_at);
+create index idx_mail_outbox_claim_token on mail_outbox (claim_token);
+
+create table mail_send_history
+(
+    id                 bigint generated by default as identity,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    from_email         varchar(255),
+    to_email           varchar(255),
+    subject            varchar(255),
+    content            varchar(255),
+    primary key (id)
+);
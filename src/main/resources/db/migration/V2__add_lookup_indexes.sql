@@ -0,0 +1,11 @@
+-- 주문 / 메뉴 조회 경로에서 쓰는 컬럼의 인덱스
+-- findAllByProductNumberIn, findAllWithStockQuantityByProductNumberIn, 조건부 재고 UPDATE
+alter table product add constraint uk_product_product_number unique (product_number);
+alter table stock add constraint uk_stock_product_number unique (product_number);
+
+-- findAllBySellingStatusIn (메뉴 캐시가 비었을 때)
+create index idx_product_selling_status on product (selling_status);
+
+-- 주문 상품 fetch join / 주문별 상품 수량 집계
+create index idx_order_product_order_id on order_product (order_id);
+create index idx_order_product_product_id on order_product (product_id);
@@ -0,0 +1,19 @@
+-- 노드 사이의 상품 캐시 무효화 outbox (ProductCacheVersion)
+create table product_cache_version
+(
+    product_number     varchar(255) not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    product_id         bigint,
+    version            bigint       not null,
+    origin_node_id     varchar(255),
+    primary key (product_number)
+);
+
+-- 폴러가 직전 폴링 이후에 바뀐 행을 찾는다
+create index idx_product_cache_version_modified_date_time on product_cache_version (modified_date_time);
+
+-- 이미 있는 상품은 version 0 으로 채워서, 이후 변경이 모두 UPDATE 로 처리되게 한다
+insert into product_cache_version (product_number, created_date_time, modified_date_time, product_id, version)
+select product_number, current_timestamp, current_timestamp, id, 0
+from product;
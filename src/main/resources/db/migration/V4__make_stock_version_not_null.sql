@@ -0,0 +1,4 @@
+-- stock.version 이 NULL 이면 조건부 UPDATE(version = ?)와 version + 1 이 모두 NULL 이 되어 낙관적 차감이 성공하지 못한다
+update stock set version = 0 where version is null;
+alter table stock alter column version set default 0;
+alter table stock alter column version set not null;
@@ -0,0 +1,9 @@
+-- 주문(또는 취소) 트랜잭션과 함께 커밋된 재고 원장 저널 항목 (StockLedgerIntent)
+-- write-behind 가 stock 테이블에 반영하는 트랜잭션에서 지우므로, 남아 있는 행의 항목만 재생한다
+create table stock_ledger_intent
+(
+    journal_sequence   bigint not null,
+    created_date_time  timestamp,
+    modified_date_time timestamp,
+    primary key (journal_sequence)
+);
@@ -8,12 +8,19 @@ import org.springframework.test.web.servlet.MockMvc;
 import com.fasterxml.jackson.databind.ObjectMapper;
 
 import sample.cafekiosk.spring.api.controller.order.OrderController;
+import sample.cafekiosk.spring.api.controller.order.OrderStatisticsReportController;
 import sample.cafekiosk.spring.api.controller.product.ProductController;
+import sample.cafekiosk.spring.api.service.order.OrderGroupCommitter;
+import sample.cafekiosk.spring.api.service.order.OrderIdempotencyService;
+import sample.cafekiosk.spring.api.service.order.OrderQueryService;
 import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.event.OrderEventBus;
+import sample.cafekiosk.spring.api.service.order.report.OrderStatisticsReportService;
 import sample.cafekiosk.spring.api.service.product.ProductService;
 
 @WebMvcTest(controllers = {
 	OrderController.class,
+	OrderStatisticsReportController.class,
 	ProductController.class
 })
 public abstract class ControllerTestSupport {
@@ -27,6 +34,21 @@ public abstract class ControllerTestSupport {
 	@MockBean
 	protected OrderService orderService;
 
+	@MockBean
+	protected OrderGroupCommitter orderGroupCommitter;
+
+	@MockBean
+	protected OrderQueryService orderQueryService;
+
+	@MockBean
+	protected OrderIdempotencyService orderIdempotencyService;
+
+	@MockBean
+	protected OrderEventBus orderEventBus;
+
+	@MockBean
+	protected OrderStatisticsReportService orderStatisticsReportService;
+
 	@MockBean // 컨테이너에 Mockito로 만든 Mock 객체를 넣어주는 역할
 	protected ProductService productService;
 
@@ -1,10 +1,14 @@
 package sample.cafekiosk.spring;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.test.context.ActiveProfiles;
 
 import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.config.sql.SqlStatementRecorder;
+import sample.cafekiosk.spring.config.sql.SqlStatementScope;
+import sample.cafekiosk.spring.config.sql.SqlStatistics;
 
 @ActiveProfiles("test")
 @SpringBootTest
@@ -13,4 +17,18 @@ public abstract class IntegrationTestSupport {
 	@MockBean
 	protected MailSendClient mailSendClient;
 
+	@Autowired
+	private SqlStatementRecorder sqlStatementRecorder;
+
+	/**
+	 * body 를 실행하는 동안 현재 스레드에서 실행된 SQL 을 센다.
+	 * 예) assertThat(statistics.getTotalCount()).as(statistics.describe()).isLessThanOrEqualTo(5);
+	 */
+	protected SqlStatistics countStatements(Runnable body) {
+		try (SqlStatementScope scope = sqlStatementRecorder.open(getClass().getSimpleName())) {
+			body.run();
+			return scope.getStatistics();
+		}
+	}
+
 }
@@ -4,6 +4,10 @@ import static org.springframework.test.web.servlet.request.MockMvcRequestBuilder
 import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.LocalDateTime;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
@@ -11,7 +15,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 
 import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.controller.order.request.OrderBulkCreateRequest;
 import sample.cafekiosk.spring.api.controller.order.request.OrderCreateRequest;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatusChangeRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderCursor;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 
 class OrderControllerTest extends ControllerTestSupport {
 
@@ -35,6 +45,30 @@ class OrderControllerTest extends ControllerTestSupport {
 			.andExpect(jsonPath("$.data").isEmpty());
 	}
 
+	@DisplayName("Idempotency-Key 헤더가 있으면 키와 함께 주문을 등록한다.")
+	@Test
+	void createOrderWithIdempotencyKey() throws Exception {
+		// given
+		OrderCreateRequest request = OrderCreateRequest.builder()
+			.productNumbers(List.of("001"))
+			.build();
+		given(orderIdempotencyService.createOrder(eq("key-1"), any(), any())).willReturn(OrderResponse.builder()
+			.id(1L)
+			.totalPrice(1000)
+			.products(List.of())
+			.build());
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/new")
+				.header(OrderController.IDEMPOTENCY_KEY_HEADER, "key-1")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.id").value(1));
+		then(orderService).shouldHaveNoInteractions();
+	}
+
 	@DisplayName("신규 주문을 등록할 때 상품 번호는 1개 이상이어야 한다.")
 	@Test
 	void createOrderWithEmptyProductNumbers() throws Exception {
@@ -55,4 +89,173 @@ class OrderControllerTest extends ControllerTestSupport {
 			.andExpect(jsonPath("$.data").isEmpty());
 	}
 
+	@DisplayName("여러 주문을 한 번에 등록한다.")
+	@Test
+	void createOrders() throws Exception {
+		// given
+		OrderBulkCreateRequest request = OrderBulkCreateRequest.builder()
+			.orders(List.of(
+				OrderCreateRequest.builder().productNumbers(List.of("001")).build(),
+				OrderCreateRequest.builder().productNumbers(List.of("002")).build()
+			))
+			.build();
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/bulk")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.code").value("200"))
+			.andExpect(jsonPath("$.status").value("OK"))
+			.andExpect(jsonPath("$.message").value("OK"));
+	}
+
+	@DisplayName("여러 주문을 한 번에 등록할 때 각 주문의 상품 번호는 1개 이상이어야 한다.")
+	@Test
+	void createOrdersWithEmptyProductNumbers() throws Exception {
+		// given
+		OrderBulkCreateRequest request = OrderBulkCreateRequest.builder()
+			.orders(List.of(
+				OrderCreateRequest.builder().productNumbers(List.of()).build()
+			))
+			.build();
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/bulk")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value("400"))
+			.andExpect(jsonPath("$.status").value("BAD_REQUEST"))
+			.andExpect(jsonPath("$.message").value("상품 번호 리스트는 필수입니다."))
+			.andExpect(jsonPath("$.data").isEmpty());
+	}
+
+	@DisplayName("주문 하나를 조회한다.")
+	@Test
+	void getOrder() throws Exception {
+		// given
+		given(orderQueryService.getOrder(1L)).willReturn(OrderResponse.builder()
+			.id(1L)
+			.totalPrice(4000)
+			.registeredDateTime(LocalDateTime.of(2023, 7, 18, 10, 0))
+			.products(List.of())
+			.build());
+
+		// when // then
+		mockMvc.perform(get("/api/v1/orders/1"))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.code").value("200"))
+			.andExpect(jsonPath("$.data.id").value(1))
+			.andExpect(jsonPath("$.data.totalPrice").value(4000));
+	}
+
+	@DisplayName("존재하지 않는 주문을 조회하면 400 응답을 받는다.")
+	@Test
+	void getOrderWithUnknownId() throws Exception {
+		// given
+		given(orderQueryService.getOrder(anyLong())).willThrow(new IllegalArgumentException("존재하지 않는 주문입니다."));
+
+		// when // then
+		mockMvc.perform(get("/api/v1/orders/999"))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value("400"))
+			.andExpect(jsonPath("$.message").value("존재하지 않는 주문입니다."))
+			.andExpect(jsonPath("$.data").isEmpty());
+	}
+
+	@DisplayName("주문 목록을 조회하면 다음 페이지 커서를 함께 받는다.")
+	@Test
+	void getOrders() throws Exception {
+		// given
+		String nextCursor = OrderCursor.of(LocalDateTime.of(2023, 7, 18, 10, 0), 1L).encode();
+		given(orderQueryService.getOrderPage(any())).willReturn(OrderPageResponse.builder()
+			.orders(List.of())
+			.hasNext(true)
+			.nextCursor(nextCursor)
+			.build());
+
+		// when // then
+		mockMvc.perform(get("/api/v1/orders")
+				.param("startDateTime", "2023-07-18T00:00:00")
+				.param("endDateTime", "2023-07-19T00:00:00")
+				.param("orderStatus", "INIT")
+				.param("cursor", nextCursor)
+				.param("size", "10"))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.code").value("200"))
+			.andExpect(jsonPath("$.data.hasNext").value(true))
+			.andExpect(jsonPath("$.data.nextCursor").value(nextCursor));
+	}
+
+	@DisplayName("주문 목록의 조회 개수는 100 이하여야 한다.")
+	@Test
+	void getOrdersWithTooLargeSize() throws Exception {
+		// when // then
+		mockMvc.perform(get("/api/v1/orders")
+				.param("startDateTime", "2023-07-18T00:00:00")
+				.param("endDateTime", "2023-07-19T00:00:00")
+				.param("size", "101"))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value("400"))
+			.andExpect(jsonPath("$.message").value("조회 개수는 1 이상 100 이하여야 합니다."));
+	}
+
+	@DisplayName("잘못된 커서로는 주문 목록을 조회할 수 없다.")
+	@Test
+	void getOrdersWithInvalidCursor() throws Exception {
+		// when // then
+		mockMvc.perform(get("/api/v1/orders")
+				.param("startDateTime", "2023-07-18T00:00:00")
+				.param("endDateTime", "2023-07-19T00:00:00")
+				.param("cursor", "not-a-cursor"))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("잘못된 커서입니다."));
+	}
+
+	@DisplayName("여러 주문의 상태를 한 번에 변경한다.")
+	@Test
+	void changeOrderStatus() throws Exception {
+		// given
+		OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+			.orderIds(List.of(1L, 2L))
+			.currentStatus(OrderStatus.PAYMENT_COMPLETED)
+			.targetStatus(OrderStatus.RECEIVED)
+			.build();
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/status")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.code").value("200"));
+	}
+
+	@DisplayName("여러 주문의 상태를 변경할 때 변경할 주문 상태는 필수이다.")
+	@Test
+	void changeOrderStatusWithoutTargetStatus() throws Exception {
+		// given
+		OrderStatusChangeRequest request = OrderStatusChangeRequest.builder()
+			.orderIds(List.of(1L, 2L))
+			.currentStatus(OrderStatus.PAYMENT_COMPLETED)
+			.build();
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/status")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value("400"))
+			.andExpect(jsonPath("$.message").value("변경할 주문 상태는 필수입니다."));
+	}
+
 }
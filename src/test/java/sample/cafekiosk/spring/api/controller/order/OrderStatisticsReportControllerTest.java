@@ -0,0 +1,162 @@
+package sample.cafekiosk.spring.api.controller.order;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultHandlers.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.MediaType;
+
+import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.controller.order.request.OrderStatisticsReportRequest;
+import sample.cafekiosk.spring.api.service.order.report.OrderStatisticsReportStatus;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatisticsReportResponse;
+
+class OrderStatisticsReportControllerTest extends ControllerTestSupport {
+
+	@DisplayName("매출 통계 리포트를 시작하면 리포트 id 와 진행 상황을 받는다.")
+	@Test
+	void startReport() throws Exception {
+		// given
+		OrderStatisticsReportRequest request = OrderStatisticsReportRequest.builder()
+			.startDate(LocalDate.of(2023, 7, 1))
+			.endDate(LocalDate.of(2023, 7, 31))
+			.emails(List.of("manager@test.com"))
+			.build();
+		given(orderStatisticsReportService.startReport(any())).willReturn(createResponse(OrderStatisticsReportStatus.RUNNING, 0));
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/statistics/reports")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.code").value("200"))
+			.andExpect(jsonPath("$.data.reportId").value("report-1"))
+			.andExpect(jsonPath("$.data.status").value("RUNNING"))
+			.andExpect(jsonPath("$.data.totalDays").value(31));
+	}
+
+	@DisplayName("매출 통계 리포트를 시작할 때 수신자 이메일은 1개 이상이어야 한다.")
+	@Test
+	void startReportWithEmptyEmails() throws Exception {
+		// given
+		OrderStatisticsReportRequest request = OrderStatisticsReportRequest.builder()
+			.startDate(LocalDate.of(2023, 7, 1))
+			.endDate(LocalDate.of(2023, 7, 31))
+			.emails(List.of())
+			.build();
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/statistics/reports")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.code").value("400"))
+			.andExpect(jsonPath("$.message").value("수신자 이메일 리스트는 필수입니다."))
+			.andExpect(jsonPath("$.data").isEmpty());
+	}
+
+	@DisplayName("매출 통계 리포트를 시작할 때 시작일은 필수이다.")
+	@Test
+	void startReportWithoutStartDate() throws Exception {
+		// given
+		OrderStatisticsReportRequest request = OrderStatisticsReportRequest.builder()
+			.endDate(LocalDate.of(2023, 7, 31))
+			.emails(List.of("manager@test.com"))
+			.build();
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/statistics/reports")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("리포트 시작일은 필수입니다."));
+	}
+
+	@DisplayName("진행 중인 리포트가 너무 많으면 400 응답을 받는다.")
+	@Test
+	void startReportWhenTooManyRunning() throws Exception {
+		// given
+		OrderStatisticsReportRequest request = OrderStatisticsReportRequest.builder()
+			.startDate(LocalDate.of(2023, 7, 1))
+			.endDate(LocalDate.of(2023, 7, 31))
+			.emails(List.of("manager@test.com"))
+			.build();
+		given(orderStatisticsReportService.startReport(any()))
+			.willThrow(new IllegalArgumentException("진행 중인 리포트가 너무 많습니다. 잠시 후 다시 시도해주세요."));
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/statistics/reports")
+				.content(objectMapper.writeValueAsString(request))
+				.contentType(MediaType.APPLICATION_JSON))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("진행 중인 리포트가 너무 많습니다. 잠시 후 다시 시도해주세요."));
+	}
+
+	@DisplayName("매출 통계 리포트의 진행 상황을 조회한다.")
+	@Test
+	void getReport() throws Exception {
+		// given
+		given(orderStatisticsReportService.getReport("report-1"))
+			.willReturn(createResponse(OrderStatisticsReportStatus.RUNNING, 10));
+
+		// when // then
+		mockMvc.perform(get("/api/v1/orders/statistics/reports/report-1"))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.completedDays").value(10))
+			.andExpect(jsonPath("$.data.totalDays").value(31));
+	}
+
+	@DisplayName("매출 통계 리포트를 취소한다.")
+	@Test
+	void cancelReport() throws Exception {
+		// given
+		given(orderStatisticsReportService.cancelReport("report-1"))
+			.willReturn(createResponse(OrderStatisticsReportStatus.CANCELED, 10));
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/statistics/reports/report-1/cancel"))
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(jsonPath("$.data.status").value("CANCELED"));
+	}
+
+	@DisplayName("집계가 끝난 리포트를 취소하면 400 응답을 받는다.")
+	@Test
+	void cancelFinishedReport() throws Exception {
+		// given
+		given(orderStatisticsReportService.cancelReport("report-1"))
+			.willThrow(new IllegalArgumentException("집계가 끝난 리포트는 취소할 수 없습니다."));
+
+		// when // then
+		mockMvc.perform(post("/api/v1/orders/statistics/reports/report-1/cancel"))
+			.andDo(print())
+			.andExpect(status().isBadRequest())
+			.andExpect(jsonPath("$.message").value("집계가 끝난 리포트는 취소할 수 없습니다."));
+	}
+
+	private OrderStatisticsReportResponse createResponse(OrderStatisticsReportStatus status, int completedDays) {
+		return OrderStatisticsReportResponse.builder()
+			.reportId("report-1")
+			.status(status)
+			.startDate(LocalDate.of(2023, 7, 1))
+			.endDate(LocalDate.of(2023, 7, 31))
+			.totalDays(31)
+			.completedDays(completedDays)
+			.recipientCount(1)
+			.build();
+	}
+
+}
@@ -9,10 +9,13 @@ import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 
 import sample.cafekiosk.spring.ControllerTestSupport;
+import sample.cafekiosk.spring.api.ApiResponse;
 import sample.cafekiosk.spring.api.controller.product.request.ProductCreateRequest;
+import sample.cafekiosk.spring.api.service.product.response.MenuSnapshot;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
@@ -131,17 +134,77 @@ class ProductControllerTest extends ControllerTestSupport {
 	@Test
 	void getSellingProducts() throws Exception {
 		// given
-		List<ProductResponse> results = List.of();
-		when(productService.getSellingProducts()).thenReturn(results);
+		MenuSnapshot snapshot = createSnapshot(List.of());
+		when(productService.getSellingProductsSnapshot()).thenReturn(snapshot);
 
 		// when // then
 		mockMvc.perform(get("/api/v1/products/selling"))
 			.andDo(print())
 			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, snapshot.getETag()))
+			.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
 			.andExpect(jsonPath("$.code").value("200"))
 			.andExpect(jsonPath("$.status").value("OK"))
 			.andExpect(jsonPath("$.message").value("OK"))
 			.andExpect(jsonPath("$.data").isArray());
 	}
 
+	@DisplayName("판매 상품을 조회할 때 메뉴가 바뀌지 않았으면 본문 없이 304를 응답한다.")
+	@Test
+	void getSellingProductsNotModified() throws Exception {
+		// given
+		MenuSnapshot snapshot = createSnapshot(List.of());
+		when(productService.getSellingProductsSnapshot()).thenReturn(snapshot);
+
+		// when // then
+		mockMvc.perform(get("/api/v1/products/selling")
+				.header(HttpHeaders.IF_NONE_MATCH, snapshot.getETag())
+			)
+			.andDo(print())
+			.andExpect(status().isNotModified())
+			.andExpect(header().string(HttpHeaders.ETAG, snapshot.getETag()))
+			.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+			.andExpect(content().bytes(new byte[0]));
+	}
+
+	@DisplayName("gzip 본문의 ETag 로는 압축하지 않은 본문 요청에 304를 응답하지 않는다.")
+	@Test
+	void getSellingProductsWithGzipETag() throws Exception {
+		// given
+		MenuSnapshot snapshot = createSnapshot(List.of());
+		when(productService.getSellingProductsSnapshot()).thenReturn(snapshot);
+
+		// when // then
+		mockMvc.perform(get("/api/v1/products/selling")
+				.header(HttpHeaders.IF_NONE_MATCH, snapshot.getGzipETag())
+			)
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.ETAG, snapshot.getETag()))
+			.andExpect(content().bytes(snapshot.getBody()));
+	}
+
+	@DisplayName("판매 상품을 조회할 때 gzip 을 받을 수 있으면 미리 압축해 둔 본문을 응답한다.")
+	@Test
+	void getSellingProductsWithGzip() throws Exception {
+		// given
+		MenuSnapshot snapshot = createSnapshot(List.of());
+		when(productService.getSellingProductsSnapshot()).thenReturn(snapshot);
+
+		// when // then
+		mockMvc.perform(get("/api/v1/products/selling")
+				.header(HttpHeaders.ACCEPT_ENCODING, "gzip, deflate")
+			)
+			.andDo(print())
+			.andExpect(status().isOk())
+			.andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"))
+			.andExpect(header().string(HttpHeaders.ETAG, snapshot.getGzipETag()))
+			.andExpect(header().string(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING))
+			.andExpect(content().bytes(snapshot.getGzipBody()));
+	}
+
+	private MenuSnapshot createSnapshot(List<ProductResponse> products) throws Exception {
+		return MenuSnapshot.of(objectMapper.writeValueAsBytes(ApiResponse.ok(products)));
+	}
+
 }
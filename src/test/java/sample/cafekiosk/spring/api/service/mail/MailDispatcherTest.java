@@ -0,0 +1,133 @@
+package sample.cafekiosk.spring.api.service.mail;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.client.mail.FakeMailSendClient;
+import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxStatus;
+
+class MailDispatcherTest extends IntegrationTestSupport {
+
+	@Autowired
+	private MailDispatcher mailDispatcher;
+
+	@Autowired
+	private MailOutboxService mailOutboxService;
+
+	@Autowired
+	private MailOutboxRepository mailOutboxRepository;
+
+	@Autowired
+	private MailSendHistoryRepository mailSendHistoryRepository;
+
+	@AfterEach
+	void tearDown() {
+		mailOutboxRepository.deleteAllInBatch();
+		mailSendHistoryRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("outbox 에 쌓인 메일을 워커 풀에서 보내고, 전송 이력을 남긴다.")
+	@Test
+	void dispatchPending() {
+		// given
+		FakeMailSendClient fakeMailSendClient = useFakeMailSendClient(20, 0, false);
+		IntStream.rangeClosed(1, 40)
+			.forEach(i -> mailOutboxService.enqueue("no-reply@cafekiosk.com", "user" + i + "@test.com", "제목", "내용"));
+
+		// when
+		int sentCount = mailDispatcher.dispatchPending(LocalDateTime.now());
+
+		// then
+		assertThat(sentCount).isEqualTo(40);
+		assertThat(fakeMailSendClient.getSentCount()).isEqualTo(40);
+		assertThat(mailSendHistoryRepository.count()).isEqualTo(40);
+		assertThat(mailOutboxRepository.countByStatus(MailOutboxStatus.SENT)).isEqualTo(40);
+	}
+
+	@DisplayName("전송에 실패한 메일은 백오프 시간이 지난 뒤에 다시 보낸다.")
+	@Test
+	void retryWithBackoff() {
+		// given
+		FakeMailSendClient fakeMailSendClient = useFakeMailSendClient(0, 2, true);
+		Long id = mailOutboxService.enqueue("no-reply@cafekiosk.com", "user@test.com", "제목", "내용");
+		LocalDateTime now = LocalDateTime.now();
+
+		// when
+		int first = mailDispatcher.dispatchPending(now);
+		int beforeBackoff = mailDispatcher.dispatchPending(now.plusNanos(500_000_000));
+		int second = mailDispatcher.dispatchPending(now.plusSeconds(1));
+		int third = mailDispatcher.dispatchPending(now.plusSeconds(1 + 2));
+
+		// then
+		assertThat(List.of(first, beforeBackoff, second, third)).containsExactly(0, 0, 0, 1);
+		assertThat(fakeMailSendClient.getAttemptCount("user@test.com")).isEqualTo(3);
+		assertThat(mailOutboxRepository.findById(id)).get()
+			.extracting("status", "attemptCount", "lastError")
+			.containsExactly(MailOutboxStatus.SENT, 3, null);
+	}
+
+	@DisplayName("최대 시도 횟수만큼 실패한 메일은 더 이상 보내지 않는다.")
+	@Test
+	void failAfterMaxAttempts() {
+		// given
+		useFakeMailSendClient(0, Integer.MAX_VALUE, false);
+		Long id = mailOutboxService.enqueue("no-reply@cafekiosk.com", "user@test.com", "제목", "내용");
+		LocalDateTime now = LocalDateTime.now();
+
+		// when
+		for (int i = 0; i < 10; i++) {
+			mailDispatcher.dispatchPending(now.plusHours(i));
+		}
+
+		// then
+		MailOutbox mailOutbox = mailOutboxRepository.findById(id).orElseThrow();
+		assertThat(mailOutbox.getStatus()).isEqualByComparingTo(MailOutboxStatus.FAILED);
+		assertThat(mailOutbox.getAttemptCount()).isEqualTo(5);
+		assertThat(mailSendHistoryRepository.count()).isZero();
+	}
+
+	@DisplayName("한 수신자에게 한도보다 많은 메일이 몰리면 넘치는 메일은 시도 횟수를 늘리지 않고 미룬다.")
+	@Test
+	void throttlePerRecipient() {
+		// given
+		FakeMailSendClient fakeMailSendClient = useFakeMailSendClient(0, 0, false);
+		IntStream.rangeClosed(1, 20)
+			.forEach(i -> mailOutboxService.enqueue("no-reply@cafekiosk.com", "hot@test.com", "제목" + i, "내용"));
+
+		// when
+		int sentCount = mailDispatcher.dispatchPending(LocalDateTime.now());
+
+		// then
+		assertThat(sentCount).isLessThan(20);
+		assertThat(fakeMailSendClient.getSentCount()).isEqualTo(sentCount);
+		assertThat(mailOutboxRepository.findAll())
+			.filteredOn(mail -> mail.getStatus() == MailOutboxStatus.PENDING)
+			.hasSize(20 - sentCount)
+			.allSatisfy(mail -> assertThat(mail.getAttemptCount()).isZero());
+	}
+
+	private FakeMailSendClient useFakeMailSendClient(long latencyMillis, int failuresPerRecipient,
+		boolean throwOnFailure) {
+		FakeMailSendClient fakeMailSendClient = new FakeMailSendClient(latencyMillis, failuresPerRecipient,
+			throwOnFailure);
+		given(mailSendClient.sendEmail(anyString(), anyString(), anyString(), anyString()))
+			.willAnswer(invocation -> fakeMailSendClient.sendEmail(invocation.getArgument(0), invocation.getArgument(1),
+				invocation.getArgument(2), invocation.getArgument(3)));
+		return fakeMailSendClient;
+	}
+
+}
@@ -4,15 +4,16 @@ import static org.assertj.core.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.BDDMockito.*;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.Mockito;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import sample.cafekiosk.spring.client.mail.MailSendClient;
+import sample.cafekiosk.spring.config.KioskMetrics;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
 
@@ -25,9 +26,13 @@ class MailServiceTest {
 	@Mock
 	private MailSendHistoryRepository mailSendHistoryRepository;
 
-	@InjectMocks
 	private MailService mailService;
 
+	@BeforeEach
+	void setUp() {
+		mailService = new MailService(mailSendClient, mailSendHistoryRepository, KioskMetrics.noop());
+	}
+
 	@DisplayName("메일 전송 테스트")
 	@Test
 	void sendMail() {
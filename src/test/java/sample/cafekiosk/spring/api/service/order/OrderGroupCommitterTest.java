@@ -0,0 +1,168 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.BDDMockito.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.test.context.TestPropertySource;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@TestPropertySource(properties = {
+	"cafekiosk.order.group-commit.enabled=true",
+	"cafekiosk.order.group-commit.window-millis=20"
+})
+class OrderGroupCommitterTest extends IntegrationTestSupport {
+
+	@Autowired
+	private OrderGroupCommitter orderGroupCommitter;
+
+	@SpyBean
+	private OrderService orderService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderProductRepository orderProductRepository;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@AfterEach
+	void tearDown() {
+		orderProductRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		stockRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("동시에 들어온 주문들을 묶어서 생성하고 각 호출자에게 자기 주문 결과를 돌려준다.")
+	@Test
+	void submit() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+		productRepository.saveAll(List.of(
+			createProduct(HANDMADE, "001", 1000),
+			createProduct(BOTTLE, "002", 2000)
+		));
+		stockRepository.save(Stock.create("002", 5));
+
+		// when
+		List<CompletableFuture<OrderResponse>> futures = new ArrayList<>();
+		for (int i = 0; i < 10; i++) {
+			futures.add(orderGroupCommitter.submit(createRequest("001", "002"), registeredDateTime));
+		}
+
+		// then
+		List<CompletableFuture<OrderResponse>> succeeded = futures.stream()
+			.filter(future -> !future.handle((response, e) -> e != null).join())
+			.collect(Collectors.toList());
+		assertThat(succeeded).hasSize(5);
+		assertThat(succeeded.stream().map(future -> future.join().getId()).distinct()).hasSize(5);
+		assertThat(succeeded).allSatisfy(future -> assertThat(future.join().getTotalPrice()).isEqualTo(3000));
+
+		assertThat(futures).filteredOn(CompletableFuture::isCompletedExceptionally)
+			.hasSize(5)
+			.allSatisfy(future -> assertThatThrownBy(future::join)
+				.isInstanceOf(CompletionException.class)
+				.hasCauseInstanceOf(IllegalArgumentException.class)
+				.hasRootCauseMessage("재고가 부족한 상품이 있습니다."));
+		assertThat(orderRepository.findAll()).hasSize(5);
+	}
+
+	@DisplayName("재고가 부족하면 그 호출자에게만 예외가 전달된다.")
+	@Test
+	void createOrderWithNoStock() {
+		// given
+		productRepository.save(createProduct(BOTTLE, "001", 1000));
+		stockRepository.save(Stock.create("001", 1));
+
+		// when // then
+		assertThatThrownBy(() -> orderGroupCommitter.createOrder(createRequest("001", "001"), LocalDateTime.now()))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("재고가 부족한 상품이 있습니다.");
+	}
+
+	@DisplayName("묶은 트랜잭션이 실패하면 주문별 트랜잭션으로 다시 처리한다.")
+	@Test
+	void commitEachWhenGroupCommitFails() {
+		// given
+		productRepository.save(createProduct(HANDMADE, "001", 1000));
+		willThrow(new DataIntegrityViolationException("group commit failed"))
+			.given(orderService).createOrders(anyList(), anyList());
+
+		// when
+		List<CompletableFuture<OrderResponse>> futures = new ArrayList<>();
+		for (int i = 0; i < 3; i++) {
+			futures.add(orderGroupCommitter.submit(createRequest("001"), LocalDateTime.now()));
+		}
+
+		// then
+		assertThat(futures).allSatisfy(future -> assertThat(future.join().getTotalPrice()).isEqualTo(1000));
+		assertThat(orderRepository.findAll()).hasSize(3);
+	}
+
+	@DisplayName("window 가 닫히기 전에 기다리는 시간이 끝나면 주문을 취소하고 생성하지 않는다.")
+	@Test
+	void createOrderWithTimeout() throws InterruptedException {
+		// given
+		productRepository.save(createProduct(HANDMADE, "001", 1000));
+		OrderGroupCommitter slowCommitter = new OrderGroupCommitter(orderService, true, 500, 100, 10, 50);
+		slowCommitter.start();
+
+		// when
+		assertThatThrownBy(() -> slowCommitter.createOrder(createRequest("001"), LocalDateTime.now()))
+			.isInstanceOf(IllegalStateException.class)
+			.hasMessage("주문 처리 시간이 초과되었습니다. 다시 시도해주세요.");
+		slowCommitter.stop();
+
+		// then
+		then(orderService).should(never()).createOrders(anyList(), anyList());
+		assertThat(orderRepository.findAll()).isEmpty();
+	}
+
+	private static OrderCreateServiceRequest createRequest(String... productNumbers) {
+		return OrderCreateServiceRequest.builder()
+			.productNumbers(List.of(productNumbers))
+			.build();
+	}
+
+	private static Product createProduct(ProductType type, String productNumber, int price) {
+		return Product.builder()
+			.type(type)
+			.productNumber(productNumber)
+			.price(price)
+			.sellingStatus(SELLING)
+			.name("메뉴 이름")
+			.build();
+	}
+
+}
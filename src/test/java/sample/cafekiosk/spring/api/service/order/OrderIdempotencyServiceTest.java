@@ -0,0 +1,192 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderIdempotencyKeyRepository;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+class OrderIdempotencyServiceTest extends IntegrationTestSupport {
+
+	@Autowired
+	private OrderIdempotencyService orderIdempotencyService;
+
+	@Autowired
+	private OrderIdempotencyKeyRepository orderIdempotencyKeyRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderProductRepository orderProductRepository;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@AfterEach
+	void tearDown() {
+		orderIdempotencyService.invalidateAll();
+		orderIdempotencyKeyRepository.deleteAllInBatch();
+		orderProductRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		stockRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("같은 Idempotency-Key 로 다시 요청하면 주문을 새로 만들지 않고 처음 만든 주문을 돌려준다.")
+	@Test
+	void createOrderWithSameKey() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+		productRepository.save(createProduct(BOTTLE, "001", 1000));
+		stockRepository.save(Stock.create("001", 5));
+
+		OrderResponse first = orderIdempotencyService.createOrder("key-1", createRequest("001"), registeredDateTime);
+
+		// when
+		OrderResponse second = orderIdempotencyService.createOrder("key-1", createRequest("001"), registeredDateTime);
+
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(orderRepository.findAll()).hasSize(1);
+		assertThat(stockRepository.findAll())
+			.extracting("productNumber", "quantity")
+			.containsExactly(tuple("001", 4));
+	}
+
+	@DisplayName("같은 키로 동시에 들어온 요청은 처음 요청의 결과를 기다렸다가 같은 주문을 받는다.")
+	@Test
+	void createOrderConcurrentlyWithSameKey() throws Exception {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+		productRepository.save(createProduct(BOTTLE, "001", 1000));
+		stockRepository.save(Stock.create("001", 100));
+
+		int threadCount = 10;
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		CountDownLatch startLatch = new CountDownLatch(1);
+
+		// when
+		List<Future<OrderResponse>> futures = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			futures.add(executorService.submit(() -> {
+				startLatch.await();
+				return orderIdempotencyService.createOrder("key-1", createRequest("001"), registeredDateTime);
+			}));
+		}
+		startLatch.countDown();
+
+		List<Long> orderIds = new ArrayList<>();
+		for (Future<OrderResponse> future : futures) {
+			orderIds.add(future.get().getId());
+		}
+		executorService.shutdown();
+
+		// then
+		assertThat(orderIds).containsOnly(orderIds.get(0));
+		assertThat(orderRepository.findAll()).hasSize(1);
+		assertThat(stockRepository.findAll())
+			.extracting("productNumber", "quantity")
+			.containsExactly(tuple("001", 99));
+	}
+
+	@DisplayName("메모리에서 키가 사라져도 키 테이블에서 처음 만든 주문을 찾아 돌려준다.")
+	@Test
+	void createOrderWithSameKeyAfterEviction() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+		productRepository.save(createProduct(HANDMADE, "001", 1000));
+
+		OrderResponse first = orderIdempotencyService.createOrder("key-1", createRequest("001"), registeredDateTime);
+		orderIdempotencyService.invalidateAll();
+
+		// when
+		OrderResponse second = orderIdempotencyService.createOrder("key-1", createRequest("001"), registeredDateTime);
+
+		// then
+		assertThat(second.getId()).isEqualTo(first.getId());
+		assertThat(orderRepository.findAll()).hasSize(1);
+	}
+
+	@DisplayName("같은 키로 다른 상품을 주문할 수 없다.")
+	@Test
+	void createOrderWithSameKeyAndDifferentRequest() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+		productRepository.saveAll(List.of(
+			createProduct(HANDMADE, "001", 1000),
+			createProduct(HANDMADE, "002", 2000)
+		));
+		orderIdempotencyService.createOrder("key-1", createRequest("001"), registeredDateTime);
+
+		// when // then
+		assertThatThrownBy(() -> orderIdempotencyService.createOrder("key-1", createRequest("002"), registeredDateTime))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("같은 Idempotency-Key 로 다른 주문을 요청할 수 없습니다.");
+	}
+
+	@DisplayName("주문 생성에 실패한 키는 기억하지 않으므로 같은 키로 다시 시도할 수 있다.")
+	@Test
+	void createOrderAgainAfterFailure() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+		productRepository.save(createProduct(BOTTLE, "001", 1000));
+		stockRepository.save(Stock.create("001", 0));
+
+		assertThatThrownBy(() -> orderIdempotencyService.createOrder("key-1", createRequest("001"), registeredDateTime))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("재고가 부족한 상품이 있습니다.");
+		stockRepository.deleteAllInBatch();
+		stockRepository.save(Stock.create("001", 1));
+
+		// when
+		OrderResponse orderResponse = orderIdempotencyService.createOrder("key-1", createRequest("001"), registeredDateTime);
+
+		// then
+		assertThat(orderResponse.getId()).isNotNull();
+		assertThat(orderIdempotencyKeyRepository.findByIdempotencyKey("key-1")).isPresent();
+	}
+
+	private static OrderCreateServiceRequest createRequest(String... productNumbers) {
+		return OrderCreateServiceRequest.builder()
+			.productNumbers(List.of(productNumbers))
+			.build();
+	}
+
+	private static Product createProduct(ProductType type, String productNumber, int price) {
+		return Product.builder()
+			.type(type)
+			.productNumber(productNumber)
+			.price(price)
+			.sellingStatus(SELLING)
+			.name("메뉴 이름")
+			.build();
+	}
+
+}
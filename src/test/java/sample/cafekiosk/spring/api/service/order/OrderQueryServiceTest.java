@@ -0,0 +1,272 @@
+package sample.cafekiosk.spring.api.service.order;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.request.OrderCursor;
+import sample.cafekiosk.spring.api.service.order.request.OrderSearchServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderPageResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+@TestPropertySource(properties = {
+	"spring.jpa.properties.hibernate.generate_statistics=true",
+	"logging.level.org.hibernate.engine.internal.StatisticalLoggingSessionEventListener=WARN"
+})
+class OrderQueryServiceTest extends IntegrationTestSupport {
+
+	private static final LocalDateTime START = LocalDateTime.of(2023, 7, 18, 0, 0);
+	private static final LocalDateTime END = LocalDateTime.of(2023, 7, 19, 0, 0);
+
+	@Autowired
+	private OrderQueryService orderQueryService;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderProductRepository orderProductRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private Statistics statistics;
+	private List<Order> orders;
+
+	@BeforeEach
+	void setUp() {
+		Product product1 = createProduct("001", 1000);
+		Product product2 = createProduct("002", 3000);
+		Product product3 = createProduct("003", 5000);
+		productRepository.saveAll(List.of(product1, product2, product3));
+
+		orders = orderRepository.saveAll(List.of(
+			Order.create(List.of(product1, product2), LocalDateTime.of(2023, 7, 18, 10, 0)),
+			Order.create(List.of(product2, product3), LocalDateTime.of(2023, 7, 18, 11, 0)),
+			Order.create(List.of(product1, product3), LocalDateTime.of(2023, 7, 18, 12, 0)),
+			Order.create(List.of(product3), LocalDateTime.of(2023, 7, 19, 0, 0))
+		));
+
+		statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		statistics.clear();
+	}
+
+	@AfterEach
+	void tearDown() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("주문 하나를 조회할 때 주문 상품과 상품을 한 번의 쿼리로 함께 읽는다.")
+	@Test
+	void getOrder() {
+		// when
+		OrderResponse orderResponse = orderQueryService.getOrder(orders.get(0).getId());
+
+		// then
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(orderResponse.getTotalPrice()).isEqualTo(4000);
+		assertThat(orderResponse.getProducts())
+			.extracting("productNumber", "price")
+			.containsExactlyInAnyOrder(
+				tuple("001", 1000),
+				tuple("002", 3000)
+			);
+	}
+
+	@DisplayName("지연 로딩으로 OrderResponse 를 만들면 주문 상품과 상품마다 쿼리가 추가로 나간다.")
+	@Test
+	void lazyLoadingIssuesExtraQueries() {
+		// when
+		new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+			OrderResponse.of(orderRepository.findById(orders.get(0).getId()).orElseThrow()));
+
+		// then
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(4);
+	}
+
+	@DisplayName("없는 주문은 조회할 수 없다.")
+	@Test
+	void getOrderWithUnknownId() {
+		// when // then
+		assertThatThrownBy(() -> orderQueryService.getOrder(-1L))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("존재하지 않는 주문입니다.");
+	}
+
+	@DisplayName("기간 내 주문들을 조회할 때 주문 수와 관계없이 한 번의 쿼리만 나간다.")
+	@Test
+	void getOrdersByRegisteredDateTime() {
+		// when
+		List<OrderResponse> orderResponses = orderQueryService.getOrders(START, END);
+
+		// then
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(orderResponses)
+			.extracting("totalPrice", "registeredDateTime")
+			.containsExactly(
+				tuple(4000, LocalDateTime.of(2023, 7, 18, 10, 0)),
+				tuple(8000, LocalDateTime.of(2023, 7, 18, 11, 0)),
+				tuple(6000, LocalDateTime.of(2023, 7, 18, 12, 0))
+			);
+		assertThat(orderResponses).allSatisfy(orderResponse -> assertThat(orderResponse.getProducts()).isNotEmpty());
+	}
+
+	@DisplayName("주문 상태로 주문들을 조회할 때 한 번의 쿼리만 나간다.")
+	@Test
+	void getOrdersByOrderStatus() {
+		// when
+		List<OrderResponse> orderResponses = orderQueryService.getOrders(OrderStatus.INIT);
+
+		// then
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(orderResponses).hasSize(4)
+			.extracting(orderResponse -> orderResponse.getProducts().size())
+			.containsExactly(2, 2, 2, 1);
+	}
+
+	@DisplayName("엔티티 없이 평평한 조회 결과로 만든 OrderResponse 는 fetch join 결과와 같고, 한 번의 쿼리만 나간다.")
+	@Test
+	void getOrdersWithProjection() {
+		// when
+		List<OrderResponse> orderResponses = orderQueryService.getOrdersWithProjection(START, END);
+
+		// then
+		assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+		assertThat(statistics.getEntityLoadCount()).isZero();
+		assertThat(orderResponses)
+			.usingRecursiveFieldByFieldElementComparator()
+			.containsExactlyElementsOf(orderQueryService.getOrders(START, END));
+	}
+
+	@DisplayName("주문 목록을 커서로 이어서 조회한다. 페이지마다 쿼리는 두 번만 나간다.")
+	@Test
+	void getOrderPage() {
+		// given
+		OrderSearchServiceRequest firstRequest = OrderSearchServiceRequest.builder()
+			.startDateTime(START)
+			.endDateTime(END)
+			.size(2)
+			.build();
+
+		// when
+		OrderPageResponse firstPage = orderQueryService.getOrderPage(firstRequest);
+		long firstPageStatements = statistics.getPrepareStatementCount();
+		OrderPageResponse secondPage = orderQueryService.getOrderPage(OrderSearchServiceRequest.builder()
+			.startDateTime(START)
+			.endDateTime(END)
+			.cursor(OrderCursor.decode(firstPage.getNextCursor()))
+			.size(2)
+			.build());
+
+		// then
+		assertThat(firstPageStatements).isEqualTo(2);
+		assertThat(firstPage.isHasNext()).isTrue();
+		assertThat(firstPage.getOrders())
+			.extracting("totalPrice", "registeredDateTime")
+			.containsExactly(
+				tuple(4000, LocalDateTime.of(2023, 7, 18, 10, 0)),
+				tuple(8000, LocalDateTime.of(2023, 7, 18, 11, 0))
+			);
+
+		assertThat(secondPage.isHasNext()).isFalse();
+		assertThat(secondPage.getNextCursor()).isNull();
+		assertThat(secondPage.getOrders())
+			.extracting("totalPrice", "registeredDateTime")
+			.containsExactly(
+				tuple(6000, LocalDateTime.of(2023, 7, 18, 12, 0))
+			);
+	}
+
+	@DisplayName("같은 시각에 등록된 주문은 id 순서로 이어서 조회되어 누락되거나 중복되지 않는다.")
+	@Test
+	void getOrderPageWithSameRegisteredDateTime() {
+		// given
+		Product product = productRepository.findAll().get(0);
+		LocalDateTime registeredDateTime = LocalDateTime.of(2023, 7, 20, 9, 0);
+		List<Order> sameTimeOrders = orderRepository.saveAll(List.of(
+			Order.create(List.of(product), registeredDateTime),
+			Order.create(List.of(product), registeredDateTime),
+			Order.create(List.of(product), registeredDateTime)
+		));
+
+		OrderSearchServiceRequest.OrderSearchServiceRequestBuilder request = OrderSearchServiceRequest.builder()
+			.startDateTime(registeredDateTime)
+			.endDateTime(registeredDateTime.plusHours(1))
+			.size(1);
+
+		// when
+		List<Long> orderIds = new ArrayList<>();
+		OrderPageResponse page = orderQueryService.getOrderPage(request.build());
+		page.getOrders().forEach(order -> orderIds.add(order.getId()));
+		while (page.isHasNext()) {
+			page = orderQueryService.getOrderPage(request.cursor(OrderCursor.decode(page.getNextCursor())).build());
+			page.getOrders().forEach(order -> orderIds.add(order.getId()));
+		}
+
+		// then
+		assertThat(orderIds).containsExactly(
+			sameTimeOrders.get(0).getId(),
+			sameTimeOrders.get(1).getId(),
+			sameTimeOrders.get(2).getId()
+		);
+	}
+
+	@DisplayName("주문 상태를 함께 넘기면 해당 상태의 주문만 조회한다.")
+	@Test
+	void getOrderPageByOrderStatus() {
+		// when
+		OrderPageResponse page = orderQueryService.getOrderPage(OrderSearchServiceRequest.builder()
+			.startDateTime(START)
+			.endDateTime(END)
+			.orderStatus(OrderStatus.PAYMENT_COMPLETED)
+			.size(10)
+			.build());
+
+		// then
+		assertThat(page.getOrders()).isEmpty();
+		assertThat(page.isHasNext()).isFalse();
+	}
+
+	private static Product createProduct(String productNumber, int price) {
+		return Product.builder()
+			.productNumber(productNumber)
+			.type(HANDMADE)
+			.sellingStatus(SELLING)
+			.name("메뉴 이름")
+			.price(price)
+			.build();
+	}
+
+}
@@ -12,10 +12,18 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import sample.cafekiosk.spring.IntegrationTestSupport;
 import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderCreateResult;
 import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatusChangeResponse;
+import sample.cafekiosk.spring.config.sql.SqlStatementType;
+import sample.cafekiosk.spring.config.sql.SqlStatistics;
+import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
@@ -48,6 +56,9 @@ class OrderServiceTest extends IntegrationTestSupport {
 	@Autowired
 	private OrderService orderService;
 
+	@Autowired
+	private MeterRegistry meterRegistry;
+
 	@AfterEach
 	void tearDown() {
 		orderProductRepository.deleteAllInBatch();
@@ -157,6 +168,62 @@ class OrderServiceTest extends IntegrationTestSupport {
 			.hasMessage("재고가 부족한 상품이 있습니다.");
 	}
 
+	@DisplayName("상품 3개로 주문을 생성할 때 상품은 2차 캐시에서 꺼내고 재고 수량만 한 번에 조회하며, 주문과 주문 상품 INSERT 는 batch 로 묶는다.")
+	@Test
+	void createOrderStatementBudget() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+		productRepository.saveAll(List.of(
+			createProduct(BOTTLE, "001", 1000),
+			createProduct(BAKERY, "002", 3000),
+			createProduct(HANDMADE, "003", 5000)
+		));
+		stockRepository.saveAll(List.of(
+			Stock.create("001", 10),
+			Stock.create("002", 10)
+		));
+
+		OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+			.productNumbers(List.of("001", "002", "003"))
+			.build();
+
+		// when
+		SqlStatistics cold = countStatements(() -> orderService.createOrder(request, registeredDateTime));
+		SqlStatistics warm = countStatements(() -> orderService.createOrder(request, registeredDateTime));
+
+		// then
+		assertThat(cold.getCount(SqlStatementType.SELECT)).as(cold.describe()).isEqualTo(2);
+		assertThat(warm.getCount(SqlStatementType.SELECT)).as(warm.describe()).isEqualTo(1);
+		assertThat(warm.getCount(SqlStatementType.UPDATE)).as(warm.describe()).isEqualTo(2);
+		assertThat(warm.getCount(SqlStatementType.INSERT)).as(warm.describe()).isLessThanOrEqualTo(2);
+		assertThat(warm.getTotalCount()).as(warm.describe()).isLessThanOrEqualTo(9);
+	}
+
+	@DisplayName("주문 생성 단계별 소요 시간과 재고 부족으로 거절된 주문 수를 기록한다.")
+	@Test
+	void createOrderRecordsMetrics() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+		productRepository.save(createProduct(BOTTLE, "001", 1000));
+		stockRepository.save(Stock.create("001", 1));
+
+		OrderCreateServiceRequest request = OrderCreateServiceRequest.builder()
+			.productNumbers(List.of("001"))
+			.build();
+		double shortageCount = meterRegistry.get("kiosk.order.stock.shortage").counter().count();
+		long saveCount = meterRegistry.get("kiosk.order.create.stage").tag("stage", "order_save").timer().count();
+
+		// when
+		orderService.createOrder(request, registeredDateTime);
+		assertThatThrownBy(() -> orderService.createOrder(request, registeredDateTime))
+			.isInstanceOf(IllegalArgumentException.class);
+
+		// then
+		assertThat(meterRegistry.get("kiosk.order.stock.shortage").counter().count()).isEqualTo(shortageCount + 1);
+		assertThat(meterRegistry.get("kiosk.order.create.stage").tag("stage", "order_save").timer().count())
+			.isEqualTo(saveCount + 1);
+	}
+
 	@DisplayName("중복되는 상품 번호 리스트로 주문을 생성할 수 있다.")
 	@Test
 	void createOrderWithDuplicateProductNumber() {
@@ -188,6 +255,124 @@ class OrderServiceTest extends IntegrationTestSupport {
 			);
 	}
 
+	@DisplayName("여러 주문을 한 번에 생성할 때 재고가 부족한 주문만 실패하고 나머지 주문은 생성된다.")
+	@Test
+	void createOrders() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+
+		Product product1 = createProduct(BOTTLE, "001", 1000);
+		Product product2 = createProduct(HANDMADE, "002", 3000);
+		productRepository.saveAll(List.of(product1, product2));
+
+		stockRepository.save(Stock.create("001", 1));
+
+		List<OrderCreateServiceRequest> requests = List.of(
+			OrderCreateServiceRequest.builder().productNumbers(List.of("001", "002")).build(),
+			OrderCreateServiceRequest.builder().productNumbers(List.of("001")).build(),
+			OrderCreateServiceRequest.builder().productNumbers(List.of("002", "002")).build()
+		);
+
+		// when
+		List<OrderCreateResult> results = orderService.createOrders(requests, registeredDateTime);
+
+		// then
+		assertThat(results).hasSize(3)
+			.extracting("success", "failureMessage")
+			.containsExactly(
+				tuple(true, null),
+				tuple(false, "재고가 부족한 상품이 있습니다."),
+				tuple(true, null)
+			);
+		assertThat(results.get(0).getOrder().getTotalPrice()).isEqualTo(4000);
+		assertThat(results.get(2).getOrder().getTotalPrice()).isEqualTo(6000);
+		assertThat(orderRepository.findAll()).hasSize(2);
+
+		List<Stock> stocks = stockRepository.findAll();
+		assertThat(stocks).hasSize(1)
+			.extracting("productNumber", "quantity")
+			.containsExactly(tuple("001", 0));
+	}
+
+	@DisplayName("여러 주문을 한 번에 취소하면 현재 상태가 맞는 주문만 취소되고, 재고 상품의 수량이 되돌아온다.")
+	@Test
+	void changeOrderStatusToCanceled() {
+		// given
+		LocalDateTime registeredDateTime = LocalDateTime.now();
+
+		Product product1 = createProduct(BOTTLE, "001", 1000);
+		Product product2 = createProduct(BAKERY, "002", 3000);
+		Product product3 = createProduct(HANDMADE, "003", 5000);
+		productRepository.saveAll(List.of(product1, product2, product3));
+
+		stockRepository.saveAll(List.of(Stock.create("001", 0), Stock.create("002", 1)));
+
+		Order order1 = Order.create(List.of(product1, product1, product3), registeredDateTime);
+		Order order2 = Order.create(List.of(product1, product2), registeredDateTime);
+		Order order3 = Order.create(List.of(product2), registeredDateTime);
+		order3.completePayment();
+		orderRepository.saveAll(List.of(order1, order2, order3));
+
+		OrderStatusChangeServiceRequest request = OrderStatusChangeServiceRequest.builder()
+			.orderIds(List.of(order1.getId(), order2.getId(), order3.getId()))
+			.currentStatus(OrderStatus.INIT)
+			.targetStatus(OrderStatus.CANCELED)
+			.build();
+
+		// when
+		OrderStatusChangeResponse response = orderService.changeOrderStatus(request);
+
+		// then
+		assertThat(response.getChangedOrderIds()).containsExactlyInAnyOrder(order1.getId(), order2.getId());
+		assertThat(response.getSkippedOrderIds()).containsExactly(order3.getId());
+
+		assertThat(orderRepository.findAll())
+			.extracting("id", "orderStatus")
+			.containsExactlyInAnyOrder(
+				tuple(order1.getId(), OrderStatus.CANCELED),
+				tuple(order2.getId(), OrderStatus.CANCELED),
+				tuple(order3.getId(), OrderStatus.PAYMENT_COMPLETED)
+			);
+		assertThat(stockRepository.findAll())
+			.extracting("productNumber", "quantity")
+			.containsExactlyInAnyOrder(
+				tuple("001", 3),
+				tuple("002", 2)
+			);
+	}
+
+	@DisplayName("허용되지 않은 상태로는 주문 상태를 일괄 변경할 수 없다.")
+	@Test
+	void changeOrderStatusWithInvalidTransition() {
+		// given
+		OrderStatusChangeServiceRequest request = OrderStatusChangeServiceRequest.builder()
+			.orderIds(List.of(1L))
+			.currentStatus(OrderStatus.INIT)
+			.targetStatus(OrderStatus.COMPLETED)
+			.build();
+
+		// when // then
+		assertThatThrownBy(() -> orderService.changeOrderStatus(request))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("변경할 수 없는 주문 상태입니다.");
+	}
+
+	@DisplayName("결제 완료는 주문 상태 일괄 변경으로 처리할 수 없다.")
+	@Test
+	void changeOrderStatusToPaymentCompleted() {
+		// given
+		OrderStatusChangeServiceRequest request = OrderStatusChangeServiceRequest.builder()
+			.orderIds(List.of(1L))
+			.currentStatus(OrderStatus.INIT)
+			.targetStatus(OrderStatus.PAYMENT_COMPLETED)
+			.build();
+
+		// when // then
+		assertThatThrownBy(() -> orderService.changeOrderStatus(request))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("결제 완료는 주문별로 처리해야 합니다.");
+	}
+
 	private Product createProduct(ProductType type, String productNumber, int price) {
 		return Product.builder()
 			.type(type)
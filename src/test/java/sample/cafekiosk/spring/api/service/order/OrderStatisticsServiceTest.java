@@ -16,10 +16,13 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 
 import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.mail.MailDispatcher;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistory;
 import sample.cafekiosk.spring.domain.history.mail.MailSendHistoryRepository;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
 import sample.cafekiosk.spring.domain.order.Order;
 import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSalesStatistics;
 import sample.cafekiosk.spring.domain.order.OrderStatus;
 import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
 import sample.cafekiosk.spring.domain.product.Product;
@@ -43,12 +46,19 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
 	@Autowired
 	private MailSendHistoryRepository mailSendHistoryRepository;
 
+	@Autowired
+	private MailOutboxRepository mailOutboxRepository;
+
+	@Autowired
+	private MailDispatcher mailDispatcher;
+
 	@AfterEach
 	void tearDown() {
 		orderProductRepository.deleteAllInBatch();
 		orderRepository.deleteAllInBatch();
 		productRepository.deleteAllInBatch();
 		mailSendHistoryRepository.deleteAllInBatch();
+		mailOutboxRepository.deleteAllInBatch();
 	}
 
 	@DisplayName("결제 완료 주문들을 조회하여 매출 통계 메일을 전송한다.")
@@ -74,6 +84,7 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
 
 		// when
 		boolean result = orderStatisticsService.sendOrderStatisticsMail(LocalDate.of(2023, 7, 18), "test@test.com");
+		mailDispatcher.dispatchPending();
 
 		// then
 		assertThat(result).isTrue();
@@ -84,6 +95,32 @@ class OrderStatisticsServiceTest extends IntegrationTestSupport {
 			.contains("총 매출 합계는 12000원입니다.");
 	}
 
+	@DisplayName("결제 완료 주문들을 스트리밍으로 읽어 하루치 매출 통계를 만든다.")
+	@Test
+	void getDailySalesStatistics() {
+		// given
+		Product product1 = createProduct("001", HANDMADE, 1000);
+		Product product2 = createProduct("002", HANDMADE, 2000);
+		productRepository.saveAll(List.of(product1, product2));
+
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 17, 23, 59, 59), List.of(product1));
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 18, 10, 0), List.of(product1, product2));
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 18, 10, 30), List.of(product1));
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 18, 23, 59, 59), List.of(product2));
+		orderRepository.save(Order.create(List.of(product1), LocalDateTime.of(2023, 7, 18, 11, 0)));
+
+		// when
+		OrderSalesStatistics statistics = orderStatisticsService.getDailySalesStatistics(LocalDate.of(2023, 7, 18));
+
+		// then
+		assertThat(statistics)
+			.extracting("orderCount", "totalAmount", "maxOrderAmount", "averageOrderAmount")
+			.containsExactly(3L, 6000L, 3000, 2000L);
+		assertThat(statistics.getHourlyAmount(10)).isEqualTo(4000L);
+		assertThat(statistics.getHourlyAmount(11)).isZero();
+		assertThat(statistics.getHourlyAmount(23)).isEqualTo(2000L);
+	}
+
 	private Order createPaymentCompletedOrder(LocalDateTime now, List<Product> products) {
 		return orderRepository.save(
 			Order.builder()
@@ -0,0 +1,126 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import static org.assertj.core.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+import java.io.UnsupportedEncodingException;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.request.OrderCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@AutoConfigureMockMvc
+class OrderEventBusTest extends IntegrationTestSupport {
+
+	@Autowired
+	private MockMvc mockMvc;
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderProductRepository orderProductRepository;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@AfterEach
+	void tearDown() {
+		orderProductRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		stockRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("커밋된 주문 생성과 상태 변경을 구독자에게 SSE 로 보낸다.")
+	@Test
+	void publishCommittedOrders() throws Exception {
+		// given
+		productRepository.save(createProduct(HANDMADE, "001"));
+		MockHttpServletResponse response = mockMvc.perform(get("/api/v1/orders/events"))
+			.andExpect(request().asyncStarted())
+			.andReturn()
+			.getResponse();
+
+		// when
+		OrderResponse orderResponse = orderService.createOrder(createRequest("001"), LocalDateTime.now());
+		orderService.completePayment(orderResponse.getId());
+
+		// then
+		String content = awaitContent(response, "event:STATUS_CHANGED");
+		assertThat(content).contains("event:CREATED", "\"orderId\":" + orderResponse.getId(), "\"orderStatus\":\"PAYMENT_COMPLETED\"");
+	}
+
+	@DisplayName("롤백된 주문은 구독자에게 보내지 않는다.")
+	@Test
+	void doNotPublishRolledBackOrders() throws Exception {
+		// given
+		productRepository.saveAll(List.of(createProduct(HANDMADE, "001"), createProduct(BAKERY, "002")));
+		stockRepository.save(Stock.create("002", 0));
+		MockHttpServletResponse response = mockMvc.perform(get("/api/v1/orders/events"))
+			.andExpect(request().asyncStarted())
+			.andReturn()
+			.getResponse();
+
+		// when
+		assertThatThrownBy(() -> orderService.createOrder(createRequest("002"), LocalDateTime.now()))
+			.isInstanceOf(IllegalArgumentException.class);
+		orderService.createOrder(createRequest("001"), LocalDateTime.now());
+
+		// then
+		String content = awaitContent(response, "event:CREATED");
+		assertThat(content.split("event:CREATED", -1)).hasSize(2);
+	}
+
+	private static String awaitContent(MockHttpServletResponse response, String expected)
+		throws UnsupportedEncodingException, InterruptedException {
+		for (int i = 0; i < 50 && !response.getContentAsString().contains(expected); i++) {
+			Thread.sleep(100);
+		}
+		return response.getContentAsString();
+	}
+
+	private static OrderCreateServiceRequest createRequest(String productNumber) {
+		return OrderCreateServiceRequest.builder()
+			.productNumbers(List.of(productNumber))
+			.build();
+	}
+
+	private static Product createProduct(ProductType type, String productNumber) {
+		return Product.builder()
+			.type(type)
+			.productNumber(productNumber)
+			.price(1000)
+			.sellingStatus(SELLING)
+			.name("메뉴 이름")
+			.build();
+	}
+
+}
@@ -0,0 +1,70 @@
+package sample.cafekiosk.spring.api.service.order.event;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+
+class OrderEventQueueTest {
+
+	@DisplayName("큐가 가득 차면 가장 오래된 이벤트를 버리고 버린 개수를 함께 꺼낸다.")
+	@Test
+	void offerWhenFull() {
+		// given
+		OrderEventQueue queue = new OrderEventQueue(2);
+
+		// when
+		queue.offer(OrderEvent.statusChanged(1L, OrderStatus.RECEIVED));
+		queue.offer(OrderEvent.statusChanged(2L, OrderStatus.RECEIVED));
+		queue.offer(OrderEvent.statusChanged(3L, OrderStatus.RECEIVED));
+		OrderEventQueue.Batch batch = queue.drain();
+
+		// then
+		assertThat(batch.droppedCount).isEqualTo(1);
+		assertThat(batch.events)
+			.extracting("orderId")
+			.containsExactly(2L, 3L);
+	}
+
+	@DisplayName("전송 작업은 큐가 빌 때까지 한 번만 예약된다.")
+	@Test
+	void offerSchedulesOnce() {
+		// given
+		OrderEventQueue queue = new OrderEventQueue(10);
+
+		// when
+		boolean first = queue.offer(OrderEvent.statusChanged(1L, OrderStatus.RECEIVED));
+		boolean second = queue.offer(OrderEvent.statusChanged(2L, OrderStatus.RECEIVED));
+		queue.drain();
+		OrderEventQueue.Batch empty = queue.drain();
+		boolean third = queue.offer(OrderEvent.statusChanged(3L, OrderStatus.RECEIVED));
+
+		// then
+		assertThat(first).isTrue();
+		assertThat(second).isFalse();
+		assertThat(empty).isNull();
+		assertThat(third).isTrue();
+	}
+
+	@DisplayName("보낼 이벤트가 남아 있으면 heartbeat 는 예약하지 않는다.")
+	@Test
+	void offerHeartbeat() {
+		// given
+		OrderEventQueue queue = new OrderEventQueue(10);
+		queue.offer(OrderEvent.statusChanged(1L, OrderStatus.RECEIVED));
+
+		// when
+		boolean heartbeatWithEvents = queue.offerHeartbeat();
+		queue.drain();
+		queue.drain();
+		boolean heartbeatWhenIdle = queue.offerHeartbeat();
+
+		// then
+		assertThat(heartbeatWithEvents).isFalse();
+		assertThat(heartbeatWhenIdle).isTrue();
+		assertThat(queue.drain().heartbeat).isTrue();
+	}
+
+}
@@ -0,0 +1,264 @@
+package sample.cafekiosk.spring.api.service.order.report;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.mail.MailOutboxService;
+import sample.cafekiosk.spring.api.service.order.OrderStatisticsService;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatisticsReportServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderStatisticsReportResponse;
+import sample.cafekiosk.spring.domain.mail.MailOutbox;
+import sample.cafekiosk.spring.domain.mail.MailOutboxRepository;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+class OrderStatisticsReportServiceTest extends IntegrationTestSupport {
+
+	@Autowired
+	private OrderStatisticsReportService orderStatisticsReportService;
+
+	@Autowired
+	private OrderStatisticsService orderStatisticsService;
+
+	@Autowired
+	private MailOutboxService mailOutboxService;
+
+	@Autowired
+	private OrderProductRepository orderProductRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private MailOutboxRepository mailOutboxRepository;
+
+	@AfterEach
+	void tearDown() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		mailOutboxRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("기간을 날짜별로 나눠 집계한 매출 합계를 수신자마다 메일 outbox 에 넣는다.")
+	@Test
+	void startReport() throws InterruptedException {
+		// given
+		Product product1 = createProduct("001", HANDMADE, 1000);
+		Product product2 = createProduct("002", HANDMADE, 2000);
+		List<Product> products = List.of(product1, product2);
+		productRepository.saveAll(products);
+
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 16, 23, 59, 59), products);
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 17, 10, 0), products);
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 17, 11, 0), List.of(product1));
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 19, 23, 59, 59), List.of(product2));
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 20, 0, 0), products);
+
+		OrderStatisticsReportServiceRequest request = OrderStatisticsReportServiceRequest.builder()
+			.startDate(LocalDate.of(2023, 7, 17))
+			.endDate(LocalDate.of(2023, 7, 19))
+			.emails(List.of("manager1@test.com", "manager2@test.com", "manager1@test.com"))
+			.build();
+
+		// when
+		OrderStatisticsReportResponse started = orderStatisticsReportService.startReport(request);
+		OrderStatisticsReportResponse finished = awaitFinished(started.getReportId());
+
+		// then
+		assertThat(finished)
+			.extracting("status", "totalDays", "completedDays", "recipientCount", "orderCount", "totalAmount")
+			.containsExactly(OrderStatisticsReportStatus.COMPLETED, 3, 3, 2, 3L, 6000L);
+
+		List<MailOutbox> mails = mailOutboxRepository.findAll();
+		assertThat(mails).hasSize(2)
+			.extracting("toEmail", "subject")
+			.containsExactlyInAnyOrder(
+				tuple("manager1@test.com", "[매출 통계] 2023-07-17 ~ 2023-07-19"),
+				tuple("manager2@test.com", "[매출 통계] 2023-07-17 ~ 2023-07-19")
+			);
+		assertThat(mails.get(0).getContent())
+			.contains("총 매출 합계는 6000원입니다. (주문 3건)", "2023-07-17: 4000원 (2건)", "2023-07-18: 0원 (0건)",
+				"2023-07-19: 2000원 (1건)");
+	}
+
+	@DisplayName("취소한 리포트는 남은 날짜를 집계하지 않고 메일도 보내지 않는다.")
+	@Test
+	void cancelReport() throws InterruptedException {
+		// given
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		OrderStatisticsReportService reportService = new OrderStatisticsReportService(orderStatisticsService,
+			mailOutboxService, executorService, 31, 1000, 4, 100, 60);
+		CountDownLatch blocker = new CountDownLatch(1);
+		executorService.submit(() -> {
+			blocker.await();
+			return null;
+		});
+
+		OrderStatisticsReportResponse started = reportService.startReport(OrderStatisticsReportServiceRequest.builder()
+			.startDate(LocalDate.of(2023, 7, 1))
+			.endDate(LocalDate.of(2023, 7, 31))
+			.emails(List.of("manager@test.com"))
+			.build());
+
+		// when
+		OrderStatisticsReportResponse canceled = reportService.cancelReport(started.getReportId());
+		blocker.countDown();
+		executorService.shutdown();
+		executorService.awaitTermination(5, TimeUnit.SECONDS);
+
+		// then
+		assertThat(canceled.getStatus()).isEqualTo(OrderStatisticsReportStatus.CANCELED);
+		assertThat(reportService.getReport(started.getReportId()))
+			.extracting("status", "completedDays")
+			.containsExactly(OrderStatisticsReportStatus.CANCELED, 0);
+		assertThat(mailOutboxRepository.count()).isZero();
+	}
+
+	@DisplayName("진행 중인 리포트가 최대 개수만큼 있으면 새 리포트를 시작할 수 없다.")
+	@Test
+	void startReportWhenTooManyRunning() throws InterruptedException {
+		// given
+		ExecutorService executorService = Executors.newSingleThreadExecutor();
+		OrderStatisticsReportService reportService = new OrderStatisticsReportService(orderStatisticsService,
+			mailOutboxService, executorService, 31, 1000, 1, 100, 60);
+		CountDownLatch blocker = new CountDownLatch(1);
+		executorService.submit(() -> {
+			blocker.await();
+			return null;
+		});
+		OrderStatisticsReportServiceRequest request = OrderStatisticsReportServiceRequest.builder()
+			.startDate(LocalDate.of(2023, 7, 1))
+			.endDate(LocalDate.of(2023, 7, 31))
+			.emails(List.of("manager@test.com"))
+			.build();
+		OrderStatisticsReportResponse running = reportService.startReport(request);
+
+		// when // then
+		assertThatThrownBy(() -> reportService.startReport(request))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("진행 중인 리포트가 너무 많습니다. 잠시 후 다시 시도해주세요.");
+
+		reportService.cancelReport(running.getReportId());
+		blocker.countDown();
+		executorService.shutdown();
+		executorService.awaitTermination(5, TimeUnit.SECONDS);
+	}
+
+	@DisplayName("집계가 끝난 리포트는 취소할 수 없다.")
+	@Test
+	void cancelFinishedReport() throws InterruptedException {
+		// given
+		OrderStatisticsReportResponse started = orderStatisticsReportService.startReport(
+			OrderStatisticsReportServiceRequest.builder()
+				.startDate(LocalDate.of(2023, 7, 17))
+				.endDate(LocalDate.of(2023, 7, 17))
+				.emails(List.of("manager@test.com"))
+				.build());
+		awaitFinished(started.getReportId());
+
+		// when // then
+		assertThatThrownBy(() -> orderStatisticsReportService.cancelReport(started.getReportId()))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("집계가 끝난 리포트는 취소할 수 없습니다.");
+	}
+
+	@DisplayName("존재하지 않는 리포트는 조회할 수 없다.")
+	@Test
+	void getUnknownReport() {
+		// when // then
+		assertThatThrownBy(() -> orderStatisticsReportService.getReport("unknown"))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("존재하지 않는 리포트입니다.");
+	}
+
+	@DisplayName("리포트 종료일은 시작일보다 앞설 수 없다.")
+	@Test
+	void startReportWithEndDateBeforeStartDate() {
+		// given
+		OrderStatisticsReportServiceRequest request = OrderStatisticsReportServiceRequest.builder()
+			.startDate(LocalDate.of(2023, 7, 17))
+			.endDate(LocalDate.of(2023, 7, 16))
+			.emails(List.of("manager@test.com"))
+			.build();
+
+		// when // then
+		assertThatThrownBy(() -> orderStatisticsReportService.startReport(request))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("리포트 종료일은 시작일보다 앞설 수 없습니다.");
+	}
+
+	@DisplayName("리포트 기간은 최대 일수를 넘을 수 없다.")
+	@Test
+	void startReportWithTooLongPeriod() {
+		// given
+		OrderStatisticsReportServiceRequest request = OrderStatisticsReportServiceRequest.builder()
+			.startDate(LocalDate.of(2023, 7, 1))
+			.endDate(LocalDate.of(2023, 8, 1))
+			.emails(List.of("manager@test.com"))
+			.build();
+
+		// when // then
+		assertThatThrownBy(() -> orderStatisticsReportService.startReport(request))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("리포트 기간은 31일 이하여야 합니다.");
+	}
+
+	private OrderStatisticsReportResponse awaitFinished(String reportId) throws InterruptedException {
+		long deadline = System.nanoTime() + Duration.ofSeconds(10).toNanos();
+		OrderStatisticsReportResponse report = orderStatisticsReportService.getReport(reportId);
+		while (!report.getStatus().isFinished()) {
+			if (System.nanoTime() > deadline) {
+				fail("리포트가 10초 안에 끝나지 않았습니다. status=%s", report.getStatus());
+			}
+			Thread.sleep(10);
+			report = orderStatisticsReportService.getReport(reportId);
+		}
+		return report;
+	}
+
+	private Order createPaymentCompletedOrder(LocalDateTime now, List<Product> products) {
+		return orderRepository.save(
+			Order.builder()
+				.products(products)
+				.orderStatus(OrderStatus.PAYMENT_COMPLETED)
+				.registeredDateTime(now)
+				.build()
+		);
+	}
+
+	private static Product createProduct(String productNumber, ProductType type, int price) {
+		return Product.builder()
+			.productNumber(productNumber)
+			.type(type)
+			.sellingStatus(SELLING)
+			.name("메뉴 이름")
+			.price(price)
+			.build();
+	}
+
+}
@@ -0,0 +1,288 @@
+package sample.cafekiosk.spring.api.service.order.rollup;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.order.OrderService;
+import sample.cafekiosk.spring.api.service.order.OrderStatisticsService;
+import sample.cafekiosk.spring.api.service.order.request.OrderStatusChangeServiceRequest;
+import sample.cafekiosk.spring.api.service.order.response.OrderResponse;
+import sample.cafekiosk.spring.domain.order.Order;
+import sample.cafekiosk.spring.domain.order.OrderRepository;
+import sample.cafekiosk.spring.domain.order.OrderSalesSummary;
+import sample.cafekiosk.spring.domain.order.OrderStatus;
+import sample.cafekiosk.spring.domain.orderproduct.OrderProductRepository;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.rollup.DailyProductSalesRepository;
+import sample.cafekiosk.spring.domain.rollup.DailySalesRepository;
+import sample.cafekiosk.spring.domain.rollup.HourlySalesRepository;
+
+class SalesRollupServiceTest extends IntegrationTestSupport {
+
+	@Autowired
+	private OrderService orderService;
+
+	@Autowired
+	private OrderStatisticsService orderStatisticsService;
+
+	@Autowired
+	private SalesRollupBackfillService salesRollupBackfillService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private OrderRepository orderRepository;
+
+	@Autowired
+	private OrderProductRepository orderProductRepository;
+
+	@Autowired
+	private HourlySalesRepository hourlySalesRepository;
+
+	@Autowired
+	private DailySalesRepository dailySalesRepository;
+
+	@Autowired
+	private DailyProductSalesRepository dailyProductSalesRepository;
+
+	@AfterEach
+	void tearDown() {
+		orderProductRepository.deleteAllInBatch();
+		orderRepository.deleteAllInBatch();
+		productRepository.deleteAllInBatch();
+		hourlySalesRepository.deleteAllInBatch();
+		dailySalesRepository.deleteAllInBatch();
+		dailyProductSalesRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("주문의 결제를 완료하면 시간대별, 일별, 일별 상품별 매출 집계에 더해진다.")
+	@Test
+	void completePayment() {
+		// given
+		Product product1 = createProduct("001", 1000);
+		Product product2 = createProduct("002", 2000);
+		productRepository.saveAll(List.of(product1, product2));
+
+		Order order1 = orderRepository.save(Order.create(List.of(product1, product1), LocalDateTime.of(2023, 7, 18, 10, 5)));
+		Order order2 = orderRepository.save(Order.create(List.of(product1, product2), LocalDateTime.of(2023, 7, 18, 10, 55)));
+		Order order3 = orderRepository.save(Order.create(List.of(product2), LocalDateTime.of(2023, 7, 18, 13, 0)));
+		orderRepository.save(Order.create(List.of(product2), LocalDateTime.of(2023, 7, 18, 14, 0)));
+
+		// when
+		orderService.completePayment(order1.getId());
+		orderService.completePayment(order2.getId());
+		orderService.completePayment(order3.getId());
+
+		// then
+		assertThat(hourlySalesRepository.findAllBySalesHourGreaterThanEqualAndSalesHourLessThanOrderBySalesHour(
+			LocalDateTime.of(2023, 7, 18, 0, 0), LocalDateTime.of(2023, 7, 19, 0, 0)))
+			.extracting("salesHour", "orderCount", "totalAmount")
+			.containsExactly(
+				tuple(LocalDateTime.of(2023, 7, 18, 10, 0), 2L, 5000L),
+				tuple(LocalDateTime.of(2023, 7, 18, 13, 0), 1L, 2000L)
+			);
+		assertThat(dailySalesRepository.findById(LocalDate.of(2023, 7, 18))).get()
+			.extracting("orderCount", "totalAmount")
+			.containsExactly(3L, 7000L);
+		assertThat(dailyProductSalesRepository.findAllBySalesDateOrderByProductNumber(LocalDate.of(2023, 7, 18)))
+			.extracting("productNumber", "quantity")
+			.containsExactly(
+				tuple("001", 3L),
+				tuple("002", 2L)
+			);
+	}
+
+	@DisplayName("집계 행이 없는 시간대의 첫 주문들을 동시에 결제해도 모든 결제가 커밋되고 집계에 더해진다.")
+	@Test
+	void completePaymentConcurrently() throws Exception {
+		// given
+		Product product1 = createProduct("001", 1000);
+		Product product2 = createProduct("002", 2000);
+		productRepository.saveAll(List.of(product1, product2));
+
+		int threadCount = 2;
+		List<Order> orders = new ArrayList<>();
+		for (int i = 0; i < threadCount; i++) {
+			orders.add(orderRepository.save(
+				Order.create(List.of(product1, product2), LocalDateTime.of(2023, 7, 18, 10, i))));
+		}
+		ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+		CountDownLatch startLatch = new CountDownLatch(1);
+
+		// when
+		List<Future<OrderResponse>> futures = new ArrayList<>();
+		for (Order order : orders) {
+			futures.add(executorService.submit(() -> {
+				startLatch.await();
+				return orderService.completePayment(order.getId());
+			}));
+		}
+		startLatch.countDown();
+
+		List<OrderResponse> responses = new ArrayList<>();
+		for (Future<OrderResponse> future : futures) {
+			responses.add(future.get());
+		}
+		executorService.shutdown();
+
+		// then
+		assertThat(responses).hasSize(threadCount);
+		assertThat(orderRepository.findAll())
+			.extracting("orderStatus")
+			.containsOnly(OrderStatus.PAYMENT_COMPLETED);
+		assertThat(hourlySalesRepository.findById(LocalDateTime.of(2023, 7, 18, 10, 0))).get()
+			.extracting("orderCount", "totalAmount")
+			.containsExactly(2L, 6000L);
+		assertThat(dailySalesRepository.findById(LocalDate.of(2023, 7, 18))).get()
+			.extracting("orderCount", "totalAmount")
+			.containsExactly(2L, 6000L);
+		assertThat(dailyProductSalesRepository.findAllBySalesDateOrderByProductNumber(LocalDate.of(2023, 7, 18)))
+			.extracting("productNumber", "quantity")
+			.containsExactly(
+				tuple("001", 2L),
+				tuple("002", 2L)
+			);
+	}
+
+	@DisplayName("결제가 완료된 주문은 다시 결제를 완료할 수 없고, 매출 집계도 늘어나지 않는다.")
+	@Test
+	void completePaymentTwice() {
+		// given
+		Product product = createProduct("001", 1000);
+		productRepository.save(product);
+		Order order = orderRepository.save(Order.create(List.of(product), LocalDateTime.of(2023, 7, 18, 10, 0)));
+		orderService.completePayment(order.getId());
+
+		// when // then
+		assertThatThrownBy(() -> orderService.completePayment(order.getId()))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("결제를 완료할 수 없는 주문입니다.");
+		assertThat(dailySalesRepository.findById(LocalDate.of(2023, 7, 18))).get()
+			.extracting("orderCount", "totalAmount")
+			.containsExactly(1L, 1000L);
+	}
+
+	@DisplayName("주문 이력으로 매출 집계를 다시 만들면 매출 통계는 집계에서 읽어도 주문 테이블과 같은 값이다.")
+	@Test
+	void backfill() {
+		// given
+		Product product1 = createProduct("001", 1000);
+		Product product2 = createProduct("002", 2000);
+		productRepository.saveAll(List.of(product1, product2));
+
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 17, 9, 0), List.of(product1));
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 18, 10, 0), List.of(product1, product2));
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 18, 10, 30), List.of(product2));
+		createPaymentCompletedOrder(LocalDateTime.of(2023, 7, 19, 23, 59, 59), List.of(product2, product2));
+		OrderSalesSummary before = orderStatisticsService.getDailySalesSummary(LocalDate.of(2023, 7, 18));
+
+		// when
+		int days = salesRollupBackfillService.backfill(LocalDate.of(2023, 7, 16), LocalDate.of(2023, 7, 19));
+
+		// then
+		assertThat(days).isEqualTo(4);
+		assertThat(dailySalesRepository.findAll())
+			.extracting("salesDate", "orderCount", "totalAmount")
+			.containsExactlyInAnyOrder(
+				tuple(LocalDate.of(2023, 7, 17), 1L, 1000L),
+				tuple(LocalDate.of(2023, 7, 18), 2L, 5000L),
+				tuple(LocalDate.of(2023, 7, 19), 1L, 4000L)
+			);
+		assertThat(hourlySalesRepository.findAll())
+			.extracting("salesHour", "orderCount", "totalAmount")
+			.containsExactlyInAnyOrder(
+				tuple(LocalDateTime.of(2023, 7, 17, 9, 0), 1L, 1000L),
+				tuple(LocalDateTime.of(2023, 7, 18, 10, 0), 2L, 5000L),
+				tuple(LocalDateTime.of(2023, 7, 19, 23, 0), 1L, 4000L)
+			);
+		assertThat(dailyProductSalesRepository.findAllBySalesDateOrderByProductNumber(LocalDate.of(2023, 7, 18)))
+			.extracting("productNumber", "quantity")
+			.containsExactly(
+				tuple("001", 1L),
+				tuple("002", 2L)
+			);
+		assertThat(orderStatisticsService.getDailySalesSummary(LocalDate.of(2023, 7, 18)))
+			.extracting("orderCount", "totalAmount")
+			.containsExactly(before.getOrderCount(), before.getTotalAmount());
+	}
+
+	@DisplayName("결제 후 접수, 처리 완료된 주문도 매출 통계와 매출 집계 재생성에 포함된다.")
+	@Test
+	void completedOrderStaysInSales() {
+		// given
+		Product product = createProduct("001", 1000);
+		productRepository.save(product);
+
+		Order completedOrder = orderRepository.save(Order.create(List.of(product, product), LocalDateTime.of(2023, 7, 18, 10, 0)));
+		Order paidOrder = orderRepository.save(Order.create(List.of(product), LocalDateTime.of(2023, 7, 18, 11, 0)));
+		orderService.completePayment(completedOrder.getId());
+		orderService.completePayment(paidOrder.getId());
+
+		// when
+		changeOrderStatus(completedOrder, OrderStatus.PAYMENT_COMPLETED, OrderStatus.RECEIVED);
+		changeOrderStatus(completedOrder, OrderStatus.RECEIVED, OrderStatus.COMPLETED);
+		dailySalesRepository.deleteAllInBatch();
+		OrderSalesSummary fallback = orderStatisticsService.getDailySalesSummary(LocalDate.of(2023, 7, 18));
+		salesRollupBackfillService.backfill(LocalDate.of(2023, 7, 18), LocalDate.of(2023, 7, 18));
+
+		// then
+		assertThat(fallback)
+			.extracting("orderCount", "totalAmount")
+			.containsExactly(2L, 3000L);
+		assertThat(dailySalesRepository.findById(LocalDate.of(2023, 7, 18))).get()
+			.extracting("orderCount", "totalAmount")
+			.containsExactly(2L, 3000L);
+		assertThat(dailyProductSalesRepository.findAllBySalesDateOrderByProductNumber(LocalDate.of(2023, 7, 18)))
+			.extracting("productNumber", "quantity")
+			.containsExactly(tuple("001", 3L));
+		assertThat(orderStatisticsService.getDailySalesStatistics(LocalDate.of(2023, 7, 18)).getTotalAmount())
+			.isEqualTo(3000L);
+	}
+
+	private void changeOrderStatus(Order order, OrderStatus currentStatus, OrderStatus targetStatus) {
+		orderService.changeOrderStatus(OrderStatusChangeServiceRequest.builder()
+			.orderIds(List.of(order.getId()))
+			.currentStatus(currentStatus)
+			.targetStatus(targetStatus)
+			.build());
+	}
+
+	private void createPaymentCompletedOrder(LocalDateTime registeredDateTime, List<Product> products) {
+		orderRepository.save(
+			Order.builder()
+				.products(products)
+				.orderStatus(OrderStatus.PAYMENT_COMPLETED)
+				.registeredDateTime(registeredDateTime)
+				.build()
+		);
+	}
+
+	private static Product createProduct(String productNumber, int price) {
+		return Product.builder()
+			.productNumber(productNumber)
+			.type(HANDMADE)
+			.sellingStatus(SELLING)
+			.name("메뉴 이름")
+			.price(price)
+			.build();
+	}
+
+}
@@ -0,0 +1,185 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.BooleanSupplier;
+
+import javax.persistence.EntityManagerFactory;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import sample.cafekiosk.spring.CafekioskApplication;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
+import sample.cafekiosk.spring.domain.product.ProductType;
+
+/**
+ * 같은 DB 를 쓰는 두 노드(애플리케이션 컨텍스트)를 띄워서, 한 노드에서 바꾼 상품이 다른 노드의 캐시에 반영되는지 확인한다.
+ * 반영되기까지 걸린 시간은 장비 부하에 따라 달라지므로 검증하지 않고 로그로만 남긴다.
+ * 같은 JVM 에서는 JCache CacheManager 를 공유하게 되므로 노드마다 hibernate.javax.cache.uri 를 다르게 준다.
+ */
+class ProductCacheCoherenceTest {
+
+	private static final Logger log = LoggerFactory.getLogger(ProductCacheCoherenceTest.class);
+
+	private static final Duration AWAIT_TIMEOUT = Duration.ofSeconds(10);
+
+	private static ConfigurableApplicationContext nodeA;
+	private static ConfigurableApplicationContext nodeB;
+
+	@BeforeAll
+	static void startNodes() {
+		nodeA = startNode("node-a");
+		nodeB = startNode("node-b");
+	}
+
+	@AfterAll
+	static void stopNodes() {
+		nodeB.close();
+		nodeA.close();
+	}
+
+	@DisplayName("다른 노드에서 판매 상태를 바꾸면 이 노드의 메뉴 캐시와 2차 캐시에서도 바뀐 상태를 읽는다.")
+	@Test
+	void changeSellingStatusOnOtherNode() throws InterruptedException {
+		// given
+		ProductResponse product = createProduct(nodeA, ProductSellingStatus.SELLING);
+		awaitUntil(() -> isOnMenu(nodeB, product.getProductNumber()));
+		assertThat(findSellingStatus(nodeB, product.getProductNumber())).isEqualTo(ProductSellingStatus.SELLING);
+		assertThat(nodeB.getBean(EntityManagerFactory.class).getCache().contains(Product.class, product.getId()))
+			.isTrue();
+
+		// when
+		nodeA.getBean(ProductService.class).changeSellingStatus(product.getProductNumber(),
+			ProductSellingStatus.STOP_SELLING);
+		Duration staleness = awaitUntil(() -> !isOnMenu(nodeB, product.getProductNumber())
+			&& findSellingStatus(nodeB, product.getProductNumber()) == ProductSellingStatus.STOP_SELLING);
+
+		// then
+		log.info("staleness window: {}ms", staleness.toMillis());
+		assertThat(findSellingStatus(nodeB, product.getProductNumber())).isEqualTo(ProductSellingStatus.STOP_SELLING);
+	}
+
+	@DisplayName("판매 상태를 여러 번 바꿔도 다른 노드는 매번 마지막 상태를 읽게 된다.")
+	@Test
+	void stalenessWindow() throws InterruptedException {
+		// given
+		ProductResponse product = createProduct(nodeA, ProductSellingStatus.SELLING);
+		awaitUntil(() -> isOnMenu(nodeB, product.getProductNumber()));
+		List<Duration> stalenessWindows = new ArrayList<>();
+
+		// when
+		for (int i = 0; i < 10; i++) {
+			ProductSellingStatus sellingStatus = i % 2 == 0 ? ProductSellingStatus.HOLD : ProductSellingStatus.SELLING;
+			findSellingStatus(nodeB, product.getProductNumber());
+			nodeA.getBean(ProductService.class).changeSellingStatus(product.getProductNumber(), sellingStatus);
+			stalenessWindows.add(awaitUntil(
+				() -> findSellingStatus(nodeB, product.getProductNumber()) == sellingStatus));
+		}
+
+		// then
+		Collections.sort(stalenessWindows);
+		log.info("staleness window: p50={}ms, max={}ms",
+			stalenessWindows.get(stalenessWindows.size() / 2).toMillis(),
+			stalenessWindows.get(stalenessWindows.size() - 1).toMillis());
+		assertThat(stalenessWindows).hasSize(10);
+		assertThat(findSellingStatus(nodeB, product.getProductNumber())).isEqualTo(ProductSellingStatus.SELLING);
+	}
+
+	@DisplayName("이미 적용한 버전 이하의 무효화 메시지는 중복이거나 순서가 바뀐 것이므로 버린다.")
+	@Test
+	void applyOutOfOrderInvalidation() {
+		// given
+		ProductCacheCoherence coherence = nodeB.getBean(ProductCacheCoherence.class);
+		String productNumber = "out-of-order";
+
+		// when
+		boolean newer = coherence.apply(new ProductCacheInvalidation(productNumber, null, 2L, "node-a"));
+		boolean older = coherence.apply(new ProductCacheInvalidation(productNumber, null, 1L, "node-a"));
+		boolean duplicated = coherence.apply(new ProductCacheInvalidation(productNumber, null, 2L, "node-a"));
+		boolean next = coherence.apply(new ProductCacheInvalidation(productNumber, null, 3L, "node-a"));
+
+		// then
+		assertThat(newer).isTrue();
+		assertThat(older).isFalse();
+		assertThat(duplicated).isFalse();
+		assertThat(next).isTrue();
+	}
+
+	@DisplayName("자기 노드가 보낸 무효화 메시지로는 캐시를 다시 비우지 않는다.")
+	@Test
+	void applyOwnInvalidation() {
+		// given
+		ProductCacheCoherence coherence = nodeB.getBean(ProductCacheCoherence.class);
+
+		// when
+		boolean applied = coherence.apply(new ProductCacheInvalidation("own", null, 1L, coherence.getNodeId()));
+
+		// then
+		assertThat(applied).isFalse();
+	}
+
+	private static ConfigurableApplicationContext startNode(String nodeId) {
+		return new SpringApplicationBuilder(CafekioskApplication.class)
+			.profiles("test")
+			.run(
+				"--server.port=0",
+				"--spring.datasource.url=jdbc:h2:mem:productCacheCoherence",
+				"--spring.flyway.enabled=true",
+				"--spring.flyway.locations=classpath:db/migration",
+				"--spring.jpa.hibernate.ddl-auto=validate",
+				"--spring.jpa.properties.hibernate.javax.cache.uri=urn:cafekiosk:" + nodeId,
+				"--cafekiosk.product.cache-coherence.enabled=true",
+				"--cafekiosk.product.cache-coherence.node-id=" + nodeId,
+				"--cafekiosk.product.cache-coherence.poll-interval-millis=50"
+			);
+	}
+
+	private ProductResponse createProduct(ConfigurableApplicationContext node, ProductSellingStatus sellingStatus) {
+		ProductCreateServiceRequest request = ProductCreateServiceRequest.builder()
+			.type(ProductType.HANDMADE)
+			.sellingStatus(sellingStatus)
+			.name("아메리카노")
+			.price(4000)
+			.build();
+		return node.getBean(ProductService.class).createProduct(request);
+	}
+
+	private boolean isOnMenu(ConfigurableApplicationContext node, String productNumber) {
+		return node.getBean(ProductService.class).getSellingProducts().stream()
+			.anyMatch(product -> product.getProductNumber().equals(productNumber));
+	}
+
+	private ProductSellingStatus findSellingStatus(ConfigurableApplicationContext node, String productNumber) {
+		return node.getBean(ProductRepository.class).findAllByProductNumberIn(List.of(productNumber)).stream()
+			.map(Product::getSellingStatus)
+			.findFirst()
+			.orElse(null);
+	}
+
+	private Duration awaitUntil(BooleanSupplier condition) throws InterruptedException {
+		long startedAt = System.nanoTime();
+		while (!condition.getAsBoolean()) {
+			if (System.nanoTime() - startedAt > AWAIT_TIMEOUT.toNanos()) {
+				fail("다른 노드의 캐시가 %d초 안에 갱신되지 않았습니다.", AWAIT_TIMEOUT.toSeconds());
+			}
+			Thread.sleep(10);
+		}
+		return Duration.ofNanos(System.nanoTime() - startedAt);
+	}
+
+}
@@ -0,0 +1,148 @@
+package sample.cafekiosk.spring.api.service.product;
+
+import static org.assertj.core.api.Assertions.*;
+import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
+import static sample.cafekiosk.spring.domain.product.ProductType.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
+import sample.cafekiosk.spring.domain.product.ProductRepository;
+
+@TestPropertySource(properties = "cafekiosk.product.number-block-size=50")
+class ProductNumberFactoryTest extends IntegrationTestSupport {
+
+	private static final int PRODUCT_COUNT = 10_000;
+	private static final int THREAD_COUNT = 32;
+
+	@Autowired
+	private ProductService productService;
+
+	@Autowired
+	private ProductRepository productRepository;
+
+	@Autowired
+	private ProductNumberSequenceRepository productNumberSequenceRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private ProductMenuCache productMenuCache;
+
+	@AfterEach
+	void tearDown() {
+		productRepository.deleteAllInBatch();
+		productNumberSequenceRepository.deleteAllInBatch();
+		productMenuCache.invalidate();
+	}
+
+	@DisplayName("동시에 상품을 등록해도 상품 번호가 중복되지 않는다.")
+	@Test
+	void createProductConcurrently() throws Exception {
+		// given
+		ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+		CountDownLatch startGate = new CountDownLatch(1);
+
+		List<Future<String>> futures = new ArrayList<>(PRODUCT_COUNT);
+		for (int i = 0; i < PRODUCT_COUNT; i++) {
+			futures.add(executorService.submit(() -> {
+				startGate.await();
+				return productService.createProduct(createRequest()).getProductNumber();
+			}));
+		}
+
+		// when
+		startGate.countDown();
+		Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+		for (Future<String> future : futures) {
+			productNumbers.add(future.get());
+		}
+		executorService.shutdown();
+
+		// then
+		assertThat(productNumbers).hasSize(PRODUCT_COUNT);
+		assertThat(productRepository.findAll())
+			.extracting(Product::getProductNumber)
+			.doesNotHaveDuplicates()
+			.hasSize(PRODUCT_COUNT);
+	}
+
+	@DisplayName("여러 노드의 발급기가 같은 시퀀스 행을 나눠 써도 서로 다른 번호를 발급한다.")
+	@Test
+	void createNextProductNumberAcrossNodes() throws Exception {
+		// given
+		ProductNumberFactory node1 = createNode();
+		ProductNumberFactory node2 = createNode();
+		ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+
+		List<Future<String>> futures = new ArrayList<>(PRODUCT_COUNT);
+		for (int i = 0; i < PRODUCT_COUNT; i++) {
+			ProductNumberFactory node = i % 2 == 0 ? node1 : node2;
+			futures.add(executorService.submit(node::createNextProductNumber));
+		}
+
+		// when
+		Set<String> productNumbers = ConcurrentHashMap.newKeySet();
+		for (Future<String> future : futures) {
+			productNumbers.add(future.get());
+		}
+		executorService.shutdown();
+
+		// then
+		assertThat(productNumbers).hasSize(PRODUCT_COUNT);
+	}
+
+	@DisplayName("상품 번호가 999를 넘으면 자릿수를 늘려 발급한다.")
+	@Test
+	void createNextProductNumberOverflow() {
+		// given
+		productRepository.save(Product.builder()
+			.productNumber("998")
+			.type(HANDMADE)
+			.sellingStatus(SELLING)
+			.name("아메리카노")
+			.price(4000)
+			.build());
+
+		ProductNumberFactory node = createNode();
+
+		// when
+		String first = node.createNextProductNumber();
+		String second = node.createNextProductNumber();
+
+		// then
+		assertThat(List.of(first, second)).containsExactly("999", "1000");
+	}
+
+	private ProductNumberFactory createNode() {
+		return new ProductNumberFactory(productRepository, productNumberSequenceRepository, transactionManager, 7);
+	}
+
+	private static ProductCreateServiceRequest createRequest() {
+		return ProductCreateServiceRequest.builder()
+			.type(HANDMADE)
+			.sellingStatus(SELLING)
+			.name("카푸치노")
+			.price(5000)
+			.build();
+	}
+
+}
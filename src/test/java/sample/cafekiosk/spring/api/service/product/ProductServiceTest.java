@@ -4,6 +4,7 @@ import static org.assertj.core.api.Assertions.*;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.*;
 import static sample.cafekiosk.spring.domain.product.ProductType.*;
 
+import java.nio.charset.StandardCharsets;
 import java.util.List;
 
 import org.junit.jupiter.api.AfterEach;
@@ -13,8 +14,11 @@ import org.springframework.beans.factory.annotation.Autowired;
 
 import sample.cafekiosk.spring.IntegrationTestSupport;
 import sample.cafekiosk.spring.api.service.product.request.ProductCreateServiceRequest;
+import sample.cafekiosk.spring.api.service.product.response.MenuSnapshot;
 import sample.cafekiosk.spring.api.service.product.response.ProductResponse;
+import sample.cafekiosk.spring.config.sql.SqlStatistics;
 import sample.cafekiosk.spring.domain.product.Product;
+import sample.cafekiosk.spring.domain.product.ProductNumberSequenceRepository;
 import sample.cafekiosk.spring.domain.product.ProductRepository;
 import sample.cafekiosk.spring.domain.product.ProductSellingStatus;
 import sample.cafekiosk.spring.domain.product.ProductType;
@@ -35,9 +39,17 @@ class ProductServiceTest extends IntegrationTestSupport {
 	@Autowired
 	private ProductRepository productRepository;
 
+	@Autowired
+	private ProductMenuCache productMenuCache;
+
+	@Autowired
+	private ProductNumberSequenceRepository productNumberSequenceRepository;
+
 	@AfterEach
 	void tearDown() {
 		productRepository.deleteAllInBatch();
+		productNumberSequenceRepository.deleteAllInBatch();
+		productMenuCache.invalidate();
 	}
 
 	@DisplayName("신규 상품을 등록한다. 상품 번호는 가장 최근 상품의 상품 번호에서 1 증가한 값이다.")
@@ -99,6 +111,130 @@ class ProductServiceTest extends IntegrationTestSupport {
 			);
 	}
 
+	@DisplayName("판매 상품 목록은 캐시에서 꺼내고, 신규 상품을 등록하면 다시 조회한다.")
+	@Test
+	void getSellingProductsIsCachedUntilProductCreated() {
+		// given
+		Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+		Product product2 = createProduct("002", HANDMADE, STOP_SELLING, "카페라떼", 4500);
+		productRepository.saveAll(List.of(product1, product2));
+
+		List<ProductResponse> first = productService.getSellingProducts();
+		long missCount = productMenuCache.stats().missCount();
+
+		// when
+		List<ProductResponse> second = productService.getSellingProducts();
+		productService.createProduct(ProductCreateServiceRequest.builder()
+			.type(HANDMADE)
+			.sellingStatus(HOLD)
+			.name("카푸치노")
+			.price(5000)
+			.build());
+		List<ProductResponse> third = productService.getSellingProducts();
+
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(productMenuCache.stats().missCount()).isEqualTo(missCount + 1);
+		assertThat(third).hasSize(2)
+			.extracting("productNumber", "sellingStatus")
+			.containsExactlyInAnyOrder(
+				tuple("001", SELLING),
+				tuple("003", HOLD)
+			);
+	}
+
+	@DisplayName("판매 상품 목록은 캐시가 비어 있을 때 한 번의 SELECT 로 조회하고, 캐시가 채워진 뒤에는 SQL 을 실행하지 않는다.")
+	@Test
+	void getSellingProductsStatementBudget() {
+		// given
+		productRepository.saveAll(List.of(
+			createProduct("001", HANDMADE, SELLING, "아메리카노", 4000),
+			createProduct("002", HANDMADE, HOLD, "카페라떼", 4500)
+		));
+		productMenuCache.invalidate();
+
+		// when
+		SqlStatistics miss = countStatements(() -> productService.getSellingProducts());
+		SqlStatistics hit = countStatements(() -> productService.getSellingProducts());
+
+		// then
+		assertThat(miss.getTotalCount()).as(miss.describe()).isEqualTo(1);
+		assertThat(hit.getTotalCount()).as(hit.describe()).isZero();
+	}
+
+	@DisplayName("판매 상품 목록 스냅샷은 상품이 바뀔 때만 새로 만들어지고 ETag 도 함께 바뀐다.")
+	@Test
+	void getSellingProductsSnapshot() {
+		// given
+		productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+
+		MenuSnapshot first = productService.getSellingProductsSnapshot();
+
+		// when
+		MenuSnapshot second = productService.getSellingProductsSnapshot();
+		productService.changeSellingStatus("001", HOLD);
+		MenuSnapshot third = productService.getSellingProductsSnapshot();
+
+		// then
+		assertThat(second).isSameAs(first);
+		assertThat(third.getETag()).isNotEqualTo(first.getETag());
+		assertThat(new String(third.getBody(), StandardCharsets.UTF_8)).contains("\"sellingStatus\":\"HOLD\"");
+	}
+
+	@DisplayName("상품의 판매 상태를 변경하면 판매 상품 목록에 바로 반영된다.")
+	@Test
+	void changeSellingStatus() {
+		// given
+		Product product1 = createProduct("001", HANDMADE, SELLING, "아메리카노", 4000);
+		Product product2 = createProduct("002", HANDMADE, SELLING, "카페라떼", 4500);
+		productRepository.saveAll(List.of(product1, product2));
+		productService.getSellingProducts();
+
+		// when
+		ProductResponse productResponse = productService.changeSellingStatus("002", STOP_SELLING);
+
+		// then
+		assertThat(productResponse.getSellingStatus()).isEqualTo(STOP_SELLING);
+		assertThat(productService.getSellingProducts())
+			.extracting("productNumber")
+			.containsExactly("001");
+	}
+
+	@DisplayName("상품 번호로 조회한 상품은 2차 캐시에서 꺼내고, 판매 상태를 바꾸면 캐시에도 바로 반영된다.")
+	@Test
+	void productSecondLevelCache() {
+		// given
+		productRepository.save(createProduct("001", HANDMADE, SELLING, "아메리카노", 4000));
+		productRepository.findAllByProductNumberIn(List.of("001"));
+		productRepository.findByNaturalId("001");
+
+		// when
+		SqlStatistics cached = countStatements(() -> {
+			productRepository.findAllByProductNumberIn(List.of("001"));
+			productRepository.findByNaturalId("001");
+		});
+		productService.changeSellingStatus("001", HOLD);
+
+		// then
+		assertThat(cached.getTotalCount()).as(cached.describe()).isZero();
+		assertThat(productRepository.findAllByProductNumberIn(List.of("001")))
+			.extracting("productNumber", "sellingStatus")
+			.containsExactly(tuple("001", HOLD));
+		assertThat(productRepository.findByNaturalId("001"))
+			.get()
+			.extracting("sellingStatus")
+			.isEqualTo(HOLD);
+	}
+
+	@DisplayName("존재하지 않는 상품의 판매 상태는 변경할 수 없다.")
+	@Test
+	void changeSellingStatusWithUnknownProduct() {
+		// when // then
+		assertThatThrownBy(() -> productService.changeSellingStatus("999", STOP_SELLING))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("존재하지 않는 상품입니다.");
+	}
+
 	private static Product createProduct(String productNumber, ProductType type, ProductSellingStatus sellingStatus,
 		String name, int price) {
 		return Product.builder()
@@ -0,0 +1,129 @@
+package sample.cafekiosk.spring.api.service.stock;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.stock.ledger.StockLedger;
+import sample.cafekiosk.spring.api.service.stock.ledger.StockLedgerWriteBehind;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@TestPropertySource(properties = {
+	"cafekiosk.stock.ledger.enabled=true",
+	"cafekiosk.stock.ledger.flush-interval-millis=3600000"
+})
+class StockDeductionConcurrencyTest extends IntegrationTestSupport {
+
+	private static final String HOT_PRODUCT_NUMBER = "001";
+	private static final int INITIAL_QUANTITY = 500;
+	private static final int ORDER_COUNT = 2000;
+	private static final int THREAD_COUNT = 32;
+
+	@Autowired
+	private StockDeductionEngine stockDeductionEngine;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Autowired
+	private StockLedger stockLedger;
+
+	@Autowired
+	private StockLedgerWriteBehind stockLedgerWriteBehind;
+
+	@AfterEach
+	void tearDown() {
+		stockLedgerWriteBehind.flush();
+		stockLedger.evictAll();
+		stockRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("하나의 상품에 동시에 주문이 몰려도 재고보다 많이 판매되지 않는다.")
+	@ParameterizedTest(name = "{0}")
+	@EnumSource(StockDeductionType.class)
+	void deductConcurrently(StockDeductionType type) throws Exception {
+		// given
+		stockRepository.save(Stock.create(HOT_PRODUCT_NUMBER, INITIAL_QUANTITY));
+
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		ExecutorService executorService = Executors.newFixedThreadPool(THREAD_COUNT);
+		CountDownLatch startGate = new CountDownLatch(1);
+
+		AtomicInteger successCount = new AtomicInteger();
+		AtomicInteger shortageCount = new AtomicInteger();
+		AtomicInteger errorCount = new AtomicInteger();
+
+		List<Future<?>> futures = new ArrayList<>();
+		for (int i = 0; i < ORDER_COUNT; i++) {
+			futures.add(executorService.submit(() -> {
+				awaitQuietly(startGate);
+				try {
+					transactionTemplate.executeWithoutResult(status ->
+						stockDeductionEngine.deduct(type, Map.of(HOT_PRODUCT_NUMBER, 1)));
+					successCount.incrementAndGet();
+				} catch (IllegalArgumentException e) {
+					shortageCount.incrementAndGet();
+				} catch (RuntimeException e) {
+					errorCount.incrementAndGet();
+				}
+			}));
+		}
+
+		// when
+		long startNanos = System.nanoTime();
+		startGate.countDown();
+		for (Future<?> future : futures) {
+			future.get(60, TimeUnit.SECONDS);
+		}
+		long elapsedNanos = System.nanoTime() - startNanos;
+		executorService.shutdown();
+		stockLedgerWriteBehind.flush();
+
+		// then
+		int remainingQuantity = stockRepository.findAllByProductNumberIn(List.of(HOT_PRODUCT_NUMBER)).get(0)
+			.getQuantity();
+		int oversellCount = Math.max(0, successCount.get() - INITIAL_QUANTITY);
+
+		System.out.printf("[%s] %d orders in %d ms (%.1f orders/s) success=%d shortage=%d error=%d oversell=%d%n",
+			type, ORDER_COUNT, TimeUnit.NANOSECONDS.toMillis(elapsedNanos),
+			ORDER_COUNT / (elapsedNanos / 1_000_000_000.0),
+			successCount.get(), shortageCount.get(), errorCount.get(), oversellCount);
+
+		assertThat(oversellCount).isZero();
+		assertThat(remainingQuantity)
+			.isGreaterThanOrEqualTo(0)
+			.isEqualTo(INITIAL_QUANTITY - successCount.get());
+		assertThat(successCount.get() + shortageCount.get() + errorCount.get()).isEqualTo(ORDER_COUNT);
+	}
+
+	private static void awaitQuietly(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,92 @@
+package sample.cafekiosk.spring.api.service.stock.ledger;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+class StockLedgerJournalTest {
+
+	@TempDir
+	Path tempDir;
+
+	@DisplayName("저널에 기록한 차감과 복구를 다시 읽어올 수 있다.")
+	@Test
+	void readAll() throws IOException {
+		// given
+		Path path = tempDir.resolve("stock-ledger.journal");
+		StockLedgerJournal journal = new StockLedgerJournal(path.toString(), false);
+		journal.open(10L);
+
+		journal.appendDeduction(new TreeMap<>(Map.of("001", 2, "002", 1)));
+		journal.appendRestoration(new TreeMap<>(Map.of("001", 2)));
+		journal.close();
+
+		// when
+		List<StockLedgerEntry> entries = new StockLedgerJournal(path.toString(), false).readAll();
+
+		// then
+		assertThat(entries).hasSize(2)
+			.extracting("sequence", "deltas")
+			.containsExactly(
+				tuple(11L, Map.of("001", -2, "002", -1)),
+				tuple(12L, Map.of("001", 2))
+			);
+	}
+
+	@DisplayName("기록 도중 잘린 마지막 줄은 재생하지 않는다.")
+	@Test
+	void readAllWithTornLine() throws IOException {
+		// given
+		Path path = tempDir.resolve("stock-ledger.journal");
+		StockLedgerJournal journal = new StockLedgerJournal(path.toString(), false);
+		journal.open(0L);
+		journal.appendDeduction(new TreeMap<>(Map.of("001", 1)));
+		journal.close();
+		Files.write(path, "2|001:".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+
+		// when
+		List<StockLedgerEntry> entries = new StockLedgerJournal(path.toString(), false).readAll();
+
+		// then
+		assertThat(entries).hasSize(1)
+			.extracting("sequence")
+			.containsExactly(1L);
+	}
+
+	@DisplayName("커밋된 항목의 DB 반영이 끝나고 커밋을 기다리는 항목도 없을 때만 저널을 비운다.")
+	@Test
+	void truncateIfCaughtUp() throws IOException {
+		// given
+		Path path = tempDir.resolve("stock-ledger.journal");
+		StockLedgerJournal journal = new StockLedgerJournal(path.toString(), false);
+		journal.open(0L);
+		StockLedgerEntry committed = journal.appendDeduction(new TreeMap<>(Map.of("001", 1)));
+		StockLedgerEntry open = journal.appendDeduction(new TreeMap<>(Map.of("001", 1)));
+		journal.commit(committed);
+
+		// when
+		List<StockLedgerEntry> drained = journal.drain(10);
+		journal.truncateIfCaughtUp();
+
+		// then
+		assertThat(drained).extracting("sequence").containsExactly(1L);
+		assertThat(Files.size(path)).isPositive();
+
+		journal.discard(open);
+		journal.truncateIfCaughtUp();
+		assertThat(Files.size(path)).isZero();
+		journal.close();
+	}
+
+}
@@ -0,0 +1,179 @@
+package sample.cafekiosk.spring.api.service.stock.ledger;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionEngine;
+import sample.cafekiosk.spring.api.service.stock.StockDeductionType;
+import sample.cafekiosk.spring.domain.stock.Stock;
+import sample.cafekiosk.spring.domain.stock.StockLedgerCheckpoint;
+import sample.cafekiosk.spring.domain.stock.StockLedgerCheckpointRepository;
+import sample.cafekiosk.spring.domain.stock.StockLedgerIntentRepository;
+import sample.cafekiosk.spring.domain.stock.StockRepository;
+
+@TestPropertySource(properties = {
+	"cafekiosk.stock.ledger.enabled=true",
+	"cafekiosk.stock.ledger.flush-interval-millis=3600000"
+})
+class StockLedgerTest extends IntegrationTestSupport {
+
+	@Autowired
+	private StockDeductionEngine stockDeductionEngine;
+
+	@Autowired
+	private StockLedger stockLedger;
+
+	@Autowired
+	private StockLedgerJournal stockLedgerJournal;
+
+	@Autowired
+	private StockLedgerWriteBehind stockLedgerWriteBehind;
+
+	@Autowired
+	private StockRepository stockRepository;
+
+	@Autowired
+	private StockLedgerCheckpointRepository stockLedgerCheckpointRepository;
+
+	@Autowired
+	private StockLedgerIntentRepository stockLedgerIntentRepository;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@AfterEach
+	void tearDown() {
+		stockLedgerWriteBehind.flush();
+		stockLedger.evictAll();
+		stockRepository.deleteAllInBatch();
+		stockLedgerIntentRepository.deleteAllInBatch();
+	}
+
+	@DisplayName("원장에서 차감한 재고는 write-behind 반영 후에 stock 테이블에 기록된다.")
+	@Test
+	void deductAndFlush() {
+		// given
+		stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 5)));
+
+		// when
+		stockDeductionEngine.deduct(StockDeductionType.LEDGER, quantities("001", 2, "002", 1));
+
+		// then
+		assertThat(stockLedger.getQuantity("001")).hasValue(3);
+		assertThat(findQuantity("001")).isEqualTo(5);
+
+		stockLedgerWriteBehind.flush();
+
+		assertThat(stockRepository.findAll())
+			.extracting("productNumber", "quantity")
+			.containsExactlyInAnyOrder(
+				tuple("001", 3),
+				tuple("002", 4)
+			);
+		assertThat(stockLedgerCheckpointRepository.findById(StockLedgerCheckpoint.SINGLETON_ID))
+			.hasValueSatisfying(checkpoint -> assertThat(checkpoint.getLastSequence()).isPositive());
+	}
+
+	@DisplayName("원장의 재고가 부족하면 어떤 상품도 차감하지 않고 예외가 발생한다.")
+	@Test
+	void deductWithNoStock() {
+		// given
+		stockRepository.saveAll(List.of(Stock.create("001", 5), Stock.create("002", 1)));
+
+		// when // then
+		assertThatThrownBy(() -> stockDeductionEngine.deduct(StockDeductionType.LEDGER, quantities("001", 2, "002", 2)))
+			.isInstanceOf(IllegalArgumentException.class)
+			.hasMessage("재고가 부족한 상품이 있습니다.");
+		assertThat(stockLedger.getQuantity("001")).hasValue(5);
+		assertThat(stockLedger.getQuantity("002")).hasValue(1);
+	}
+
+	@DisplayName("주문 트랜잭션이 롤백되면 원장에서 차감한 재고가 복구되고 커밋 기록이 남지 않는다.")
+	@Test
+	void restoreOnRollback() {
+		// given
+		stockRepository.save(Stock.create("001", 5));
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+
+		// when
+		transactionTemplate.executeWithoutResult(status -> {
+			stockDeductionEngine.deduct(StockDeductionType.LEDGER, Map.of("001", 4));
+			status.setRollbackOnly();
+		});
+		stockLedgerWriteBehind.flush();
+
+		// then
+		assertThat(stockLedger.getQuantity("001")).hasValue(5);
+		assertThat(findQuantity("001")).isEqualTo(5);
+		assertThat(stockLedgerIntentRepository.count()).isZero();
+	}
+
+	@DisplayName("원장의 차감은 주문 트랜잭션이 커밋되기 전에 저널과 커밋 기록에 남고, stock 테이블에 반영되면 커밋 기록이 지워진다.")
+	@Test
+	void journalBeforeCommit() {
+		// given
+		stockRepository.save(Stock.create("001", 5));
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		long lastSequence = stockLedgerJournal.getLastSequence();
+
+		// when
+		Long sequenceBeforeCommit = transactionTemplate.execute(status -> {
+			stockDeductionEngine.deduct(StockDeductionType.LEDGER, Map.of("001", 4));
+			return stockLedgerJournal.getLastSequence();
+		});
+
+		// then
+		assertThat(sequenceBeforeCommit).isEqualTo(lastSequence + 1);
+		assertThat(stockLedgerIntentRepository.findAllJournalSequences()).containsExactly(lastSequence + 1);
+		assertThat(stockLedger.getQuantity("001")).hasValue(1);
+
+		stockLedgerWriteBehind.flush();
+
+		assertThat(findQuantity("001")).isEqualTo(1);
+		assertThat(stockLedgerIntentRepository.count()).isZero();
+	}
+
+	@DisplayName("반영 전에 재시작하면 커밋된 차감만 한 번 재생하고, 롤백된 차감과 이미 재생한 차감은 반영하지 않는다.")
+	@Test
+	void recoverCommittedDeductions() {
+		// given
+		stockRepository.save(Stock.create("001", 5));
+		TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+		transactionTemplate.executeWithoutResult(
+			status -> stockDeductionEngine.deduct(StockDeductionType.LEDGER, Map.of("001", 2)));
+		transactionTemplate.executeWithoutResult(status -> {
+			stockDeductionEngine.deduct(StockDeductionType.LEDGER, Map.of("001", 1));
+			status.setRollbackOnly();
+		});
+
+		// when
+		stockLedgerWriteBehind.recover();
+		stockLedgerWriteBehind.flush();
+
+		// then
+		assertThat(findQuantity("001")).isEqualTo(3);
+		assertThat(stockLedgerIntentRepository.count()).isZero();
+	}
+
+	private int findQuantity(String productNumber) {
+		return stockRepository.findAllByProductNumberIn(List.of(productNumber)).get(0).getQuantity();
+	}
+
+	private static Map<String, Integer> quantities(String productNumber1, int quantity1, String productNumber2,
+		int quantity2) {
+		return new TreeMap<>(Map.of(productNumber1, quantity1, productNumber2, quantity2));
+	}
+
+}
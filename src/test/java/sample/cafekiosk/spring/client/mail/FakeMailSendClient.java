@@ -0,0 +1,61 @@
+package sample.cafekiosk.spring.client.mail;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * 지연과 실패를 흉내 내는 테스트용 메일 클라이언트.
+ * 수신자별로 처음 failuresPerRecipient 번은 실패하고, 매 호출마다 latencyMillis 만큼 기다린다.
+ */
+public class FakeMailSendClient extends MailSendClient {
+
+	private final long latencyMillis;
+	private final int failuresPerRecipient;
+	private final boolean throwOnFailure;
+	private final Map<String, AtomicInteger> attempts = new ConcurrentHashMap<>();
+	private final AtomicInteger sentCount = new AtomicInteger();
+
+	public FakeMailSendClient(long latencyMillis, int failuresPerRecipient, boolean throwOnFailure) {
+		this.latencyMillis = latencyMillis;
+		this.failuresPerRecipient = failuresPerRecipient;
+		this.throwOnFailure = throwOnFailure;
+	}
+
+	@Override
+	public boolean sendEmail(String fromEmail, String toEmail, String subject, String content) {
+		sleep();
+
+		int attempt = attempts.computeIfAbsent(toEmail, key -> new AtomicInteger()).incrementAndGet();
+		if (attempt <= failuresPerRecipient) {
+			if (throwOnFailure) {
+				throw new IllegalStateException("SMTP relay timeout");
+			}
+			return false;
+		}
+
+		sentCount.incrementAndGet();
+		return true;
+	}
+
+	public int getSentCount() {
+		return sentCount.get();
+	}
+
+	public int getAttemptCount(String toEmail) {
+		AtomicInteger attempt = attempts.get(toEmail);
+		return attempt == null ? 0 : attempt.get();
+	}
+
+	private void sleep() {
+		if (latencyMillis <= 0) {
+			return;
+		}
+		try {
+			Thread.sleep(latencyMillis);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
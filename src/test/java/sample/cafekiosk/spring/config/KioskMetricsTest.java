@@ -0,0 +1,62 @@
+package sample.cafekiosk.spring.config;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import sample.cafekiosk.spring.config.KioskMetrics.MailOutcome;
+import sample.cafekiosk.spring.config.KioskMetrics.OrderStage;
+
+class KioskMetricsTest {
+
+	@DisplayName("주문 생성 단계의 소요 시간을 단계별 타이머에 기록하고 본문의 결과를 그대로 돌려준다.")
+	@Test
+	void recordOrderStage() {
+		// given
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		KioskMetrics kioskMetrics = new KioskMetrics(registry, true);
+
+		// when
+		String result = kioskMetrics.recordOrderStage(OrderStage.ORDER_SAVE, () -> "saved");
+
+		// then
+		assertThat(result).isEqualTo("saved");
+		assertThat(registry.get("kiosk.order.create.stage").tag("stage", "order_save").timer().count()).isEqualTo(1);
+		assertThat(registry.get("kiosk.order.create.stage").tag("stage", "product_lookup").timer().count()).isZero();
+	}
+
+	@DisplayName("본문이 예외를 던져도 소요 시간은 기록된다.")
+	@Test
+	void recordOrderStageWhenFailed() {
+		// given
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		KioskMetrics kioskMetrics = new KioskMetrics(registry, true);
+
+		// when
+		assertThatThrownBy(() -> kioskMetrics.recordOrderStage(OrderStage.STOCK_DEDUCTION, () -> {
+			throw new IllegalArgumentException("재고가 부족한 상품이 있습니다.");
+		})).isInstanceOf(IllegalArgumentException.class);
+
+		// then
+		assertThat(registry.get("kiosk.order.create.stage").tag("stage", "stock_deduction").timer().count()).isEqualTo(1);
+	}
+
+	@DisplayName("지표를 끄면 미터를 등록하지 않고 본문만 실행한다.")
+	@Test
+	void disabled() {
+		// given
+		SimpleMeterRegistry registry = new SimpleMeterRegistry();
+		KioskMetrics kioskMetrics = new KioskMetrics(registry, false);
+
+		// when
+		kioskMetrics.recordOrderStage(OrderStage.ORDER_SAVE, () -> "saved");
+		kioskMetrics.incrementStockShortage();
+		kioskMetrics.incrementMailDispatch(MailOutcome.SENT);
+
+		// then
+		assertThat(registry.getMeters()).isEmpty();
+	}
+
+}
@@ -0,0 +1,65 @@
+package sample.cafekiosk.spring.config.sql;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+
+class SqlStatementRecorderTest {
+
+	@DisplayName("SQL 은 열려 있는 모든 구간에 종류별로 기록되고, 닫힌 구간에는 기록되지 않는다.")
+	@Test
+	void recordToOpenScopes() {
+		// given
+		SqlStatementRecorder recorder = new SqlStatementRecorder(50);
+		SqlStatementScope outer = recorder.open("outer");
+		SqlStatementScope inner = recorder.open("inner");
+
+		// when
+		execute(recorder, "select * from product where product_number in (?, ?)");
+		inner.close();
+		execute(recorder, "  UPDATE stock set quantity = quantity - ? where product_number = ?");
+		execute(recorder, "call next value for orders_seq");
+		outer.close();
+		execute(recorder, "delete from orders");
+
+		// then
+		assertThat(inner.getStatistics().getTotalCount()).isEqualTo(1);
+		assertThat(outer.getStatistics())
+			.extracting("totalCount", "counts")
+			.containsExactly(3, Map.of(
+				SqlStatementType.SELECT, 1,
+				SqlStatementType.UPDATE, 1,
+				SqlStatementType.OTHER, 1
+			));
+	}
+
+	@DisplayName("구간이 열려 있지 않으면 SQL 을 기록하지 않는다.")
+	@Test
+	void recordWithoutScope() {
+		// given
+		SqlStatementRecorder recorder = new SqlStatementRecorder(50);
+
+		// when
+		execute(recorder, "select 1");
+		SqlStatementScope scope = recorder.open("after");
+
+		// then
+		assertThat(scope.getStatistics().getTotalCount()).isZero();
+		scope.close();
+	}
+
+	private static void execute(SqlStatementRecorder recorder, String sql) {
+		List<QueryInfo> queryInfos = List.of(new QueryInfo(sql));
+		ExecutionInfo executionInfo = new ExecutionInfo();
+		recorder.beforeQuery(executionInfo, queryInfos);
+		recorder.afterQuery(executionInfo, queryInfos);
+	}
+
+}
@@ -0,0 +1,111 @@
+package sample.cafekiosk.spring.domain;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.List;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.TestPropertySource;
+
+import sample.cafekiosk.spring.IntegrationTestSupport;
+
+/**
+ * db/migration 으로 만든 스키마가 엔티티 매핑과 일치하는지(ddl-auto: validate) 검증한다.
+ * 다른 테스트와 DB 를 공유하지 않도록 별도의 인메모리 DB 를 쓴다.
+ */
+@TestPropertySource(properties = {
+	"spring.datasource.url=jdbc:h2:mem:schemaMigration",
+	"spring.flyway.enabled=true",
+	"spring.flyway.locations=classpath:db/migration",
+	"spring.jpa.hibernate.ddl-auto=validate"
+})
+class SchemaMigrationTest extends IntegrationTestSupport {
+
+	@Autowired
+	private Flyway flyway;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@DisplayName("모든 마이그레이션이 적용되고, 조회 경로의 인덱스와 유니크 제약이 만들어진다.")
+	@Test
+	void migrate() {
+		// when
+		List<String> indexNames = jdbcTemplate.queryForList(
+			"SELECT index_name FROM information_schema.indexes WHERE table_schema = 'PUBLIC'", String.class);
+		List<String> constraintNames = jdbcTemplate.queryForList(
+			"SELECT constraint_name FROM information_schema.table_constraints WHERE table_schema = 'PUBLIC'",
+			String.class);
+
+		// then
+		assertThat(flyway.info().pending()).isEmpty();
+		assertThat(flyway.info().current().getVersion().getVersion()).isEqualTo("4");
+		assertThat(indexNames).contains(
+			"IDX_ORDERS_REGISTERED_DATE_TIME_ID",
+			"IDX_ORDERS_ORDER_STATUS_REGISTERED_DATE_TIME_ID",
+			"IDX_PRODUCT_SELLING_STATUS",
+			"IDX_ORDER_PRODUCT_ORDER_ID",
+			"IDX_ORDER_PRODUCT_PRODUCT_ID",
+			"IDX_PRODUCT_CACHE_VERSION_MODIFIED_DATE_TIME"
+		);
+		assertThat(constraintNames).contains(
+			"UK_PRODUCT_PRODUCT_NUMBER",
+			"UK_STOCK_PRODUCT_NUMBER",
+			"UK_ORDER_IDEMPOTENCY_KEY",
+			"UK_DAILY_PRODUCT_SALES"
+		);
+	}
+
+	@DisplayName("판매 상태로 상품을 조회하면 판매 상태 인덱스를 탄다.")
+	@Test
+	void sellingStatusIndexIsUsed() {
+		// when
+		String plan = jdbcTemplate.queryForObject(
+			"EXPLAIN SELECT * FROM product WHERE selling_status IN ('SELLING', 'HOLD')", String.class);
+
+		// then
+		assertThat(plan).contains("IDX_PRODUCT_SELLING_STATUS");
+	}
+
+	@DisplayName("같은 상품 번호의 재고는 두 번 등록할 수 없다.")
+	@Test
+	void duplicateStockProductNumber() {
+		// given
+		String insert = "INSERT INTO stock(id, product_number, quantity, version) VALUES (?, '001', 1, 0)";
+		jdbcTemplate.update(insert, 1L);
+
+		// when // then
+		try {
+			assertThatThrownBy(() -> jdbcTemplate.update(insert, 2L))
+				.isInstanceOf(DataIntegrityViolationException.class);
+		} finally {
+			jdbcTemplate.update("DELETE FROM stock");
+		}
+	}
+
+	@DisplayName("version 없이 등록한 재고는 version 0 으로 시작해서 조건부 차감이 된다.")
+	@Test
+	void stockVersionDefaultsToZero() {
+		// given
+		jdbcTemplate.update("INSERT INTO stock(id, product_number, quantity) VALUES (1, '001', 2)");
+
+		// when
+		try {
+			int updated = jdbcTemplate.update("UPDATE stock SET quantity = quantity - 1, version = version + 1 "
+				+ "WHERE product_number = '001' AND version = 0");
+
+			// then
+			assertThat(updated).isEqualTo(1);
+			assertThat(jdbcTemplate.queryForObject("SELECT version FROM stock WHERE product_number = '001'",
+				Long.class)).isEqualTo(1L);
+		} finally {
+			jdbcTemplate.update("DELETE FROM stock");
+		}
+	}
+
+}
@@ -8,6 +8,7 @@ import java.time.LocalDateTime;
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static sample.cafekiosk.spring.domain.product.ProductSellingStatus.SELLING;
 import static sample.cafekiosk.spring.domain.product.ProductType.HANDMADE;
 
@@ -62,6 +63,74 @@ class OrderTest {
         assertThat(order.getRegisteredDateTime()).isEqualTo(registeredDateTime);
     }
 
+    @DisplayName("주문 생성 상태의 주문은 결제를 완료할 수 있다.")
+    @Test
+    void completePayment() {
+        // given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+
+        // when
+        order.completePayment();
+
+        // then
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(OrderStatus.PAYMENT_COMPLETED);
+    }
+
+    @DisplayName("이미 결제가 완료된 주문은 다시 결제를 완료할 수 없다.")
+    @Test
+    void completePaymentTwice() {
+        // given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+        order.completePayment();
+
+        // when // then
+        assertThatThrownBy(order::completePayment)
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("결제를 완료할 수 없는 주문입니다.");
+    }
+
+    @DisplayName("결제 완료된 주문은 접수를 거쳐 처리 완료로 바꿀 수 있다.")
+    @Test
+    void changeStatus() {
+        // given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+        order.completePayment();
+
+        // when
+        order.changeStatus(OrderStatus.RECEIVED);
+        order.changeStatus(OrderStatus.COMPLETED);
+
+        // then
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(OrderStatus.COMPLETED);
+    }
+
+    @DisplayName("결제가 끝나지 않은 주문은 접수할 수 없다.")
+    @Test
+    void changeStatusWithInvalidTransition() {
+        // given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+
+        // when // then
+        assertThatThrownBy(() -> order.changeStatus(OrderStatus.RECEIVED))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessage("변경할 수 없는 주문 상태입니다.");
+    }
+
+    @DisplayName("결제에 실패한 주문은 다시 결제를 완료하거나 취소할 수 있다.")
+    @Test
+    void changeStatusAfterPaymentFailed() {
+        // given
+        Order order = Order.create(List.of(createProduct("001", 1000)), LocalDateTime.now());
+        order.changeStatus(OrderStatus.PAYMENT_FAILED);
+
+        // when
+        order.completePayment();
+
+        // then
+        assertThat(order.getOrderStatus()).isEqualByComparingTo(OrderStatus.PAYMENT_COMPLETED);
+        assertThat(OrderStatus.PAYMENT_FAILED.canTransitionTo(OrderStatus.CANCELED)).isTrue();
+    }
+
     private Product createProduct(String productNumber, int price) {
         return Product.builder()
                 .type(HANDMADE)
@@ -0,0 +1,32 @@
+package sample.cafekiosk.spring.domain.product;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ProductSellingStatusTest {
+
+    @DisplayName("메뉴에 노출하는 판매 상태는 판매중과 판매보류이다.")
+    @Test
+    void forDisplay() {
+        // when // then
+        assertThat(ProductSellingStatus.forDisplay())
+                .containsExactly(ProductSellingStatus.SELLING, ProductSellingStatus.HOLD)
+                .allMatch(ProductSellingStatus::isDisplayable);
+    }
+
+    @DisplayName("메뉴에 노출하는 판매 상태 목록은 매번 같은 불변 리스트이다.")
+    @Test
+    void forDisplayIsShared() {
+        // when
+        var first = ProductSellingStatus.forDisplay();
+
+        // then
+        assertThat(ProductSellingStatus.forDisplay()).isSameAs(first);
+        assertThatThrownBy(() -> first.add(ProductSellingStatus.STOP_SELLING))
+                .isInstanceOf(UnsupportedOperationException.class);
+    }
+
+}
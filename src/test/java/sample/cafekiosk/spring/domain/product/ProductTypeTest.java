@@ -33,4 +33,24 @@ class ProductTypeTest {
         assertThat(result).isTrue();
     }
 
+    @DisplayName("상품 타입이 없으면 재고 관련 타입이 아니다.")
+    @Test
+    void containsStockTypeWithNull() {
+        // when
+        boolean result = ProductType.containsStockType(null);
+
+        // then
+        assertThat(result).isFalse();
+    }
+
+    @DisplayName("재고 관련 타입은 재고 차감 특성을 가진 타입이다.")
+    @Test
+    void stockManagedCapability() {
+        // when // then
+        assertThat(ProductType.values())
+                .allSatisfy(type -> assertThat(ProductType.containsStockType(type))
+                        .isEqualTo(type.hasCapability(ProductType.Capability.STOCK_MANAGED))
+                        .isEqualTo(type.isStockManaged()));
+    }
+
 }